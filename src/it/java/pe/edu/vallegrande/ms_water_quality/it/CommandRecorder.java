@@ -0,0 +1,49 @@
+package pe.edu.vallegrande.ms_water_quality.it;
+
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Registra en qué miembro del replica set se ejecutó cada lectura que menciona la organización
+ * de la prueba, junto con el {@code readConcern} que envió el driver.
+ */
+final class CommandRecorder implements CommandListener {
+
+    private static final List<String> READ_COMMANDS = List.of("find", "aggregate", "getMore");
+
+    private final Queue<Command> commands = new ConcurrentLinkedQueue<>();
+    private volatile String marker;
+
+    void track(String marker) {
+        this.marker = marker;
+        commands.clear();
+    }
+
+    List<Command> drain() {
+        List<Command> drained = List.copyOf(commands);
+        commands.clear();
+        return drained;
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        String current = marker;
+        if (current == null || !READ_COMMANDS.contains(event.getCommandName())
+                || !event.getCommand().toJson().contains(current)) {
+            return;
+        }
+        BsonValue readConcern = event.getCommand().get("readConcern");
+        commands.add(new Command(event.getCommandName(),
+            event.getConnectionDescription().getServerAddress().toString(),
+            readConcern != null && readConcern.isDocument() ? readConcern.asDocument().clone() : null));
+    }
+
+    record Command(String name, String server, BsonDocument readConcern) {
+    }
+}
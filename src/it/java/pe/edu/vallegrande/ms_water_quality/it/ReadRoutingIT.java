@@ -0,0 +1,208 @@
+package pe.edu.vallegrande.ms_water_quality.it;
+
+import com.mongodb.reactivestreams.client.MongoClient;
+import org.bson.BsonDocument;
+import org.bson.BsonTimestamp;
+import org.bson.Document;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import pe.edu.vallegrande.ms_water_quality.VgMsWaterQuality;
+import pe.edu.vallegrande.ms_water_quality.domain.models.QualityTest;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.mongo.LastWriteTracker;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.repository.QualityTestRepository;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.repository.TestingPointRepository;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Pruebas de integración del enrutamiento de lecturas contra el replica set de tres miembros
+ * de {@code docker-compose.replicaset.yml}: arranca el microservicio en el mismo proceso
+ * (sin servidor web) y comprueba, con un listener de comandos del driver, en qué miembro se
+ * ejecuta cada llamada a repositorio.
+ * <p>
+ * Termina con código 1 si falla alguna comprobación.
+ */
+public final class ReadRoutingIT {
+
+    private static final String DEFAULT_URI = "mongodb://host.docker.internal:27021,host.docker.internal:27022,"
+        + "host.docker.internal:27023/water_quality_it?replicaSet=rs0";
+    private static final Duration TOPOLOGY_TIMEOUT = Duration.ofSeconds(60);
+    private static final int CAUSAL_ROUNDS = 20;
+
+    private final List<String> failures = new ArrayList<>();
+    private int checks;
+
+    private ReadRoutingIT() {
+    }
+
+    public static void main(String[] args) {
+        String uri = System.getenv().getOrDefault("IT_MONGO_URI", DEFAULT_URI);
+        CommandRecorder recorder = new CommandRecorder();
+
+        ConfigurableApplicationContext app = new SpringApplicationBuilder(VgMsWaterQuality.class)
+            .web(WebApplicationType.NONE)
+            .initializers(context -> context.getBeanFactory().registerSingleton("itCommandRecorder",
+                (MongoClientSettingsBuilderCustomizer) builder -> builder.addCommandListener(recorder)))
+            .run("--spring.data.mongodb.uri=" + uri, "--mongo-read-routing.enabled=true",
+                "--mongo-read-routing.causal-sessions=true");
+
+        ReadRoutingIT it = new ReadRoutingIT();
+        try {
+            it.run(app, recorder);
+        } catch (RuntimeException e) {
+            it.failures.add("Error inesperado: " + e);
+        } finally {
+            app.close();
+        }
+
+        System.out.printf("%n%d comprobaciones, %d fallidas%n", it.checks, it.failures.size());
+        it.failures.forEach(failure -> System.out.println("  FALLO: " + failure));
+        System.exit(it.failures.isEmpty() ? 0 : 1);
+    }
+
+    private void run(ConfigurableApplicationContext app, CommandRecorder recorder) {
+        ReactiveMongoTemplate template = app.getBean(ReactiveMongoTemplate.class);
+        QualityTestRepository qualityTests = app.getBean(QualityTestRepository.class);
+        TestingPointRepository testingPoints = app.getBean(TestingPointRepository.class);
+        LastWriteTracker lastWriteTracker = app.getBean(LastWriteTracker.class);
+
+        Members members = awaitMembers(app.getBean(MongoClient.class));
+        System.out.printf("Primario %s, secundarios %s%n", members.primary(), members.secondaries());
+
+        String organizationId = "it-" + UUID.randomUUID();
+        LocalDateTime since = LocalDateTime.now().minusDays(1);
+        recorder.track(organizationId);
+        try {
+            // Detalle inmediatamente después de escribir: primario y la escritura ya visible
+            QualityTest written = qualityTests.save(qualityTest(organizationId)).block();
+            recorder.drain();
+            QualityTest detail = qualityTests.findByIdAndOrganizationId(written.getId(), organizationId).block();
+            check(detail != null && written.getId().equals(detail.getId()),
+                "findByIdAndOrganizationId ve el análisis recién guardado");
+            expectServer(recorder.drain(), Set.of(members.primary()), "findByIdAndOrganizationId (sin @ReadRoute)");
+
+            check(lastWriteTracker.last() != null, "LastWriteTracker registró el operationTime de la escritura");
+
+            // ANALYTICS justo después de cada escritura: secundario con afterClusterTime y sin perder la escritura
+            for (int round = 1; round <= CAUSAL_ROUNDS; round++) {
+                qualityTests.save(qualityTest(organizationId)).block();
+                BsonTimestamp writeTime = lastWriteTracker.last().operationTime();
+                recorder.drain();
+                int expected = round + 1;
+                int seen = count(() -> qualityTests.findByOrganizationIdAndTestDateAfter(organizationId, since)
+                    .count().map(Long::intValue));
+                check(seen == expected, "ANALYTICS ronda " + round + " ve " + expected + " análisis (vio " + seen + ")");
+                List<CommandRecorder.Command> commands = recorder.drain();
+                expectServer(commands, members.secondaries(), "findByOrganizationIdAndTestDateAfter (ANALYTICS)");
+                expectAfterClusterTime(commands, writeTime, "findByOrganizationIdAndTestDateAfter (ANALYTICS)");
+            }
+
+            // Fragmento personalizado con @ReadRoute en su interfaz
+            testingPoints.summarizeZones(organizationId, since).collectList().block();
+            expectServer(recorder.drain(), members.secondaries(), "summarizeZones (ANALYTICS)");
+
+            int exported = count(() -> qualityTests.streamAllByOrganizationId(organizationId).count().map(Long::intValue));
+            check(exported == CAUSAL_ROUNDS + 1, "EXPORT ve todos los análisis (vio " + exported + ")");
+            expectServer(recorder.drain(), members.secondaries(), "streamAllByOrganizationId (EXPORT)");
+
+            qualityTests.findAllByOrganizationId(organizationId).collectList().block();
+            expectServer(recorder.drain(), Set.of(members.primary()), "findAllByOrganizationId (sin @ReadRoute)");
+        } finally {
+            recorder.track(null);
+            template.remove(Query.query(Criteria.where("organizationId").is(organizationId)), QualityTest.class).block();
+        }
+    }
+
+    // #region Comprobaciones
+
+    private void check(boolean condition, String description) {
+        checks++;
+        System.out.printf("%s %s%n", condition ? "OK   " : "FALLO", description);
+        if (!condition) {
+            failures.add(description);
+        }
+    }
+
+    private void expectServer(List<CommandRecorder.Command> commands, Set<String> allowed, String call) {
+        Set<String> servers = commands.stream().map(CommandRecorder.Command::server).collect(Collectors.toSet());
+        check(!servers.isEmpty() && allowed.containsAll(servers), call + " se ejecutó en " + servers
+            + " (esperado " + allowed + ")");
+    }
+
+    private void expectAfterClusterTime(List<CommandRecorder.Command> commands, BsonTimestamp writeTime, String call) {
+        boolean anchored = commands.stream()
+            .filter(command -> !"getMore".equals(command.name()))
+            .allMatch(command -> {
+                BsonDocument readConcern = command.readConcern();
+                return readConcern != null && readConcern.isTimestamp("afterClusterTime")
+                    && readConcern.getTimestamp("afterClusterTime").compareTo(writeTime) >= 0;
+            });
+        check(anchored, call + " envía readConcern.afterClusterTime >= la última escritura");
+    }
+
+    // #endregion
+
+    private static int count(Supplier<Mono<Integer>> query) {
+        Integer value = query.get().block();
+        return value != null ? value : -1;
+    }
+
+    private static Members awaitMembers(MongoClient client) {
+        long deadline = System.nanoTime() + TOPOLOGY_TIMEOUT.toNanos();
+        while (true) {
+            Document status = Mono.from(client.getDatabase("admin").runCommand(new Document("replSetGetStatus", 1)))
+                .onErrorResume(e -> Mono.empty())
+                .block();
+            if (status != null) {
+                List<Document> memberList = status.getList("members", Document.class);
+                String primary = memberList.stream().filter(member -> "PRIMARY".equals(member.getString("stateStr")))
+                    .map(member -> member.getString("name")).findFirst().orElse(null);
+                Set<String> secondaries = memberList.stream()
+                    .filter(member -> "SECONDARY".equals(member.getString("stateStr")))
+                    .map(member -> member.getString("name")).collect(Collectors.toSet());
+                if (primary != null && secondaries.size() >= 2) {
+                    return new Members(primary, secondaries);
+                }
+            }
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("El replica set no tiene un primario y dos secundarios: " + status);
+            }
+            try {
+                Thread.sleep(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private static QualityTest qualityTest(String organizationId) {
+        QualityTest test = new QualityTest();
+        test.setOrganizationId(organizationId);
+        test.setTestCode("IT-" + UUID.randomUUID());
+        test.setTestingPointId(List.of());
+        test.setTestDate(LocalDateTime.now());
+        test.setTestType("RUTINARIO");
+        test.setStatus("COMPLETED");
+        test.setResults(List.of());
+        test.setCreatedAt(LocalDateTime.now());
+        test.setUpdatedAt(LocalDateTime.now());
+        return test;
+    }
+
+    private record Members(String primary, Set<String> secondaries) {
+    }
+}
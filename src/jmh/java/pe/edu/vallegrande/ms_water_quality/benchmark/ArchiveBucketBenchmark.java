@@ -0,0 +1,96 @@
+package pe.edu.vallegrande.ms_water_quality.benchmark;
+
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import pe.edu.vallegrande.ms_water_quality.domain.models.QualityTest;
+import pe.edu.vallegrande.ms_water_quality.domain.models.QualityTestBucket;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.archive.QualityTestBucketCodec;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Archivado de un año de análisis en buckets mensuales por punto (10 puntos): CPU de armar
+ * y expandir los buckets. El tamaño BSON de los documentos vivos frente al de los buckets
+ * (lo que ocupa en disco y en caché de WiredTiger) se imprime al preparar el benchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArchiveBucketBenchmark {
+
+    @Param({"1000", "10000"})
+    public int size;
+
+    private QualityTestBucketCodec codec;
+    private Collection<List<QualityTest>> groups;
+    private List<QualityTestBucket> buckets;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        codec = new QualityTestBucketCodec(BenchmarkFixtures.objectMapper());
+        List<QualityTest> tests = BenchmarkFixtures.qualityTests(size, BenchmarkFixtures.testingPoints(10));
+        groups = tests.stream().collect(Collectors.groupingBy(
+            QualityTestBucketCodec::bucketId, LinkedHashMap::new, Collectors.toList())).values();
+        buckets = pack();
+
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        long liveBytes = tests.stream().mapToLong(test -> bsonSize(converter, test)).sum();
+        long bucketBytes = buckets.stream().mapToLong(bucket -> bsonSize(converter, bucket)).sum();
+        System.out.printf("%n[archive] tests=%d buckets=%d live=%d bytes buckets=%d bytes (%.1fx)%n",
+            tests.size(), buckets.size(), liveBytes, bucketBytes, (double) liveBytes / bucketBytes);
+    }
+
+    @Benchmark
+    public List<QualityTestBucket> pack() {
+        List<QualityTestBucket> packed = new ArrayList<>(groups.size());
+        for (List<QualityTest> group : groups) {
+            packed.add(codec.merge(new QualityTestBucket(), group));
+        }
+        return packed;
+    }
+
+    @Benchmark
+    public int unpack() {
+        int count = 0;
+        for (QualityTestBucket bucket : buckets) {
+            count += codec.unpack(bucket).size();
+        }
+        return count;
+    }
+
+    private static long bsonSize(MappingMongoConverter converter, Object value) {
+        Document document = new Document();
+        converter.write(value, document);
+        return new RawBsonDocument(document, new DocumentCodec()).getByteBuffer().remaining();
+    }
+}
@@ -0,0 +1,221 @@
+package pe.edu.vallegrande.ms_water_quality.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import pe.edu.vallegrande.ms_water_quality.domain.models.DailyRecord;
+import pe.edu.vallegrande.ms_water_quality.domain.models.QualityTest;
+import pe.edu.vallegrande.ms_water_quality.domain.models.TestingPoint;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.client.RequestHedger;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.client.dto.ExternalOrganization;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.client.dto.ExternalStreet;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.client.dto.ExternalUser;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.client.dto.ExternalZone;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.client.dto.UserApiResponse;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.service.ExternalServiceClient;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Datos sintéticos y dobles en memoria para los benchmarks: repositorios sin Mongo
+ * y un WebClient que responde desde memoria en lugar de ms-users.
+ */
+public final class BenchmarkFixtures {
+
+    public static final String ORGANIZATION_ID = "6896b2ecf3e398570ffd99d3";
+    public static final int ADMIN_COUNT = 5;
+
+    private static final String[] POINT_TYPES = {"RESERVORIO", "RED_DISTRIBUCION", "DOMICILIO"};
+    private static final String[] RESULT_STATUS = {"ACCEPTABLE", "WARNING", "CRITICAL"};
+
+    private BenchmarkFixtures() {
+    }
+
+    public static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    public static List<TestingPoint> testingPoints(int size) {
+        Random random = new Random(42);
+        List<TestingPoint> points = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            TestingPoint point = new TestingPoint();
+            point.setId(String.format("tp%022d", i));
+            point.setOrganizationId(ORGANIZATION_ID);
+            point.setPointCode(String.format("PR%03d", i + 1));
+            point.setPointName("Punto de muestreo " + i);
+            point.setPointType(POINT_TYPES[i % POINT_TYPES.length]);
+            point.setZoneId("ZN" + String.format("%04d", i % 12));
+            point.setLocationDescription("Cerca del tanque " + (i % 7));
+            point.setStreet("Calle " + (i % 40));
+            point.setCoordinates(new TestingPoint.Coordinates(
+                -12.0 - random.nextDouble(), -77.0 - random.nextDouble()));
+            point.setStatus(i % 5 == 0 ? "INACTIVE" : "ACTIVE");
+            point.setCreatedAt(LocalDateTime.of(2025, 1, 1, 8, 0).plusHours(i));
+            point.setUpdatedAt(point.getCreatedAt());
+            points.add(point);
+        }
+        return points;
+    }
+
+    public static List<QualityTest> qualityTests(int size, List<TestingPoint> points) {
+        List<QualityTest> tests = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            QualityTest test = new QualityTest();
+            test.setId(String.format("qt%022d", i));
+            test.setOrganizationId(ORGANIZATION_ID);
+            test.setTestCode(String.format("ANL%03d", i + 1));
+            test.setTestingPointId(List.of(
+                points.get(i % points.size()).getId(),
+                points.get((i + 1) % points.size()).getId()));
+            test.setTestDate(LocalDateTime.of(2025, 10, 6, 10, 0).minusDays(i % 365));
+            test.setTestType(i % 2 == 0 ? "FISICOQUIMICO" : "BACTERIOLOGICO");
+            test.setTestedByUserId(adminId(i % ADMIN_COUNT));
+            test.setWeatherConditions("Soleado");
+            test.setWaterTemperature(20.0 + (i % 10));
+            test.setGeneralObservations("Agua clara, sin olor");
+            test.setStatus("COMPLETED");
+            List<QualityTest.TestResult> results = new ArrayList<>(4);
+            for (int r = 0; r < 4; r++) {
+                results.add(new QualityTest.TestResult(
+                    "PARAM" + r, "PARAM" + r, 7.0 + r * 0.1, "pH",
+                    RESULT_STATUS[(i + r) % RESULT_STATUS.length], "Dentro del rango"));
+            }
+            test.setResults(results);
+            test.setCreatedAt(test.getTestDate());
+            tests.add(test);
+        }
+        return tests;
+    }
+
+    public static List<DailyRecord> dailyRecords(int size, List<TestingPoint> points) {
+        List<DailyRecord> records = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            DailyRecord record = new DailyRecord();
+            record.setId(String.format("dr%022d", i));
+            record.setOrganizationId(ORGANIZATION_ID);
+            record.setRecordCode("CL" + (10000 + i));
+            record.setTestingPointIds(List.of(points.get(i % points.size()).getId()));
+            record.setRecordDate(LocalDateTime.of(2025, 10, 6, 8, 0).minusHours(i));
+            record.setLevel(0.5 + (i % 20) * 0.1);
+            record.setAcceptable(i % 7 != 0);
+            record.setActionRequired(i % 7 == 0);
+            record.setRecordedByUserId(adminId(i % ADMIN_COUNT));
+            record.setObservations("Nivel de cloro dentro de los límites");
+            record.setAmount(0.5);
+            record.setRecordType(i % 3 == 0 ? "SULFATO" : "CLORO");
+            record.setCreatedAt(record.getRecordDate());
+            records.add(record);
+        }
+        return records;
+    }
+
+    public static List<ExternalUser> admins() {
+        ExternalOrganization organization = new ExternalOrganization();
+        organization.setOrganizationId(ORGANIZATION_ID);
+        organization.setOrganizationCode("ORG0001");
+        organization.setOrganizationName("JASS Valle Grande");
+        organization.setStatus("ACTIVE");
+        organization.setAddress("Av. Principal 123");
+        organization.setPhone("999888777");
+        organization.setLegalRepresentative("Representante Legal");
+
+        List<ExternalUser> users = new ArrayList<>(ADMIN_COUNT);
+        for (int i = 0; i < ADMIN_COUNT; i++) {
+            ExternalZone zone = new ExternalZone();
+            zone.setZoneId("ZN" + String.format("%04d", i));
+            zone.setZoneCode("Z" + i);
+            zone.setZoneName("Zona " + i);
+            zone.setStatus("ACTIVE");
+            zone.setDescription("Zona de abastecimiento " + i);
+
+            ExternalStreet street = new ExternalStreet();
+            street.setStreetId("ST" + i);
+            street.setStreetCode("C" + i);
+            street.setStreetType("CALLE");
+            street.setStreetName("Los Pinos " + i);
+            street.setStatus("ACTIVE");
+
+            ExternalUser user = new ExternalUser();
+            user.setId(adminId(i));
+            user.setUserCode("USR" + String.format("%04d", i));
+            user.setFirstName("Nombre" + i);
+            user.setLastName("Apellido" + i);
+            user.setDocumentType("DNI");
+            user.setDocumentNumber(String.valueOf(70000000 + i));
+            user.setEmail("admin" + i + "@jass.pe");
+            user.setPhone("9" + String.format("%08d", i));
+            user.setAddress("Jr. Las Flores " + i);
+            user.setRoles(List.of("ADMIN", "USER"));
+            user.setStatus("ACTIVE");
+            user.setCreatedAt("2025-01-01T00:00:00");
+            user.setUpdatedAt("2025-01-01T00:00:00");
+            user.setOrganization(organization);
+            user.setZone(zone);
+            user.setStreet(street);
+            users.add(user);
+        }
+        return users;
+    }
+
+    public static String adminId(int index) {
+        return String.format("us%022d", index);
+    }
+
+    /**
+     * Cliente externo cuyo WebClient responde con el JSON de administradores serializado
+     * una sola vez; cada llamada sigue pagando la decodificación como en producción.
+     */
+    public static ExternalServiceClient externalServiceClient(ObjectMapper objectMapper) {
+        UserApiResponse response = new UserApiResponse();
+        response.setSuccess(true);
+        response.setData(admins());
+        String body;
+        try {
+            body = objectMapper.writeValueAsString(response);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        WebClient webClient = WebClient.builder()
+            .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build()))
+            .build();
+        return new ExternalServiceClient(webClient, webClient, RequestHedger.disabled());
+    }
+
+    /**
+     * Crea un repositorio en memoria respondiendo sólo los métodos indicados por nombre.
+     */
+    @SuppressWarnings("unchecked")
+    public static <R> R repository(Class<R> type, Map<String, Function<Object[], Object>> handlers) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            Function<Object[], Object> fn = handlers.get(method.getName());
+            if (fn != null) {
+                return fn.apply(args);
+            }
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> type.getSimpleName() + "Stub";
+                };
+            }
+            throw new UnsupportedOperationException(method.getName());
+        };
+        return (R) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+}
@@ -0,0 +1,72 @@
+package pe.edu.vallegrande.ms_water_quality.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pe.edu.vallegrande.ms_water_quality.application.services.impl.DailyRecordServiceImpl;
+import pe.edu.vallegrande.ms_water_quality.application.services.impl.QualityTestServiceImpl;
+import pe.edu.vallegrande.ms_water_quality.application.services.impl.TestingPointServiceImpl;
+import reactor.core.publisher.Mono;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generadores de códigos (ANL, PR/PD/PM, CL/SU). Son privados, así que se invocan con
+ * {@link MethodHandle}s resueltos una vez en el setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CodeGenerationBenchmark {
+
+    @Param({"100", "10000"})
+    public int size;
+
+    private ServiceFixture fixture;
+    private MethodHandle nextTestCode;
+    private MethodHandle nextPointCode;
+    private MethodHandle recordCode;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ReflectiveOperationException {
+        fixture = new ServiceFixture(size, BenchmarkFixtures.objectMapper());
+        nextTestCode = MethodHandles.privateLookupIn(QualityTestServiceImpl.class, MethodHandles.lookup())
+            .findVirtual(QualityTestServiceImpl.class, "generateNextCode", MethodType.methodType(Mono.class, String.class));
+        nextPointCode = MethodHandles.privateLookupIn(TestingPointServiceImpl.class, MethodHandles.lookup())
+            .findVirtual(TestingPointServiceImpl.class, "generateNextPointCode",
+                MethodType.methodType(Mono.class, String.class, String.class));
+        recordCode = MethodHandles.privateLookupIn(DailyRecordServiceImpl.class, MethodHandles.lookup())
+            .findVirtual(DailyRecordServiceImpl.class, "generateRecordCode",
+                MethodType.methodType(String.class, String.class));
+    }
+
+    @Benchmark
+    public Object qualityTestCode() throws Throwable {
+        return ((Mono<?>) nextTestCode.invoke(fixture.qualityTestService, BenchmarkFixtures.ORGANIZATION_ID)).block();
+    }
+
+    @Benchmark
+    public Object testingPointCode() throws Throwable {
+        return ((Mono<?>) nextPointCode.invoke(fixture.testingPointService, BenchmarkFixtures.ORGANIZATION_ID, "RESERVORIO")).block();
+    }
+
+    @Benchmark
+    public Object dailyRecordCode() throws Throwable {
+        return recordCode.invoke(fixture.dailyRecordService, "CLORO");
+    }
+}
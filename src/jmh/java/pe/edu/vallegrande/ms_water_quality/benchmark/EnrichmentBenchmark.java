@@ -0,0 +1,85 @@
+package pe.edu.vallegrande.ms_water_quality.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.enriched.DailyRecordEnrichedResponse;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.enriched.QualityTestEnrichedResponse;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.enriched.TestingPointEnrichedResponse;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.normalized.DailyRecordNormalizedResponse;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.normalized.NormalizedResponse;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.normalized.QualityTestNormalizedResponse;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listados enriquecidos por organización: cubre los {@code enrich*} de cada servicio,
+ * incluidas las llamadas (simuladas) a ms-users y las búsquedas de puntos de muestreo, frente
+ * al armado normalizado ({@code ?shape=normalized}) de los mismos listados.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EnrichmentBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    private ServiceFixture fixture;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = new ServiceFixture(size, BenchmarkFixtures.objectMapper());
+    }
+
+    @Benchmark
+    public List<QualityTestEnrichedResponse> enrichQualityTests() {
+        return fixture.qualityTestService
+            .getAllByOrganization(BenchmarkFixtures.ORGANIZATION_ID)
+            .collectList()
+            .block();
+    }
+
+    @Benchmark
+    public List<DailyRecordEnrichedResponse> enrichDailyRecords() {
+        return fixture.dailyRecordService
+            .getAllByOrganization(BenchmarkFixtures.ORGANIZATION_ID)
+            .collectList()
+            .block();
+    }
+
+    @Benchmark
+    public NormalizedResponse<QualityTestNormalizedResponse> normalizeQualityTests() {
+        return fixture.qualityTestService
+            .getAllNormalizedByOrganization(BenchmarkFixtures.ORGANIZATION_ID)
+            .block();
+    }
+
+    @Benchmark
+    public NormalizedResponse<DailyRecordNormalizedResponse> normalizeDailyRecords() {
+        return fixture.dailyRecordService
+            .getAllNormalizedByOrganization(BenchmarkFixtures.ORGANIZATION_ID)
+            .block();
+    }
+
+    @Benchmark
+    public List<TestingPointEnrichedResponse> enrichTestingPoints() {
+        return fixture.testingPointService
+            .getAllByOrganization(BenchmarkFixtures.ORGANIZATION_ID)
+            .collectList()
+            .block();
+    }
+}
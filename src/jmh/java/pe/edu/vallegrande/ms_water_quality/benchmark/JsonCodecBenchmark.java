@@ -0,0 +1,96 @@
+package pe.edu.vallegrande.ms_water_quality.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.codec.PooledJackson2JsonEncoder;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.ResponseDto;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.enriched.DailyRecordEnrichedResponse;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.enriched.QualityTestEnrichedResponse;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoder JSON de WebFlux por defecto frente a la configuración de {@code JsonCodecConfig}:
+ * {@code blackbird} sólo cambia el ObjectMapper y {@code tuned} suma la escritura directa
+ * sobre buffers del pool de Netty. Se codifica igual que una respuesta real de
+ * {@code AdminRest} y el buffer se libera en cada iteración, como haría el servidor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonCodecBenchmark {
+
+    @Param({"default", "blackbird", "tuned"})
+    public String codec;
+
+    @Param({"1000", "5000"})
+    public int size;
+
+    private final NettyDataBufferFactory bufferFactory = new NettyDataBufferFactory(PooledByteBufAllocator.DEFAULT);
+
+    private Jackson2JsonEncoder encoder;
+    private ResponseDto<List<QualityTestEnrichedResponse>> qualityTests;
+    private ResponseDto<List<DailyRecordEnrichedResponse>> dailyRecords;
+    private ResolvableType qualityTestsType;
+    private ResolvableType dailyRecordsType;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ServiceFixture fixture = new ServiceFixture(size, BenchmarkFixtures.objectMapper());
+        qualityTests = new ResponseDto<>(true, fixture.qualityTestService
+            .getAllByOrganization(BenchmarkFixtures.ORGANIZATION_ID).collectList().block(), null);
+        dailyRecords = new ResponseDto<>(true, fixture.dailyRecordService
+            .getAllByOrganization(BenchmarkFixtures.ORGANIZATION_ID).collectList().block(), null);
+        qualityTestsType = ResolvableType.forInstance(qualityTests);
+        dailyRecordsType = ResolvableType.forInstance(dailyRecords);
+
+        ObjectMapper blackbird = Jackson2ObjectMapperBuilder.json().modulesToInstall(new BlackbirdModule()).build();
+        encoder = switch (codec) {
+            case "blackbird" -> new Jackson2JsonEncoder(blackbird);
+            case "tuned" -> new PooledJackson2JsonEncoder(blackbird, 8192);
+            default -> new Jackson2JsonEncoder(BenchmarkFixtures.objectMapper());
+        };
+    }
+
+    @Benchmark
+    public int qualityTests() {
+        return encode(qualityTests, qualityTestsType);
+    }
+
+    @Benchmark
+    public int dailyRecords() {
+        return encode(dailyRecords, dailyRecordsType);
+    }
+
+    private int encode(Object value, ResolvableType type) {
+        DataBuffer buffer = encoder.encodeValue(value, bufferFactory, type, MediaType.APPLICATION_JSON, Map.of());
+        int written = buffer.readableByteCount();
+        DataBufferUtils.release(buffer);
+        return written;
+    }
+}
@@ -0,0 +1,112 @@
+package pe.edu.vallegrande.ms_water_quality.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pe.edu.vallegrande.ms_water_quality.domain.models.TestingPoint;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.request.DailyRecordCreateRequest;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.request.QualityTestCreateRequest;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.request.TestingPointCreateRequest;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.TestingPointResponse;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.enriched.DailyRecordEnrichedResponse;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.enriched.QualityTestEnrichedResponse;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapeo request→entidad en {@code save}/{@code update}. {@code size} es el tamaño de la
+ * colección existente, relevante porque los generadores de código la recorren completa.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingBenchmark {
+
+    @Param({"10", "1000"})
+    public int size;
+
+    private ServiceFixture fixture;
+    private QualityTestCreateRequest qualityTestRequest;
+    private DailyRecordCreateRequest dailyRecordRequest;
+    private TestingPointCreateRequest testingPointRequest;
+    private TestingPoint testingPointUpdate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = new ServiceFixture(size, BenchmarkFixtures.objectMapper());
+        String pointId = fixture.testingPoints.get(0).getId();
+
+        List<QualityTestCreateRequest.TestResult> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(new QualityTestCreateRequest.TestResult(
+                "PARAM" + i, "PARAM" + i, 7.0 + i * 0.1, "pH", "ACCEPTABLE", "Dentro del rango"));
+        }
+        qualityTestRequest = new QualityTestCreateRequest(
+            BenchmarkFixtures.ORGANIZATION_ID, null, List.of(pointId), LocalDateTime.of(2025, 10, 6, 10, 0),
+            "FISICOQUIMICO", BenchmarkFixtures.adminId(0), "Soleado", 25.5,
+            "Agua clara, sin olor", "COMPLETED", results);
+
+        dailyRecordRequest = new DailyRecordCreateRequest(
+            BenchmarkFixtures.ORGANIZATION_ID, null, List.of(pointId), LocalDateTime.of(2025, 10, 6, 8, 0),
+            1.5, true, false, BenchmarkFixtures.adminId(1), "Nivel de cloro dentro de los límites", 0.5, "CLORO");
+
+        testingPointRequest = new TestingPointCreateRequest(
+            BenchmarkFixtures.ORGANIZATION_ID, null, "Punto de Muestreo Principal", "RESERVORIO", "ZN0001",
+            "Cerca del tanque principal", "Calle Falsa 123",
+            new TestingPointCreateRequest.Coordinates(-12.046374, -77.042793));
+
+        testingPointUpdate = new TestingPoint();
+        testingPointUpdate.setOrganizationId(BenchmarkFixtures.ORGANIZATION_ID);
+        testingPointUpdate.setPointCode("PR001");
+        testingPointUpdate.setPointName("Punto de Muestreo Principal Actualizado");
+        testingPointUpdate.setPointType("RED_DISTRIBUCION");
+        testingPointUpdate.setZoneId("ZN0002");
+        testingPointUpdate.setCoordinates(new TestingPoint.Coordinates(-12.046374, -77.042793));
+        testingPointUpdate.setStatus("ACTIVE");
+    }
+
+    @Benchmark
+    public QualityTestEnrichedResponse saveQualityTest() {
+        return fixture.qualityTestService.save(qualityTestRequest).contextWrite(ServiceFixture.tenantContext()).block();
+    }
+
+    @Benchmark
+    public QualityTestEnrichedResponse updateQualityTest() {
+        return fixture.qualityTestService.update(fixture.qualityTests.get(0).getId(), qualityTestRequest, null).contextWrite(ServiceFixture.tenantContext()).block();
+    }
+
+    @Benchmark
+    public DailyRecordEnrichedResponse saveDailyRecord() {
+        return fixture.dailyRecordService.save(dailyRecordRequest).contextWrite(ServiceFixture.tenantContext()).block();
+    }
+
+    @Benchmark
+    public DailyRecordEnrichedResponse updateDailyRecord() {
+        return fixture.dailyRecordService.update(fixture.dailyRecords.get(0).getId(), dailyRecordRequest, null).contextWrite(ServiceFixture.tenantContext()).block();
+    }
+
+    @Benchmark
+    public TestingPointResponse saveTestingPoint() {
+        return fixture.testingPointService.save(testingPointRequest).contextWrite(ServiceFixture.tenantContext()).block();
+    }
+
+    @Benchmark
+    public TestingPoint updateTestingPoint() {
+        return fixture.testingPointService.update(fixture.testingPoints.get(0).getId(), testingPointUpdate, null).contextWrite(ServiceFixture.tenantContext()).block();
+    }
+}
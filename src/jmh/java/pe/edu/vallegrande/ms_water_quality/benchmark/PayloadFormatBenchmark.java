@@ -0,0 +1,98 @@
+package pe.edu.vallegrande.ms_water_quality.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.ResponseDto;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.enriched.QualityTestEnrichedResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * JSON frente a Smile y CBOR, con y sin gzip, sobre el listado enriquecido de análisis
+ * (el que más objetos embebe). Mide CPU de codificar y decodificar; el tamaño de cada
+ * combinación se imprime al preparar el benchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayloadFormatBenchmark {
+
+    private static final TypeReference<ResponseDto<List<QualityTestEnrichedResponse>>> TYPE = new TypeReference<>() {
+    };
+
+    @Param({"json", "smile", "cbor"})
+    public String format;
+
+    @Param({"false", "true"})
+    public boolean gzip;
+
+    @Param({"100", "1000"})
+    public int size;
+
+    private ObjectMapper mapper;
+    private ResponseDto<List<QualityTestEnrichedResponse>> payload;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ServiceFixture fixture = new ServiceFixture(size, BenchmarkFixtures.objectMapper());
+        payload = new ResponseDto<>(true, fixture.qualityTestService
+            .getAllByOrganization(BenchmarkFixtures.ORGANIZATION_ID).collectList().block(), null);
+        mapper = Jackson2ObjectMapperBuilder.json().factory(factory(format)).build();
+        encoded = encode();
+        System.out.printf("%n[payload] format=%s gzip=%s size=%d -> %d bytes%n", format, gzip, size, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(64 * 1024);
+        try (OutputStream out = gzip ? new GZIPOutputStream(buffer) : buffer) {
+            mapper.writeValue(out, payload);
+        }
+        return buffer.toByteArray();
+    }
+
+    @Benchmark
+    public ResponseDto<List<QualityTestEnrichedResponse>> decode() throws IOException {
+        InputStream in = new ByteArrayInputStream(encoded);
+        try (InputStream source = gzip ? new GZIPInputStream(in) : in) {
+            return mapper.readValue(source, TYPE);
+        }
+    }
+
+    private static JsonFactory factory(String format) {
+        return switch (format) {
+            case "smile" -> SmileFactory.builder().enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES).build();
+            case "cbor" -> new CBORFactory();
+            default -> new JsonFactory();
+        };
+    }
+}
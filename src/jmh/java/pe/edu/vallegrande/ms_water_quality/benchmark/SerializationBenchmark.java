@@ -0,0 +1,116 @@
+package pe.edu.vallegrande.ms_water_quality.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.ResponseDto;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.enriched.DailyRecordEnrichedResponse;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.enriched.QualityTestEnrichedResponse;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.enriched.TestingPointEnrichedResponse;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.normalized.DailyRecordNormalizedResponse;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.normalized.NormalizedResponse;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.normalized.QualityTestNormalizedResponse;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialización Jackson de los listados enriquecidos tal como los devuelve {@code AdminRest}
+ * ({@code ResponseDto<List<...>>}), con el mismo ObjectMapper por defecto de Spring, y la
+ * forma normalizada de análisis y registros diarios.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"100", "1000", "5000"})
+    public int size;
+
+    private ObjectWriter writer;
+    private ResponseDto<List<QualityTestEnrichedResponse>> qualityTests;
+    private ResponseDto<List<DailyRecordEnrichedResponse>> dailyRecords;
+    private ResponseDto<List<TestingPointEnrichedResponse>> testingPoints;
+    private ResponseDto<NormalizedResponse<QualityTestNormalizedResponse>> qualityTestsNormalized;
+    private ResponseDto<NormalizedResponse<DailyRecordNormalizedResponse>> dailyRecordsNormalized;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ObjectMapper objectMapper = BenchmarkFixtures.objectMapper();
+        ServiceFixture fixture = new ServiceFixture(size, objectMapper);
+        writer = objectMapper.writer();
+        qualityTests = new ResponseDto<>(true, fixture.qualityTestService
+            .getAllByOrganization(BenchmarkFixtures.ORGANIZATION_ID).collectList().block(), null);
+        dailyRecords = new ResponseDto<>(true, fixture.dailyRecordService
+            .getAllByOrganization(BenchmarkFixtures.ORGANIZATION_ID).collectList().block(), null);
+        qualityTestsNormalized = new ResponseDto<>(true, fixture.qualityTestService
+            .getAllNormalizedByOrganization(BenchmarkFixtures.ORGANIZATION_ID).block(), null);
+        dailyRecordsNormalized = new ResponseDto<>(true, fixture.dailyRecordService
+            .getAllNormalizedByOrganization(BenchmarkFixtures.ORGANIZATION_ID).block(), null);
+        System.out.printf("%n[payload] size=%d qualityTests=%d normalized=%d dailyRecords=%d normalized=%d bytes%n",
+            size, bytes(qualityTests), bytes(qualityTestsNormalized), bytes(dailyRecords), bytes(dailyRecordsNormalized));
+        testingPoints = new ResponseDto<>(true, BenchmarkFixtures.testingPoints(size).stream()
+            .map(point -> TestingPointEnrichedResponse.builder()
+                .id(point.getId())
+                .pointCode(point.getPointCode())
+                .pointName(point.getPointName())
+                .pointType(point.getPointType())
+                .zoneId(point.getZoneId())
+                .locationDescription(point.getLocationDescription())
+                .street(point.getStreet())
+                .coordinates(point.getCoordinates())
+                .status(point.getStatus())
+                .createdAt(point.getCreatedAt())
+                .updatedAt(point.getUpdatedAt())
+                .organizationId(BenchmarkFixtures.admins().get(0).getOrganization())
+                .build())
+            .toList(), null);
+    }
+
+    @Benchmark
+    public byte[] qualityTests() throws Exception {
+        return writer.writeValueAsBytes(qualityTests);
+    }
+
+    @Benchmark
+    public byte[] dailyRecords() throws Exception {
+        return writer.writeValueAsBytes(dailyRecords);
+    }
+
+    @Benchmark
+    public byte[] testingPoints() throws Exception {
+        return writer.writeValueAsBytes(testingPoints);
+    }
+
+    @Benchmark
+    public byte[] qualityTestsNormalized() throws Exception {
+        return writer.writeValueAsBytes(qualityTestsNormalized);
+    }
+
+    @Benchmark
+    public byte[] dailyRecordsNormalized() throws Exception {
+        return writer.writeValueAsBytes(dailyRecordsNormalized);
+    }
+
+    private int bytes(Object payload) {
+        try {
+            return writer.writeValueAsBytes(payload).length;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
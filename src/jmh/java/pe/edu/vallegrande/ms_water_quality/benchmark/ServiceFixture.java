@@ -0,0 +1,151 @@
+package pe.edu.vallegrande.ms_water_quality.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import pe.edu.vallegrande.ms_water_quality.application.services.impl.DailyRecordServiceImpl;
+import pe.edu.vallegrande.ms_water_quality.application.services.impl.QualityTestServiceImpl;
+import pe.edu.vallegrande.ms_water_quality.application.services.impl.TestingPointServiceImpl;
+import pe.edu.vallegrande.ms_water_quality.domain.models.DailyRecord;
+import pe.edu.vallegrande.ms_water_quality.domain.models.QualityTest;
+import pe.edu.vallegrande.ms_water_quality.domain.models.TestingPoint;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.archive.QualityTestArchive;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.archive.QualityTestBucketCodec;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.cache.ZoneSummaryCache;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.geo.PointClusterIndex;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.ingest.Spillover;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.ingest.WriteBehindBuffer;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.mongo.MongoConcurrency;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.repository.DailyRecordRepository;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.repository.QualityTestBucketRepository;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.repository.QualityTestRepository;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.repository.SyncTombstoneRepository;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.repository.TestingPointRepository;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.search.PointPrefixIndex;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.security.TenantAuthenticationToken;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.service.ExternalServiceClient;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.sync.SyncTombstones;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Arma los servicios reales sobre repositorios en memoria con {@code size} documentos
+ * por colección, de modo que los benchmarks ejercitan el mismo código que producción.
+ */
+public final class ServiceFixture {
+
+    public final List<TestingPoint> testingPoints;
+    public final List<QualityTest> qualityTests;
+    public final List<DailyRecord> dailyRecords;
+
+    public final TestingPointServiceImpl testingPointService;
+    public final QualityTestServiceImpl qualityTestService;
+    public final DailyRecordServiceImpl dailyRecordService;
+
+    @SuppressWarnings("unchecked")
+    public ServiceFixture(int size, ObjectMapper objectMapper) {
+        this.testingPoints = BenchmarkFixtures.testingPoints(Math.max(size / 4, 8));
+        this.qualityTests = BenchmarkFixtures.qualityTests(size, testingPoints);
+        this.dailyRecords = BenchmarkFixtures.dailyRecords(size, testingPoints);
+
+        Map<String, TestingPoint> pointsById = testingPoints.stream()
+            .collect(Collectors.toMap(TestingPoint::getId, Function.identity()));
+        Map<String, QualityTest> testsById = qualityTests.stream()
+            .collect(Collectors.toMap(QualityTest::getId, Function.identity()));
+        Map<String, DailyRecord> recordsById = dailyRecords.stream()
+            .collect(Collectors.toMap(DailyRecord::getId, Function.identity()));
+
+        TestingPointRepository testingPointRepository = BenchmarkFixtures.repository(
+            TestingPointRepository.class, Map.of(
+                "findById", args -> Mono.justOrEmpty(pointsById.get((String) args[0])),
+                "findByIdAndOrganizationId", args -> Mono.justOrEmpty(pointsById.get((String) args[0])),
+                "findByOrganizationIdAndIdIn", args -> Flux.fromIterable((Collection<String>) args[1])
+                    .mapNotNull(pointsById::get),
+                "updateAtomically", args -> Mono.justOrEmpty(pointsById.get((String) args[0])),
+                "removeAtomically", args -> Mono.justOrEmpty(pointsById.get((String) args[0])),
+                "findAll", args -> Flux.fromIterable(testingPoints),
+                "findByOrganizationId", args -> Flux.fromIterable(testingPoints),
+                "findByOrganizationIdAndStatus", args -> Flux.fromIterable(testingPoints)
+                    .filter(point -> args[1].equals(point.getStatus())),
+                "save", args -> Mono.just(args[0])));
+
+        QualityTestRepository qualityTestRepository = BenchmarkFixtures.repository(
+            QualityTestRepository.class, Map.of(
+                "findById", args -> Mono.justOrEmpty(testsById.get((String) args[0])),
+                "findByIdAndOrganizationId", args -> Mono.justOrEmpty(testsById.get((String) args[0])),
+                "updateAtomically", args -> Mono.justOrEmpty(testsById.get((String) args[0])),
+                "removeAtomically", args -> Mono.justOrEmpty(testsById.get((String) args[0])),
+                "findAll", args -> Flux.fromIterable(qualityTests),
+                "findAllByOrganizationId", args -> Flux.fromIterable(qualityTests),
+                "streamAllByOrganizationId", args -> Flux.fromIterable(qualityTests),
+                "save", args -> Mono.just(args[0])));
+
+        DailyRecordRepository dailyRecordRepository = BenchmarkFixtures.repository(
+            DailyRecordRepository.class, Map.of(
+                "findById", args -> Mono.justOrEmpty(recordsById.get((String) args[0])),
+                "findByIdAndOrganizationId", args -> Mono.justOrEmpty(recordsById.get((String) args[0])),
+                "updateAtomically", args -> Mono.justOrEmpty(recordsById.get((String) args[0])),
+                "removeAtomically", args -> Mono.justOrEmpty(recordsById.get((String) args[0])),
+                "findAll", args -> Flux.fromIterable(dailyRecords),
+                "findAllByOrganizationId", args -> Flux.fromIterable(dailyRecords),
+                "streamAllByOrganizationId", args -> Flux.fromIterable(dailyRecords),
+                "save", args -> Mono.just(args[0])));
+
+        ExternalServiceClient externalServiceClient = BenchmarkFixtures.externalServiceClient(objectMapper);
+
+        PointClusterIndex pointClusterIndex = new PointClusterIndex(testingPointRepository, qualityTestRepository,
+            dailyRecordRepository, Duration.ofMinutes(1), Duration.ofDays(30), 15, 500);
+        ZoneSummaryCache zoneSummaryCache = new ZoneSummaryCache(
+            testingPointRepository, Duration.ofMinutes(5), Duration.ofDays(30));
+        PointPrefixIndex pointPrefixIndex = new PointPrefixIndex(testingPointRepository, Duration.ofMinutes(5));
+        WriteBehindBuffer<DailyRecord> dailyRecordIngestBuffer = new WriteBehindBuffer<>("daily_records", 10_000, 500,
+            Duration.ofMillis(200), 0, Duration.ofSeconds(1), Duration.ofSeconds(1), records -> Mono.empty(),
+            records -> { }, Spillover.none());
+
+        QualityTestBucketRepository bucketRepository = BenchmarkFixtures.repository(
+            QualityTestBucketRepository.class, Map.of(
+                "findOverlapping", args -> Flux.empty(),
+                "findFirstByOrganizationIdAndEntriesId", args -> Mono.empty(),
+                "findFirstByOrganizationIdOrderByLastTestDateDesc", args -> Mono.empty()));
+        QualityTestArchive qualityTestArchive = new QualityTestArchive(
+            bucketRepository, new QualityTestBucketCodec(objectMapper));
+        SyncTombstones syncTombstones = new SyncTombstones(BenchmarkFixtures.repository(
+            SyncTombstoneRepository.class, Map.of(
+                "saveAll", args -> Flux.empty(),
+                "findChanges", args -> Flux.empty())));
+
+        this.testingPointService = new TestingPointServiceImpl(
+            testingPointRepository, externalServiceClient, MongoConcurrency.defaults(), pointClusterIndex, zoneSummaryCache,
+            pointPrefixIndex, syncTombstones);
+        this.qualityTestService = new QualityTestServiceImpl(
+            qualityTestRepository, externalServiceClient, testingPointRepository, MongoConcurrency.defaults(),
+            zoneSummaryCache, qualityTestArchive, syncTombstones);
+        this.dailyRecordService = new DailyRecordServiceImpl(
+            dailyRecordRepository, testingPointRepository, externalServiceClient, MongoConcurrency.defaults(),
+            zoneSummaryCache, dailyRecordIngestBuffer, syncTombstones);
+    }
+
+    /**
+     * Contexto de seguridad con la organización de los fixtures, como el que deja el filtro JWT.
+     */
+    public static Context tenantContext() {
+        return TENANT_CONTEXT;
+    }
+
+    private static final Context TENANT_CONTEXT = ReactiveSecurityContextHolder.withAuthentication(
+        new TenantAuthenticationToken(
+            Jwt.withTokenValue("benchmark")
+                .header("alg", "none")
+                .subject("benchmark")
+                .claim("organizationId", BenchmarkFixtures.ORGANIZATION_ID)
+                .build(),
+            List.of(), "benchmark", BenchmarkFixtures.ORGANIZATION_ID));
+}
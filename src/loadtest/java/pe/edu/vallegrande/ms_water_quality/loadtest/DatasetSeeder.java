@@ -0,0 +1,122 @@
+package pe.edu.vallegrande.ms_water_quality.loadtest;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoClients;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import pe.edu.vallegrande.ms_water_quality.domain.models.DailyRecord;
+import pe.edu.vallegrande.ms_water_quality.domain.models.QualityTest;
+import pe.edu.vallegrande.ms_water_quality.domain.models.TestingPoint;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Limpia y llena la base local con un dataset sintético del tamaño pedido.
+ */
+public class DatasetSeeder implements AutoCloseable {
+
+    private static final String[] POINT_TYPES = {"RESERVORIO", "RED_DISTRIBUCION", "DOMICILIO"};
+    private static final String[] RESULT_STATUS = {"ACCEPTABLE", "WARNING", "CRITICAL"};
+    private static final int BATCH = 1000;
+
+    private final MongoClient client;
+    private final ReactiveMongoTemplate template;
+    private final Random random = new Random(7);
+
+    public DatasetSeeder(String mongoUri) {
+        ConnectionString connectionString = new ConnectionString(mongoUri);
+        this.client = MongoClients.create(connectionString);
+        this.template = new ReactiveMongoTemplate(client, connectionString.getDatabase());
+    }
+
+    public Dataset seed(String organizationId, int points, int tests, int records) {
+        Flux.just(TestingPoint.class, QualityTest.class, DailyRecord.class)
+            .concatMap(template::dropCollection)
+            .blockLast();
+
+        List<TestingPoint> testingPoints = new ArrayList<>(points);
+        for (int i = 0; i < points; i++) {
+            TestingPoint point = new TestingPoint();
+            point.setOrganizationId(organizationId);
+            point.setPointCode(String.format("PR%03d", i + 1));
+            point.setPointName("Punto de muestreo " + i);
+            point.setPointType(POINT_TYPES[i % POINT_TYPES.length]);
+            point.setZoneId(String.format("ZN%04d", i % 12));
+            point.setLocationDescription("Cerca del tanque " + (i % 7));
+            point.setStreet("Calle " + (i % 40));
+            point.setCoordinates(new TestingPoint.Coordinates(
+                -12.0 - random.nextDouble() * 0.2, -77.0 - random.nextDouble() * 0.2));
+            point.setStatus(i % 5 == 0 ? "INACTIVE" : "ACTIVE");
+            point.setCreatedAt(LocalDateTime.now().minusDays(i % 365));
+            point.setUpdatedAt(point.getCreatedAt());
+            testingPoints.add(point);
+        }
+        List<String> pointIds = insert(testingPoints).stream().map(TestingPoint::getId).toList();
+
+        List<QualityTest> qualityTests = new ArrayList<>(tests);
+        for (int i = 0; i < tests; i++) {
+            QualityTest test = new QualityTest();
+            test.setOrganizationId(organizationId);
+            test.setTestCode(String.format("ANL%03d", i + 1));
+            test.setTestingPointId(List.of(pointIds.get(i % pointIds.size())));
+            test.setTestDate(LocalDateTime.now().minusHours(i));
+            test.setTestType(i % 2 == 0 ? "FISICOQUIMICO" : "BACTERIOLOGICO");
+            test.setTestedByUserId(UpstreamStubServer.adminId(i % UpstreamStubServer.ADMIN_COUNT));
+            test.setWeatherConditions("Soleado");
+            test.setWaterTemperature(18.0 + random.nextInt(10));
+            test.setGeneralObservations("Agua clara, sin olor");
+            test.setStatus("COMPLETED");
+            List<QualityTest.TestResult> results = new ArrayList<>(4);
+            for (int r = 0; r < 4; r++) {
+                results.add(new QualityTest.TestResult("PARAM" + r, "PARAM" + r, 6.5 + random.nextDouble() * 2,
+                    "pH", RESULT_STATUS[random.nextInt(RESULT_STATUS.length)], "Muestra " + r));
+            }
+            test.setResults(results);
+            test.setCreatedAt(test.getTestDate());
+            qualityTests.add(test);
+        }
+        List<String> testIds = insert(qualityTests).stream().map(QualityTest::getId).toList();
+
+        List<DailyRecord> dailyRecords = new ArrayList<>(records);
+        for (int i = 0; i < records; i++) {
+            DailyRecord record = new DailyRecord();
+            record.setOrganizationId(organizationId);
+            record.setRecordCode("CL" + (10000 + i));
+            record.setTestingPointIds(List.of(pointIds.get(i % pointIds.size())));
+            record.setRecordDate(LocalDateTime.now().minusMinutes(i * 30L));
+            record.setLevel(0.2 + random.nextDouble() * 1.8);
+            record.setAcceptable(record.getLevel() >= 0.5);
+            record.setActionRequired(record.getLevel() < 0.5);
+            record.setRecordedByUserId(UpstreamStubServer.adminId(i % UpstreamStubServer.ADMIN_COUNT));
+            record.setObservations("Lectura de rutina");
+            record.setAmount(0.5);
+            record.setRecordType(i % 3 == 0 ? "SULFATO" : "CLORO");
+            record.setCreatedAt(record.getRecordDate());
+            dailyRecords.add(record);
+        }
+        List<String> recordIds = insert(dailyRecords).stream().map(DailyRecord::getId).toList();
+
+        return new Dataset(pointIds, testIds, recordIds);
+    }
+
+    private <T> List<T> insert(List<T> documents) {
+        List<T> saved = new ArrayList<>(documents.size());
+        for (int from = 0; from < documents.size(); from += BATCH) {
+            List<T> batch = documents.subList(from, Math.min(from + BATCH, documents.size()));
+            saved.addAll(template.insertAll(batch).collectList().block());
+        }
+        return saved;
+    }
+
+    @Override
+    public void close() {
+        client.close();
+    }
+
+    public record Dataset(List<String> pointIds, List<String> testIds, List<String> recordIds) {
+    }
+}
@@ -0,0 +1,167 @@
+package pe.edu.vallegrande.ms_water_quality.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Generador de carga de lazo abierto: dispara peticiones a una tasa fija sin esperar
+ * respuestas, y mide la latencia desde el instante programado para no ocultar colas
+ * (coordinated omission).
+ */
+public class LoadDriver {
+
+    private static final String BASE_PATH = "/api/admin/quality";
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final String token;
+    private final Map<String, Supplier<HttpRequest.Builder>> endpoints = new LinkedHashMap<>();
+
+    public LoadDriver(String baseUrl, String token, DatasetSeeder.Dataset dataset, String organizationId) {
+        this.client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newFixedThreadPool(16))
+            .build();
+        this.baseUrl = baseUrl + BASE_PATH;
+        this.token = token;
+
+        endpoints.put("tests", () -> get("/tests"));
+        endpoints.put("daily-records", () -> get("/daily-records"));
+        endpoints.put("sampling-points", () -> get("/sampling-points"));
+        endpoints.put("test-detail", () -> get("/tests/" + pick(dataset.testIds())));
+        endpoints.put("record-detail", () -> get("/daily-records/" + pick(dataset.recordIds())));
+        endpoints.put("point-detail", () -> get("/sampling-points/" + pick(dataset.pointIds())));
+        endpoints.put("record-create", () -> request("/daily-records")
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString("{\"organization\":\"" + organizationId + "\","
+                + "\"testingPoints\":[\"" + pick(dataset.pointIds()) + "\"],"
+                + "\"recordDate\":\"" + LocalDateTime.now().withNano(0) + "\","
+                + "\"level\":1.2,\"acceptable\":true,\"actionRequired\":false,"
+                + "\"recordedByUser\":\"" + UpstreamStubServer.adminId(0) + "\","
+                + "\"observations\":\"loadtest\",\"amount\":0.5,\"recordType\":\"CLORO\"}")));
+    }
+
+    public Map<String, EndpointStats> run(Map<String, Integer> mix, int rps, Duration duration) {
+        List<String> wheel = new ArrayList<>();
+        Map<String, EndpointStats> stats = new LinkedHashMap<>();
+        mix.forEach((name, weight) -> {
+            if (!endpoints.containsKey(name)) {
+                throw new IllegalArgumentException("Endpoint desconocido en la mezcla: " + name
+                    + " (disponibles: " + endpoints.keySet() + ")");
+            }
+            stats.put(name, new EndpointStats());
+            for (int i = 0; i < weight; i++) {
+                wheel.add(name);
+            }
+        });
+
+        Phaser inFlight = new Phaser(1);
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(rps, 1);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        for (long i = 0; ; i++) {
+            long scheduled = start + i * intervalNanos;
+            if (scheduled >= end) {
+                break;
+            }
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            String name = wheel.get(ThreadLocalRandom.current().nextInt(wheel.size()));
+            EndpointStats endpointStats = stats.get(name);
+            inFlight.register();
+            client.sendAsync(endpoints.get(name).get().build(), HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    endpointStats.record(System.nanoTime() - scheduled,
+                        error == null && response.statusCode() < 400);
+                    inFlight.arriveAndDeregister();
+                });
+        }
+        try {
+            inFlight.awaitAdvanceInterruptibly(inFlight.arrive(), 60, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            System.err.println("Peticiones sin terminar al cerrar la ventana de medición: "
+                + inFlight.getUnarrivedParties());
+        }
+        long elapsed = System.nanoTime() - start;
+        stats.values().forEach(s -> s.elapsedNanos = elapsed);
+        return stats;
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return request(path).GET();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .timeout(Duration.ofSeconds(30))
+            .header("Authorization", "Bearer " + token)
+            .header("Accept", "application/json");
+    }
+
+    private static String pick(List<String> ids) {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    /**
+     * Latencias y errores de un endpoint durante la ventana de medición.
+     */
+    public static class EndpointStats {
+
+        private final ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        private final AtomicLong errors = new AtomicLong();
+        private long elapsedNanos;
+
+        void record(long latencyNanos, boolean success) {
+            latencies.add(latencyNanos);
+            if (!success) {
+                errors.incrementAndGet();
+            }
+        }
+
+        public Map<String, Object> summary() {
+            long[] sorted = latencies.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(sorted);
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("requests", sorted.length);
+            summary.put("errors", errors.get());
+            summary.put("throughputRps", round(sorted.length / (elapsedNanos / 1e9)));
+            summary.put("p50Ms", percentile(sorted, 0.50));
+            summary.put("p95Ms", percentile(sorted, 0.95));
+            summary.put("p99Ms", percentile(sorted, 0.99));
+            summary.put("maxMs", sorted.length == 0 ? 0.0 : round(sorted[sorted.length - 1] / 1e6));
+            return summary;
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0.0;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return round(sorted[Math.max(index, 0)] / 1e6);
+        }
+
+        private static double round(double value) {
+            return Math.round(value * 100.0) / 100.0;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package pe.edu.vallegrande.ms_water_quality.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import pe.edu.vallegrande.ms_water_quality.VgMsWaterQuality;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Prueba de carga extremo a extremo: levanta los dobles de ms-users/ms-organization/Keycloak,
+ * siembra MongoDB local, arranca el microservicio en el mismo proceso y lo somete a la
+ * tasa configurada. Imprime throughput y p50/p95/p99 por endpoint y los guarda en JSON.
+ */
+public final class LoadTestHarness {
+
+    private LoadTestHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.fromEnvironment();
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build()
+            .enable(SerializationFeature.INDENT_OUTPUT);
+
+        UpstreamStubServer stubs = new UpstreamStubServer(options.stubPort(), options.upstreamLatencyMs(),
+            options.upstreamJitterMs(), options.organizationId(), objectMapper);
+        stubs.start();
+
+        DatasetSeeder.Dataset dataset;
+        try (DatasetSeeder seeder = new DatasetSeeder(options.mongoUri())) {
+            System.out.printf("Sembrando %d puntos, %d pruebas y %d registros en %s%n",
+                options.points(), options.tests(), options.records(), options.mongoUri());
+            dataset = seeder.seed(options.organizationId(), options.points(), options.tests(), options.records());
+        }
+
+        // Como argumentos de línea de comandos para que prevalezcan sobre application.yml
+        ConfigurableApplicationContext app = new SpringApplicationBuilder(VgMsWaterQuality.class)
+            .run(
+                "--server.port=" + options.appPort(),
+                "--spring.data.mongodb.uri=" + options.mongoUri(),
+                "--spring.security.oauth2.resourceserver.jwt.issuer-uri=" + stubs.issuer().issuer(),
+                "--spring.security.oauth2.resourceserver.jwt.jwk-set-uri=" + stubs.issuer().jwksUri(),
+                "--user-service.base-url=" + stubs.userServiceUrl(),
+                "--organization-service.base-url=" + stubs.organizationServiceUrl(),
+                "--organization-service.token=loadtest",
+                "--spring.main.lazy-initialization=false");
+
+        try {
+            String token = stubs.issuer().issueAdminToken("loadtest-admin", options.organizationId(),
+                options.warmup().plus(options.duration()).getSeconds() + 600);
+            LoadDriver driver = new LoadDriver("http://127.0.0.1:" + options.appPort(), token, dataset,
+                options.organizationId());
+
+            System.out.printf("Calentamiento: %ds a %d rps%n", options.warmup().getSeconds(), options.rps());
+            driver.run(options.mix(), options.rps(), options.warmup());
+
+            System.out.printf("Medición: %ds a %d rps, latencia upstream %d±%d ms%n",
+                options.duration().getSeconds(), options.rps(), options.upstreamLatencyMs(), options.upstreamJitterMs());
+            long upstreamBefore = stubs.upstreamCalls();
+            Map<String, LoadDriver.EndpointStats> stats = driver.run(options.mix(), options.rps(), options.duration());
+
+            Map<String, Object> endpoints = new LinkedHashMap<>();
+            System.out.printf("%n%-16s %9s %7s %10s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "rps", "p50 ms", "p95 ms", "p99 ms", "max ms");
+            stats.forEach((name, endpointStats) -> {
+                Map<String, Object> summary = endpointStats.summary();
+                endpoints.put(name, summary);
+                System.out.printf("%-16s %9s %7s %10s %9s %9s %9s %9s%n", name,
+                    summary.get("requests"), summary.get("errors"), summary.get("throughputRps"),
+                    summary.get("p50Ms"), summary.get("p95Ms"), summary.get("p99Ms"), summary.get("maxMs"));
+            });
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("targetRps", options.rps());
+            report.put("durationSeconds", options.duration().getSeconds());
+            report.put("upstreamLatencyMs", options.upstreamLatencyMs());
+            report.put("upstreamJitterMs", options.upstreamJitterMs());
+            report.put("dataset", Map.of("points", options.points(), "tests", options.tests(),
+                "records", options.records()));
+            report.put("upstreamCalls", stubs.upstreamCalls() - upstreamBefore);
+            report.put("endpoints", endpoints);
+            File output = new File(options.report());
+            if (output.getParentFile() != null) {
+                output.getParentFile().mkdirs();
+            }
+            objectMapper.writeValue(output, report);
+            System.out.println("\nReporte: " + output.getAbsolutePath());
+        } finally {
+            app.close();
+            stubs.stop();
+        }
+        System.exit(0);
+    }
+}
@@ -0,0 +1,65 @@
+package pe.edu.vallegrande.ms_water_quality.loadtest;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Opciones del harness. Cada clave se lee de {@code -Dloadtest.<clave>} o de la variable
+ * de entorno {@code LOADTEST_<CLAVE>} (útil con {@code exec:exec}, que hereda el entorno).
+ */
+public record LoadTestOptions(
+        String mongoUri,
+        int appPort,
+        int stubPort,
+        int upstreamLatencyMs,
+        int upstreamJitterMs,
+        int points,
+        int tests,
+        int records,
+        int rps,
+        Duration warmup,
+        Duration duration,
+        Map<String, Integer> mix,
+        String organizationId,
+        String report) {
+
+    public static final String DEFAULT_MIX =
+        "tests:3,daily-records:3,sampling-points:2,test-detail:4,record-detail:4,point-detail:4,record-create:1";
+
+    public static LoadTestOptions fromEnvironment() {
+        return new LoadTestOptions(
+            option("mongo-uri", "mongodb://localhost:27017/JASS_LOADTEST"),
+            Integer.parseInt(option("app-port", "18087")),
+            Integer.parseInt(option("stub-port", "18090")),
+            Integer.parseInt(option("upstream-latency-ms", "40")),
+            Integer.parseInt(option("upstream-jitter-ms", "20")),
+            Integer.parseInt(option("points", "200")),
+            Integer.parseInt(option("tests", "2000")),
+            Integer.parseInt(option("records", "5000")),
+            Integer.parseInt(option("rps", "50")),
+            Duration.ofSeconds(Long.parseLong(option("warmup-seconds", "10"))),
+            Duration.ofSeconds(Long.parseLong(option("duration-seconds", "60"))),
+            parseMix(option("mix", DEFAULT_MIX)),
+            option("organization-id", "6896b2ecf3e398570ffd99d3"),
+            option("report", "target/loadtest-report.json"));
+    }
+
+    private static String option(String key, String defaultValue) {
+        String value = System.getProperty("loadtest." + key);
+        if (value == null) {
+            value = System.getenv("LOADTEST_" + key.replace('-', '_').toUpperCase(Locale.ROOT));
+        }
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+
+    private static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            weights.put(parts[0].trim(), parts.length > 1 ? Integer.parseInt(parts[1].trim()) : 1);
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,72 @@
+package pe.edu.vallegrande.ms_water_quality.loadtest;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Emisor JWT local que imita el realm de Keycloak: publica el documento de descubrimiento
+ * y el JWKS, y firma tokens con rol ADMIN para el harness.
+ */
+public class LocalJwkIssuer {
+
+    private final String issuer;
+    private final RSAKey key;
+
+    public LocalJwkIssuer(String issuer) {
+        this.issuer = issuer;
+        try {
+            this.key = new RSAKeyGenerator(2048).keyID(UUID.randomUUID().toString()).generate();
+        } catch (JOSEException e) {
+            throw new IllegalStateException("No se pudo generar la llave RSA", e);
+        }
+    }
+
+    public String issuer() {
+        return issuer;
+    }
+
+    public String jwksUri() {
+        return issuer + "/protocol/openid-connect/certs";
+    }
+
+    public String discoveryDocument() {
+        return "{\"issuer\":\"" + issuer + "\",\"jwks_uri\":\"" + jwksUri() + "\"}";
+    }
+
+    public String jwks() {
+        return new JWKSet(key.toPublicJWK()).toString();
+    }
+
+    public String issueAdminToken(String subject, String organizationId, long ttlSeconds) {
+        Instant now = Instant.now();
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+            .issuer(issuer)
+            .subject(subject)
+            .issueTime(Date.from(now))
+            .expirationTime(Date.from(now.plusSeconds(ttlSeconds)))
+            .claim("realm_access", Map.of("roles", List.of("admin")))
+            .claim("organizationId", organizationId)
+            .build();
+        try {
+            SignedJWT jwt = new SignedJWT(
+                new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(key.getKeyID()).build(), claims);
+            jwt.sign(new RSASSASigner(key));
+            return jwt.serialize();
+        } catch (JOSEException e) {
+            throw new IllegalStateException("No se pudo firmar el token", e);
+        }
+    }
+}
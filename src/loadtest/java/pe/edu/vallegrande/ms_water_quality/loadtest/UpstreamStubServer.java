@@ -0,0 +1,149 @@
+package pe.edu.vallegrande.ms_water_quality.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.client.dto.ExternalOrganization;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.client.dto.ExternalUser;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.client.dto.ExternalZone;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.client.dto.UserApiResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Servidor HTTP local que reemplaza a ms-users, ms-organization y al realm de Keycloak.
+ * Las rutas de ms-users y ms-organization responden con una latencia configurable.
+ */
+public class UpstreamStubServer {
+
+    public static final int ADMIN_COUNT = 5;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final LocalJwkIssuer issuer;
+    private final int latencyMs;
+    private final int jitterMs;
+    private final byte[] adminsBody;
+    private final AtomicLong upstreamCalls = new AtomicLong();
+
+    public UpstreamStubServer(int port, int latencyMs, int jitterMs, String organizationId, ObjectMapper objectMapper)
+            throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 512);
+        this.executor = Executors.newFixedThreadPool(128);
+        this.issuer = new LocalJwkIssuer("http://127.0.0.1:" + port + "/realms/loadtest");
+        this.latencyMs = latencyMs;
+        this.jitterMs = jitterMs;
+
+        UserApiResponse admins = new UserApiResponse();
+        admins.setSuccess(true);
+        admins.setMessage("OK");
+        admins.setData(admins(organizationId));
+        this.adminsBody = objectMapper.writeValueAsBytes(admins);
+
+        server.createContext("/realms/loadtest/.well-known/openid-configuration",
+            exchange -> respond(exchange, 200, issuer.discoveryDocument().getBytes(StandardCharsets.UTF_8)));
+        server.createContext("/realms/loadtest/protocol/openid-connect/certs",
+            exchange -> respond(exchange, 200, issuer.jwks().getBytes(StandardCharsets.UTF_8)));
+        server.createContext("/users/internal/organizations/", exchange -> {
+            delay();
+            respond(exchange, 200, adminsBody);
+        });
+        server.createContext("/users/api/users/", exchange -> {
+            delay();
+            respond(exchange, 404, "{\"status\":false}".getBytes(StandardCharsets.UTF_8));
+        });
+        server.createContext("/organizations/", exchange -> {
+            delay();
+            respond(exchange, 404, "{\"status\":false}".getBytes(StandardCharsets.UTF_8));
+        });
+        server.setExecutor(executor);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    public LocalJwkIssuer issuer() {
+        return issuer;
+    }
+
+    public String userServiceUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/users";
+    }
+
+    public String organizationServiceUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/organizations";
+    }
+
+    public long upstreamCalls() {
+        return upstreamCalls.get();
+    }
+
+    public static String adminId(int index) {
+        return String.format("us%022d", index);
+    }
+
+    private void delay() {
+        upstreamCalls.incrementAndGet();
+        int wait = latencyMs + (jitterMs > 0 ? ThreadLocalRandom.current().nextInt(jitterMs + 1) : 0);
+        if (wait <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(wait);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static List<ExternalUser> admins(String organizationId) {
+        ExternalOrganization organization = new ExternalOrganization();
+        organization.setOrganizationId(organizationId);
+        organization.setOrganizationCode("ORG0001");
+        organization.setOrganizationName("JASS Prueba de Carga");
+        organization.setStatus("ACTIVE");
+
+        List<ExternalUser> users = new ArrayList<>(ADMIN_COUNT);
+        for (int i = 0; i < ADMIN_COUNT; i++) {
+            ExternalZone zone = new ExternalZone();
+            zone.setZoneId("ZN" + String.format("%04d", i));
+            zone.setZoneName("Zona " + i);
+            zone.setStatus("ACTIVE");
+
+            ExternalUser user = new ExternalUser();
+            user.setId(adminId(i));
+            user.setUserCode("USR" + String.format("%04d", i));
+            user.setFirstName("Nombre" + i);
+            user.setLastName("Apellido" + i);
+            user.setEmail("admin" + i + "@jass.pe");
+            user.setRoles(List.of("ADMIN"));
+            user.setStatus("ACTIVE");
+            user.setOrganization(organization);
+            user.setZone(zone);
+            users.add(user);
+        }
+        return users;
+    }
+}
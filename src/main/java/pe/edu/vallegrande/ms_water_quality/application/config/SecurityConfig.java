@@ -1,6 +1,8 @@
 package pe.edu.vallegrande.ms_water_quality.application.config;
 
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.convert.converter.Converter;
@@ -13,6 +15,9 @@ import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 import org.springframework.security.oauth2.server.resource.authentication.ReactiveJwtAuthenticationConverterAdapter;
 import org.springframework.security.web.server.SecurityWebFilterChain;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.security.CachingJwtAuthenticationConverter;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.security.TenantAuthenticationToken;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.security.VerifiedTokenCache;
 import reactor.core.publisher.Mono;
 
 import java.util.Collection;
@@ -24,16 +29,25 @@ import java.util.stream.Collectors;
 @EnableReactiveMethodSecurity
 public class SecurityConfig {
 
+    @Value("${security.jwt.organization-claim:organizationId}")
+    private String organizationClaim;
+
     @Bean
-    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http,
+                                                         ObjectProvider<VerifiedTokenCache> tokenCache) {
+        Converter<Jwt, Mono<AbstractAuthenticationToken>> authenticationConverter = tokenCache.getIfAvailable() != null
+                ? new CachingJwtAuthenticationConverter(grantedAuthoritiesExtractor(), tokenCache.getIfAvailable())
+                : grantedAuthoritiesExtractor();
         http
             .csrf(ServerHttpSecurity.CsrfSpec::disable)
             .authorizeExchange(exchange -> exchange
                 .pathMatchers("/swagger-ui.html", "/v3/api-docs/", "/swagger-ui/").permitAll()
+                .pathMatchers("/actuator/health", "/actuator/prometheus").permitAll()
+                .pathMatchers("/ws/**").hasRole("ADMIN")
                 .anyExchange().authenticated()
             )
             .oauth2ResourceServer(oauth2 -> oauth2
-                .jwt(jwt -> jwt.jwtAuthenticationConverter(grantedAuthoritiesExtractor()))
+                .jwt(jwt -> jwt.jwtAuthenticationConverter(authenticationConverter))
             );
         return http.build();
     }
@@ -50,7 +64,11 @@ public class SecurityConfig {
                     .map(SimpleGrantedAuthority::new)
                     .collect(Collectors.toList());
         });
-        return new ReactiveJwtAuthenticationConverterAdapter(converter);
+        ReactiveJwtAuthenticationConverterAdapter adapter = new ReactiveJwtAuthenticationConverterAdapter(converter);
+        // La organización se resuelve una sola vez por token y viaja en la autenticación
+        return jwt -> adapter.convert(jwt).map(authentication -> new TenantAuthenticationToken(
+                jwt, authentication.getAuthorities(), authentication.getName(),
+                TenantAuthenticationToken.resolveOrganizationId(jwt, organizationClaim)));
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,10 @@
+package pe.edu.vallegrande.ms_water_quality.application.services;
+
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.ArchiveStatsResponse;
+import reactor.core.publisher.Mono;
+
+public interface ArchiveService {
+
+    // Tamaño de la colección viva frente a los buckets históricos
+    Mono<ArchiveStatsResponse> getStats();
+}
@@ -1,26 +1,37 @@
 package pe.edu.vallegrande.ms_water_quality.application.services;
 
 import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.request.DailyRecordCreateRequest;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.DailyRecordIngestResponse;
 import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.enriched.DailyRecordEnrichedResponse;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.normalized.NormalizedResponse;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.normalized.DailyRecordNormalizedResponse;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 public interface DailyRecordService {
     Flux<DailyRecordEnrichedResponse> getAll();
 
+    // Forma normalizada: IDs en cada elemento y entidades relacionadas una vez en included
+    Mono<NormalizedResponse<DailyRecordNormalizedResponse>> getAllNormalized();
+
     Mono<DailyRecordEnrichedResponse> getById(String id);
 
     Mono<DailyRecordEnrichedResponse> save(DailyRecordCreateRequest request);
 
-    Mono<DailyRecordEnrichedResponse> update(String id, DailyRecordCreateRequest request);
+    // Ingesta por lotes: responde al encolar, o al escribir el lote si waitForWrite
+    Mono<DailyRecordIngestResponse> ingest(DailyRecordCreateRequest request, boolean waitForWrite);
+
+    // expectedVersion viene de If-Match; null = sin control de versión
+    Mono<DailyRecordEnrichedResponse> update(String id, DailyRecordCreateRequest request, Long expectedVersion);
 
-    Mono<Void> delete(String id);
+    Mono<Void> delete(String id, Long expectedVersion);
 
-    Mono<Void> deletePhysically(String id);
+    Mono<Void> deletePhysically(String id, Long expectedVersion);
 
-    Mono<DailyRecordEnrichedResponse> restore(String id);
+    Mono<DailyRecordEnrichedResponse> restore(String id, Long expectedVersion);
     
     // Organization-based methods
     Flux<DailyRecordEnrichedResponse> getAllByOrganization(String organizationId);
+    Mono<NormalizedResponse<DailyRecordNormalizedResponse>> getAllNormalizedByOrganization(String organizationId);
     Mono<DailyRecordEnrichedResponse> getByIdAndOrganization(String id, String organizationId);
 }
\ No newline at end of file
@@ -3,25 +3,38 @@ package pe.edu.vallegrande.ms_water_quality.application.services;
 import pe.edu.vallegrande.ms_water_quality.domain.models.QualityTest;
 import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.request.QualityTestCreateRequest;
 import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.enriched.QualityTestEnrichedResponse;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.normalized.NormalizedResponse;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.normalized.QualityTestNormalizedResponse;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
+
 public interface QualityTestService {
     Flux<QualityTestEnrichedResponse> getAll();
 
+    // Forma normalizada: IDs en cada elemento y entidades relacionadas una vez en included
+    Mono<NormalizedResponse<QualityTestNormalizedResponse>> getAllNormalized();
+
     Mono<QualityTestEnrichedResponse> getById(String id);
 
+    // Rango de fechas de testDate: mezcla los análisis vivos con los archivados en buckets
+    Flux<QualityTestEnrichedResponse> getByDateRange(LocalDateTime from, LocalDateTime to);
+
     Mono<QualityTestEnrichedResponse> save(QualityTestCreateRequest request);
 
-    Mono<QualityTestEnrichedResponse> update(String id, QualityTestCreateRequest request);
+    // expectedVersion viene de If-Match; null = sin control de versión
+    Mono<QualityTestEnrichedResponse> update(String id, QualityTestCreateRequest request, Long expectedVersion);
 
-    Mono<Void> delete(String id);
+    Mono<Void> delete(String id, Long expectedVersion);
 
-    Mono<Void> deletePhysically(String id);
+    Mono<Void> deletePhysically(String id, Long expectedVersion);
 
-    Mono<QualityTestEnrichedResponse> restore(String id);
+    Mono<QualityTestEnrichedResponse> restore(String id, Long expectedVersion);
     
     // Organization-based methods
     Flux<QualityTestEnrichedResponse> getAllByOrganization(String organizationId);
+    Mono<NormalizedResponse<QualityTestNormalizedResponse>> getAllNormalizedByOrganization(String organizationId);
     Mono<QualityTestEnrichedResponse> getByIdAndOrganization(String id, String organizationId);
+    Flux<QualityTestEnrichedResponse> getByDateRangeAndOrganization(String organizationId, LocalDateTime from, LocalDateTime to);
 }
\ No newline at end of file
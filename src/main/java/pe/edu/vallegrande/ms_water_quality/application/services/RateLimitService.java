@@ -0,0 +1,10 @@
+package pe.edu.vallegrande.ms_water_quality.application.services;
+
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.request.RateLimitUpdateRequest;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.RateLimitResponse;
+import reactor.core.publisher.Mono;
+
+public interface RateLimitService {
+    Mono<RateLimitResponse> getLimits();
+    Mono<RateLimitResponse> updateLimits(RateLimitUpdateRequest request);
+}
@@ -0,0 +1,17 @@
+package pe.edu.vallegrande.ms_water_quality.application.services;
+
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.PointSuggestionResponse;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.SearchResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Set;
+
+public interface SearchService {
+
+    // Búsqueda de texto en puntos, análisis y registros diarios ("points", "tests", "records")
+    Mono<SearchResponse> search(String query, Set<String> types, int limit);
+
+    // Sugerencias de puntos por prefijo de código o nombre
+    Mono<List<PointSuggestionResponse>> suggest(String prefix, int limit);
+}
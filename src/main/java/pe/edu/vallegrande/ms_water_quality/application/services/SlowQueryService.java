@@ -0,0 +1,8 @@
+package pe.edu.vallegrande.ms_water_quality.application.services;
+
+import pe.edu.vallegrande.ms_water_quality.domain.models.SlowQuery;
+import reactor.core.publisher.Flux;
+
+public interface SlowQueryService {
+    Flux<SlowQuery> getRecent(int limit, String collection);
+}
@@ -0,0 +1,10 @@
+package pe.edu.vallegrande.ms_water_quality.application.services;
+
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.SyncResponse;
+import reactor.core.publisher.Mono;
+
+public interface SyncService {
+
+    // Cambios de la organización desde el token (sin token, sincronización completa)
+    Mono<SyncResponse> changes(String token, int limit);
+}
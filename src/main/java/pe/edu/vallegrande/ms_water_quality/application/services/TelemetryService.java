@@ -0,0 +1,17 @@
+package pe.edu.vallegrande.ms_water_quality.application.services;
+
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.request.TelemetryReading;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.TelemetryAck;
+import reactor.core.publisher.Mono;
+
+public interface TelemetryService {
+
+    // Abre una sesión de telemetría (una por conexión) para la organización y el usuario del token
+    Session open(String organizationId, String userId);
+
+    interface Session {
+
+        // Vacío si la lectura se descartó por submuestreo o banda muerta
+        Mono<TelemetryAck> accept(TelemetryReading reading);
+    }
+}
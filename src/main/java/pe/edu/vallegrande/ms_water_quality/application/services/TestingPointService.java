@@ -2,6 +2,8 @@ package pe.edu.vallegrande.ms_water_quality.application.services;
 
 import pe.edu.vallegrande.ms_water_quality.domain.models.TestingPoint;
 import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.request.TestingPointCreateRequest;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.MapViewportResponse;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.TestingPointNearbyResponse;
 import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.TestingPointResponse;
 import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.enriched.TestingPointEnrichedResponse;
 import reactor.core.publisher.Flux;
@@ -19,17 +21,27 @@ public interface TestingPointService {
 
     Mono<TestingPointResponse> save(TestingPointCreateRequest request);
 
-    Mono<TestingPoint> update(String id, TestingPoint point);
+    // expectedVersion viene de If-Match; null = sin control de versión
+    Mono<TestingPoint> update(String id, TestingPoint point, Long expectedVersion);
 
-    Mono<Void> delete(String id);
+    Mono<Void> delete(String id, Long expectedVersion);
 
-    Mono<TestingPointEnrichedResponse> activate(String id);
+    Mono<TestingPointEnrichedResponse> activate(String id, Long expectedVersion);
 
-    Mono<TestingPointEnrichedResponse> deactivate(String id);
+    Mono<TestingPointEnrichedResponse> deactivate(String id, Long expectedVersion);
     
     // Organization-based methods
     Flux<TestingPointEnrichedResponse> getAllByOrganization(String organizationId);
     Flux<TestingPointEnrichedResponse> getAllActiveByOrganization(String organizationId);
     Flux<TestingPointEnrichedResponse> getAllInactiveByOrganization(String organizationId);
     Mono<TestingPointEnrichedResponse> getByIdAndOrganization(String id, String organizationId);
+
+    // Geospatial queries, ordered by distance
+    Flux<TestingPointNearbyResponse> getWithinRadius(double latitude, double longitude, double radiusMeters,
+                                                     String pointType, String status);
+    Flux<TestingPointNearbyResponse> getNearest(double latitude, double longitude, int k,
+                                                String pointType, String status);
+
+    // Map viewport: clusters at low zoom, individual points at high zoom
+    Mono<MapViewportResponse> getViewport(double south, double west, double north, double east, int zoom);
 }
\ No newline at end of file
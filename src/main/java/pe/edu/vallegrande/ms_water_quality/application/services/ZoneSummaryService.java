@@ -0,0 +1,12 @@
+package pe.edu.vallegrande.ms_water_quality.application.services;
+
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.ZoneSummaryResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ZoneSummaryService {
+
+    Flux<ZoneSummaryResponse> getAll();
+
+    Mono<ZoneSummaryResponse> getByZone(String zoneId);
+}
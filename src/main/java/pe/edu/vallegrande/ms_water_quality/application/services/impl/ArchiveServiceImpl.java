@@ -0,0 +1,75 @@
+package pe.edu.vallegrande.ms_water_quality.application.services.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Service;
+import pe.edu.vallegrande.ms_water_quality.application.services.ArchiveService;
+import pe.edu.vallegrande.ms_water_quality.domain.models.QualityTest;
+import pe.edu.vallegrande.ms_water_quality.domain.models.QualityTestBucket;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.archive.QualityTestArchiver;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.ArchiveStatsResponse;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.mongo.ReadRouting;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.mongo.ReadTarget;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class ArchiveServiceImpl implements ArchiveService {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final QualityTestArchiver qualityTestArchiver;
+    private final ReadRouting readRouting;
+
+    @Override
+    public Mono<ArchiveStatsResponse> getStats() {
+        String bucketCollection = mongoTemplate.getCollectionName(QualityTestBucket.class);
+        List<Document> totals = List.of(new Document("$group", new Document("_id", null)
+            .append("tests", new Document("$sum", "$count"))
+            .append("raw", new Document("$sum", "$resultsRawBytes"))
+            .append("stored", new Document("$sum", new Document("$binarySize", "$results")))));
+        Mono<Document> bucketTotals = readRouting.route(ReadTarget.ANALYTICS, mongoTemplate.getCollection(bucketCollection)
+                .flatMap(collection -> Flux.from(collection.aggregate(totals)).next()))
+            .defaultIfEmpty(new Document());
+
+        return Mono.zip(collectionStats(mongoTemplate.getCollectionName(QualityTest.class)),
+                collectionStats(bucketCollection), bucketTotals)
+            .map(tuple -> {
+                long raw = number(tuple.getT3(), "raw");
+                long stored = number(tuple.getT3(), "stored");
+                return ArchiveStatsResponse.builder()
+                    .liveTests(tuple.getT1())
+                    .buckets(tuple.getT2())
+                    .archivedTests(number(tuple.getT3(), "tests"))
+                    .resultsRawBytes(raw)
+                    .resultsStoredBytes(stored)
+                    .resultsCompressionRatio(stored > 0 ? Math.round(raw * 100.0 / stored) / 100.0 : 0)
+                    .archivedSinceStartup(qualityTestArchiver.archived())
+                    .skippedSinceStartup(qualityTestArchiver.skipped())
+                    .build();
+            });
+    }
+
+    private Mono<ArchiveStatsResponse.CollectionStats> collectionStats(String collection) {
+        // runCommand ignora la preferencia de la base de datos: se pasa explícita
+        Mono<Document> command = mongoTemplate.executeCommand(new Document("collStats", collection),
+            readRouting.preference(ReadTarget.ANALYTICS));
+        return readRouting.route(ReadTarget.ANALYTICS, command)
+            .map(stats -> ArchiveStatsResponse.CollectionStats.builder()
+                .collection(collection)
+                .count(number(stats, "count"))
+                .sizeBytes(number(stats, "size"))
+                .storageBytes(number(stats, "storageSize"))
+                .indexBytes(number(stats, "totalIndexSize"))
+                .avgObjectBytes(number(stats, "avgObjSize"))
+                .build());
+    }
+
+    private static long number(Document document, String key) {
+        Object value = document.get(key);
+        return value instanceof Number number ? number.longValue() : 0L;
+    }
+}
@@ -1,17 +1,28 @@
 package pe.edu.vallegrande.ms_water_quality.application.services.impl;
 
 import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import pe.edu.vallegrande.ms_water_quality.application.services.DailyRecordService;
 import pe.edu.vallegrande.ms_water_quality.domain.models.DailyRecord;
 import pe.edu.vallegrande.ms_water_quality.domain.models.TestingPoint;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.cache.ZoneSummaryCache;
 import pe.edu.vallegrande.ms_water_quality.infrastructure.client.dto.ExternalUser;
 import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.request.DailyRecordCreateRequest;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.DailyRecordIngestResponse;
 import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.enriched.DailyRecordEnrichedResponse;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.normalized.DailyRecordNormalizedResponse;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.normalized.NormalizedResponse;
 import pe.edu.vallegrande.ms_water_quality.infrastructure.exception.CustomException;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.ingest.WriteBehindBuffer;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.mongo.MongoConcurrency;
 import pe.edu.vallegrande.ms_water_quality.infrastructure.repository.DailyRecordRepository;
 import pe.edu.vallegrande.ms_water_quality.infrastructure.repository.TestingPointRepository;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.security.TenantContext;
 import pe.edu.vallegrande.ms_water_quality.infrastructure.service.ExternalServiceClient;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.sync.SyncTombstones;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.timing.ServerTiming;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -26,6 +37,10 @@ public class DailyRecordServiceImpl implements DailyRecordService {
     private final DailyRecordRepository dailyRecordRepository;
     private final TestingPointRepository testingPointRepository;
     private final ExternalServiceClient externalServiceClient;
+    private final MongoConcurrency mongoConcurrency;
+    private final ZoneSummaryCache zoneSummaryCache;
+    private final WriteBehindBuffer<DailyRecord> dailyRecordIngestBuffer;
+    private final SyncTombstones syncTombstones;
 
     @Override
     public Flux<DailyRecordEnrichedResponse> getAll() {
@@ -33,6 +48,12 @@ public class DailyRecordServiceImpl implements DailyRecordService {
             .flatMapMany(this::getAllByOrganization);
     }
 
+    @Override
+    public Mono<NormalizedResponse<DailyRecordNormalizedResponse>> getAllNormalized() {
+        return getCurrentUserOrganizationId()
+            .flatMap(this::getAllNormalizedByOrganization);
+    }
+
     @Override
     public Mono<DailyRecordEnrichedResponse> getById(String id) {
         return getCurrentUserOrganizationId()
@@ -41,8 +62,34 @@ public class DailyRecordServiceImpl implements DailyRecordService {
 
     @Override
     public Mono<DailyRecordEnrichedResponse> save(DailyRecordCreateRequest request) {
+        return TenantContext.requireOrganization(request.getOrganizationId())
+            .flatMap(orgId -> saveForOrganization(orgId, request));
+    }
+
+    @Override
+    public Mono<DailyRecordIngestResponse> ingest(DailyRecordCreateRequest request, boolean waitForWrite) {
+        return TenantContext.requireOrganization(request.getOrganizationId())
+            .flatMap(orgId -> {
+                DailyRecord dailyRecord = newRecord(orgId, request);
+                // El id y la versión se fijan aquí porque el insert bulk no los completa
+                dailyRecord.setId(new ObjectId().toHexString());
+                dailyRecord.setVersion(0L);
+                Mono<DailyRecord> written = dailyRecordIngestBuffer.enqueue(dailyRecord);
+                return waitForWrite
+                    ? written.map(record -> ingestResponse(record, "STORED"))
+                    : Mono.just(ingestResponse(dailyRecord, "QUEUED"));
+            });
+    }
+
+    private Mono<DailyRecordEnrichedResponse> saveForOrganization(String organizationId, DailyRecordCreateRequest request) {
+        return dailyRecordRepository.save(newRecord(organizationId, request))
+            .doOnNext(this::invalidateZoneSummaries)
+            .flatMap(this::enrichDailyRecord);
+    }
+
+    private DailyRecord newRecord(String organizationId, DailyRecordCreateRequest request) {
         DailyRecord dailyRecord = new DailyRecord();
-        dailyRecord.setOrganizationId(request.getOrganizationId());
+        dailyRecord.setOrganizationId(organizationId);
         
         if (request.getRecordCode() != null && !request.getRecordCode().trim().isEmpty()) {
             dailyRecord.setRecordCode(request.getRecordCode());
@@ -61,70 +108,74 @@ public class DailyRecordServiceImpl implements DailyRecordService {
         dailyRecord.setAmount(request.getAmount());
         dailyRecord.setRecordType(request.getRecordType());
         dailyRecord.setCreatedAt(LocalDateTime.now());
-        
-        return dailyRecordRepository.save(dailyRecord)
-            .flatMap(this::enrichDailyRecord);
+        dailyRecord.setUpdatedAt(dailyRecord.getCreatedAt());
+        return dailyRecord;
+    }
+
+    private static DailyRecordIngestResponse ingestResponse(DailyRecord record, String status) {
+        return new DailyRecordIngestResponse(record.getId(), record.getRecordCode(), status);
     }
 
     @Override
-    public Mono<DailyRecordEnrichedResponse> update(String id, DailyRecordCreateRequest request) {
-        return dailyRecordRepository.findById(id)
+    public Mono<DailyRecordEnrichedResponse> update(String id, DailyRecordCreateRequest request, Long expectedVersion) {
+        Update update = new Update()
+            .set("testingPointIds", request.getTestingPointIds() != null ?
+                request.getTestingPointIds() : Collections.emptyList())
+            .set("recordCode", request.getRecordCode())
+            .set("recordDate", request.getRecordDate())
+            .set("level", request.getLevel())
+            .set("acceptable", request.isAcceptable())
+            .set("actionRequired", request.isActionRequired())
+            .set("recordedByUserId", request.getRecordedByUserId())
+            .set("observations", request.getObservations())
+            .set("amount", request.getAmount())
+            .set("recordType", request.getRecordType())
+            .set("updatedAt", LocalDateTime.now());
+
+        return TenantContext.requireOrganization(request.getOrganizationId())
+            .flatMap(orgId -> dailyRecordRepository.updateAtomically(id, orgId, expectedVersion, update))
             .switchIfEmpty(Mono.error(CustomException.notFound("DailyRecord", id)))
-            .flatMap(record -> {
-                record.setOrganizationId(request.getOrganizationId());
-                record.setTestingPointIds(request.getTestingPointIds() != null ? 
-                    request.getTestingPointIds() : Collections.emptyList());
-                record.setRecordCode(request.getRecordCode());
-                record.setRecordDate(request.getRecordDate());
-                record.setLevel(request.getLevel());
-                record.setAcceptable(request.isAcceptable());
-                record.setActionRequired(request.isActionRequired());
-                record.setRecordedByUserId(request.getRecordedByUserId());
-                record.setObservations(request.getObservations());
-                record.setAmount(request.getAmount());
-                record.setRecordType(request.getRecordType());
-                return dailyRecordRepository.save(record);
-            })
+            .doOnNext(this::invalidateZoneSummaries)
             .flatMap(this::enrichDailyRecord);
     }
 
     @Override
-    public Mono<Void> delete(String id) {
-        return dailyRecordRepository.findById(id)
-            .switchIfEmpty(Mono.error(CustomException.notFound("DailyRecord", id)))
-            .flatMap(record -> {
-                record.setDeletedAt(LocalDateTime.now());
-                return dailyRecordRepository.save(record);
-            })
+    public Mono<Void> delete(String id, Long expectedVersion) {
+        return updateInCurrentOrganization(id, expectedVersion, Update.update("deletedAt", LocalDateTime.now()))
             .then();
     }
 
     @Override
-    public Mono<Void> deletePhysically(String id) {
-        return dailyRecordRepository.deleteById(id);
+    public Mono<Void> deletePhysically(String id, Long expectedVersion) {
+        return getCurrentUserOrganizationId()
+            .flatMap(orgId -> dailyRecordRepository.removeAtomically(id, orgId, expectedVersion))
+            .switchIfEmpty(Mono.error(CustomException.notFound("DailyRecord", id)))
+            .doOnNext(this::invalidateZoneSummaries)
+            .flatMap(record -> syncTombstones.record(DailyRecord.class, record.getOrganizationId(), record.getId()));
     }
 
     @Override
-    public Mono<DailyRecordEnrichedResponse> restore(String id) {
-        return dailyRecordRepository.findById(id)
-            .switchIfEmpty(Mono.error(CustomException.notFound("DailyRecord", id)))
-            .flatMap(record -> {
-                record.setDeletedAt(null);
-                return dailyRecordRepository.save(record);
-            })
+    public Mono<DailyRecordEnrichedResponse> restore(String id, Long expectedVersion) {
+        return updateInCurrentOrganization(id, expectedVersion, new Update().unset("deletedAt"))
             .flatMap(this::enrichDailyRecord);
     }
 
     @Override
     public Flux<DailyRecordEnrichedResponse> getAllByOrganization(String organizationId) {
         return dailyRecordRepository.findAllByOrganizationId(organizationId)
-            .flatMap(this::enrichDailyRecord);
+            .flatMap(this::enrichDailyRecord, mongoConcurrency.getEnrichmentConcurrency());
+    }
+
+    @Override
+    public Mono<NormalizedResponse<DailyRecordNormalizedResponse>> getAllNormalizedByOrganization(String organizationId) {
+        return Sideloading.assemble(organizationId, dailyRecordRepository.streamAllByOrganizationId(organizationId),
+            DailyRecordServiceImpl::toNormalized, DailyRecord::getTestingPointIds, DailyRecord::getRecordedByUserId,
+            testingPointRepository, externalServiceClient);
     }
 
     @Override
     public Mono<DailyRecordEnrichedResponse> getByIdAndOrganization(String id, String organizationId) {
-        return dailyRecordRepository.findById(id)
-            .filter(record -> record.getOrganizationId().equals(organizationId))
+        return dailyRecordRepository.findByIdAndOrganizationId(id, organizationId)
             .flatMap(this::enrichDailyRecord)
             .switchIfEmpty(Mono.error(CustomException.notFound("DailyRecord", id)));
     }
@@ -140,11 +191,12 @@ public class DailyRecordServiceImpl implements DailyRecordService {
             record.getTestingPointIds() : Collections.emptyList();
         
         Flux<TestingPoint> testingPointsFlux = Flux.fromIterable(testingPointIds)
-            .flatMap(testingPointRepository::findById)
-            .onErrorResume(e -> Mono.empty());
+            .flatMap(id -> testingPointRepository.findByIdAndOrganizationId(id, record.getOrganizationId()),
+                mongoConcurrency.getLookupConcurrency())
+            .onErrorResume(e -> !(e instanceof CustomException), e -> Mono.empty());
 
         return Mono.zip(userMono, testingPointsFlux.collectList())
-            .map(tuple -> DailyRecordEnrichedResponse.builder()
+            .transform(ServerTiming.timedMap(ServerTiming.Category.MAPPING, tuple -> DailyRecordEnrichedResponse.builder()
                 .id(record.getId())
                 .recordCode(record.getRecordCode())
                 .testingPoints(tuple.getT2())
@@ -156,9 +208,10 @@ public class DailyRecordServiceImpl implements DailyRecordService {
                 .amount(record.getAmount())
                 .recordType(record.getRecordType())
                 .createdAt(record.getCreatedAt())
+                .version(record.getVersion())
                 .recordedByUser(tuple.getT1())
                 .organization(tuple.getT1().getOrganization())
-                .build());
+                .build()));
     }
     
     private String generateRecordCode(String recordType) {
@@ -172,7 +225,39 @@ public class DailyRecordServiceImpl implements DailyRecordService {
         return prefix + System.currentTimeMillis() % 100000;
     }
     
+    private void invalidateZoneSummaries(DailyRecord record) {
+        zoneSummaryCache.invalidate(record.getOrganizationId());
+    }
+
+    static DailyRecordNormalizedResponse toNormalized(DailyRecord record) {
+        return DailyRecordNormalizedResponse.builder()
+            .id(record.getId())
+            .recordCode(record.getRecordCode())
+            .testingPointIds(record.getTestingPointIds() != null ? record.getTestingPointIds() : Collections.emptyList())
+            .recordDate(record.getRecordDate())
+            .level(record.getLevel())
+            .acceptable(record.isAcceptable())
+            .actionRequired(record.isActionRequired())
+            .observations(record.getObservations())
+            .amount(record.getAmount())
+            .recordType(record.getRecordType())
+            .createdAt(record.getCreatedAt())
+            .updatedAt(record.getUpdatedAt())
+            .version(record.getVersion())
+            .organizationId(record.getOrganizationId())
+            .recordedByUserId(record.getRecordedByUserId())
+            .build();
+    }
+
     private Mono<String> getCurrentUserOrganizationId() {
-        return Mono.just("6896b2ecf3e398570ffd99d3");
+        return TenantContext.currentOrganizationId();
+    }
+
+    private Mono<DailyRecord> updateInCurrentOrganization(String id, Long expectedVersion, Update update) {
+        return getCurrentUserOrganizationId()
+            .flatMap(orgId -> dailyRecordRepository.updateAtomically(id, orgId, expectedVersion,
+                update.set("updatedAt", LocalDateTime.now())))
+            .switchIfEmpty(Mono.error(CustomException.notFound("DailyRecord", id)))
+            .doOnNext(this::invalidateZoneSummaries);
     }
 }
\ No newline at end of file
@@ -1,23 +1,33 @@
 package pe.edu.vallegrande.ms_water_quality.application.services.impl;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import pe.edu.vallegrande.ms_water_quality.application.services.QualityTestService;
 import pe.edu.vallegrande.ms_water_quality.domain.models.QualityTest;
 import pe.edu.vallegrande.ms_water_quality.domain.models.TestingPoint;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.archive.QualityTestArchive;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.cache.ZoneSummaryCache;
 import pe.edu.vallegrande.ms_water_quality.infrastructure.client.dto.ExternalUser;
 import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.request.QualityTestCreateRequest;
 import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.enriched.QualityTestEnrichedResponse;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.normalized.NormalizedResponse;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.normalized.QualityTestNormalizedResponse;
 import pe.edu.vallegrande.ms_water_quality.infrastructure.exception.CustomException;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.mongo.MongoConcurrency;
 import pe.edu.vallegrande.ms_water_quality.infrastructure.repository.QualityTestRepository;
 import pe.edu.vallegrande.ms_water_quality.infrastructure.repository.TestingPointRepository;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.security.TenantContext;
 import pe.edu.vallegrande.ms_water_quality.infrastructure.service.ExternalServiceClient;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.sync.SyncTombstones;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.timing.ServerTiming;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -28,6 +38,10 @@ public class QualityTestServiceImpl implements QualityTestService {
     private final QualityTestRepository qualityTestRepository;
     private final ExternalServiceClient externalServiceClient;
     private final TestingPointRepository testingPointRepository;
+    private final MongoConcurrency mongoConcurrency;
+    private final ZoneSummaryCache zoneSummaryCache;
+    private final QualityTestArchive qualityTestArchive;
+    private final SyncTombstones syncTombstones;
 
     @Override
     public Flux<QualityTestEnrichedResponse> getAll() {
@@ -35,137 +49,156 @@ public class QualityTestServiceImpl implements QualityTestService {
             .flatMapMany(this::getAllByOrganization);
     }
 
+    @Override
+    public Mono<NormalizedResponse<QualityTestNormalizedResponse>> getAllNormalized() {
+        return getCurrentUserOrganizationId()
+            .flatMap(this::getAllNormalizedByOrganization);
+    }
+
     @Override
     public Mono<QualityTestEnrichedResponse> getById(String id) {
         return getCurrentUserOrganizationId()
             .flatMap(orgId -> getByIdAndOrganization(id, orgId));
     }
 
+    @Override
+    public Flux<QualityTestEnrichedResponse> getByDateRange(LocalDateTime from, LocalDateTime to) {
+        return getCurrentUserOrganizationId()
+            .flatMapMany(orgId -> getByDateRangeAndOrganization(orgId, from, to));
+    }
+
     @Override
     public Mono<QualityTestEnrichedResponse> save(QualityTestCreateRequest request) {
-        return generateNextCode().flatMap(generatedCode -> {
-            QualityTest qualityTest = new QualityTest();
-            qualityTest.setOrganizationId(request.getOrganizationId());
-            qualityTest.setTestCode(generatedCode);
-            qualityTest.setTestingPointId(request.getTestingPointId() != null ? 
-                request.getTestingPointId() : Collections.emptyList());
-            qualityTest.setTestDate(request.getTestDate());
-            qualityTest.setTestType(request.getTestType());
-            qualityTest.setTestedByUserId(request.getTestedByUserId());
-            qualityTest.setWeatherConditions(request.getWeatherConditions());
-            qualityTest.setWaterTemperature(request.getWaterTemperature());
-            qualityTest.setGeneralObservations(request.getGeneralObservations());
-            qualityTest.setStatus("COMPLETED");
-            qualityTest.setCreatedAt(LocalDateTime.now());
-            qualityTest.setDeletedAt(null);
-
-            List<QualityTest.TestResult> results = request.getResults() != null ? 
-                request.getResults().stream()
-                    .map(item -> {
-                        QualityTest.TestResult result = new QualityTest.TestResult();
-                        result.setParameterId(item.getParameterId());
-                        result.setParameterCode(item.getParameterCode());
-                        result.setMeasuredValue(item.getMeasuredValue());
-                        result.setUnit(item.getUnit());
-                        result.setStatus(item.getStatus());
-                        result.setObservations(item.getObservations());
-                        return result;
-                    })
-                    .collect(Collectors.toList()) : Collections.emptyList();
-
-            qualityTest.setResults(results);
-            return qualityTestRepository.save(qualityTest)
-                .flatMap(this::enrichQualityTest);
-        });
+        return TenantContext.requireOrganization(request.getOrganizationId())
+            .flatMap(orgId -> generateNextCode(orgId).flatMap(generatedCode -> {
+                QualityTest qualityTest = new QualityTest();
+                qualityTest.setOrganizationId(orgId);
+                qualityTest.setTestCode(generatedCode);
+                qualityTest.setTestingPointId(request.getTestingPointId() != null ? 
+                    request.getTestingPointId() : Collections.emptyList());
+                qualityTest.setTestDate(request.getTestDate());
+                qualityTest.setTestType(request.getTestType());
+                qualityTest.setTestedByUserId(request.getTestedByUserId());
+                qualityTest.setWeatherConditions(request.getWeatherConditions());
+                qualityTest.setWaterTemperature(request.getWaterTemperature());
+                qualityTest.setGeneralObservations(request.getGeneralObservations());
+                qualityTest.setStatus("COMPLETED");
+                qualityTest.setCreatedAt(LocalDateTime.now());
+                qualityTest.setUpdatedAt(qualityTest.getCreatedAt());
+                qualityTest.setDeletedAt(null);
+
+                List<QualityTest.TestResult> results = request.getResults() != null ? 
+                    request.getResults().stream()
+                        .map(item -> {
+                            QualityTest.TestResult result = new QualityTest.TestResult();
+                            result.setParameterId(item.getParameterId());
+                            result.setParameterCode(item.getParameterCode());
+                            result.setMeasuredValue(item.getMeasuredValue());
+                            result.setUnit(item.getUnit());
+                            result.setStatus(item.getStatus());
+                            result.setObservations(item.getObservations());
+                            return result;
+                        })
+                        .collect(Collectors.toList()) : Collections.emptyList();
+
+                qualityTest.setResults(results);
+                return qualityTestRepository.save(qualityTest)
+                    .doOnNext(this::invalidateZoneSummaries)
+                    .flatMap(this::enrichQualityTest);
+            }));
     }
 
     @Override
-    public Mono<QualityTestEnrichedResponse> update(String id, QualityTestCreateRequest request) {
-        return qualityTestRepository.findById(id)
-            .switchIfEmpty(Mono.error(new CustomException(
-                HttpStatus.NOT_FOUND.value(),
-                "Quality test not found",
-                "No quality test found with id " + id)))
-            .flatMap(existing -> generateNextCode().flatMap(generatedCode -> {
-                existing.setOrganizationId(request.getOrganizationId());
-                existing.setTestingPointId(request.getTestingPointId());
-                existing.setTestDate(request.getTestDate());
-                existing.setTestType(request.getTestType());
-                existing.setTestedByUserId(request.getTestedByUserId());
-                existing.setWeatherConditions(request.getWeatherConditions());
-                existing.setWaterTemperature(request.getWaterTemperature());
-                existing.setGeneralObservations(request.getGeneralObservations());
-                existing.setStatus(request.getStatus());
-                existing.setTestCode(generatedCode);
-
-                List<QualityTest.TestResult> results = request.getResults().stream()
-                    .map(item -> new QualityTest.TestResult(
-                        item.getParameterId(),
-                        item.getParameterCode(),
-                        item.getMeasuredValue(),
-                        item.getUnit(),
-                        item.getStatus(),
-                        item.getObservations()))
-                    .collect(Collectors.toList());
-
-                existing.setResults(results);
-                return qualityTestRepository.save(existing);
-            }))
+    public Mono<QualityTestEnrichedResponse> update(String id, QualityTestCreateRequest request, Long expectedVersion) {
+        List<QualityTest.TestResult> results = request.getResults() != null ?
+            request.getResults().stream()
+                .map(item -> new QualityTest.TestResult(
+                    item.getParameterId(),
+                    item.getParameterCode(),
+                    item.getMeasuredValue(),
+                    item.getUnit(),
+                    item.getStatus(),
+                    item.getObservations()))
+                .collect(Collectors.toList()) : Collections.emptyList();
+
+        // El código del análisis se asigna al crearlo y no cambia al editar
+        Update update = new Update()
+            .set("testingPointId", request.getTestingPointId())
+            .set("testDate", request.getTestDate())
+            .set("testType", request.getTestType())
+            .set("testedByUserId", request.getTestedByUserId())
+            .set("weatherConditions", request.getWeatherConditions())
+            .set("waterTemperature", request.getWaterTemperature())
+            .set("generalObservations", request.getGeneralObservations())
+            .set("status", request.getStatus())
+            .set("results", results)
+            .set("updatedAt", LocalDateTime.now());
+
+        return TenantContext.requireOrganization(request.getOrganizationId())
+            .flatMap(orgId -> qualityTestRepository.updateAtomically(id, orgId, expectedVersion, update))
+            .switchIfEmpty(Mono.error(notFound(id)))
+            .doOnNext(this::invalidateZoneSummaries)
             .flatMap(this::enrichQualityTest);
     }
 
     @Override
-    public Mono<Void> delete(String id) {
-        return qualityTestRepository.findById(id)
-            .switchIfEmpty(Mono.error(new CustomException(
-                HttpStatus.NOT_FOUND.value(),
-                "Quality test not found",
-                "No quality test found with id " + id)))
-            .flatMap(test -> {
-                test.setDeletedAt(LocalDateTime.now());
-                return qualityTestRepository.save(test);
-            })
+    public Mono<Void> delete(String id, Long expectedVersion) {
+        return updateInCurrentOrganization(id, expectedVersion, Update.update("deletedAt", LocalDateTime.now()))
             .then();
     }
 
     @Override
-    public Mono<Void> deletePhysically(String id) {
-        return qualityTestRepository.findById(id)
-            .switchIfEmpty(Mono.error(new CustomException(
-                HttpStatus.NOT_FOUND.value(),
-                "Quality test not found",
-                "No quality test found with id " + id)))
-            .flatMap(qualityTestRepository::delete);
+    public Mono<Void> deletePhysically(String id, Long expectedVersion) {
+        return getCurrentUserOrganizationId()
+            .flatMap(orgId -> qualityTestRepository.removeAtomically(id, orgId, expectedVersion))
+            .switchIfEmpty(Mono.error(notFound(id)))
+            .doOnNext(this::invalidateZoneSummaries)
+            .flatMap(test -> syncTombstones.record(QualityTest.class, test.getOrganizationId(), test.getId()));
     }
 
     @Override
-    public Mono<QualityTestEnrichedResponse> restore(String id) {
-        return qualityTestRepository.findById(id)
-            .switchIfEmpty(Mono.error(new CustomException(
-                HttpStatus.NOT_FOUND.value(),
-                "Quality test not found",
-                "No quality test found with id " + id)))
-            .flatMap(test -> {
-                test.setDeletedAt(null);
-                return qualityTestRepository.save(test);
-            })
+    public Mono<QualityTestEnrichedResponse> restore(String id, Long expectedVersion) {
+        return updateInCurrentOrganization(id, expectedVersion, new Update().unset("deletedAt"))
             .flatMap(this::enrichQualityTest);
     }
 
     @Override
     public Flux<QualityTestEnrichedResponse> getAllByOrganization(String organizationId) {
         return qualityTestRepository.findAllByOrganizationId(organizationId)
-            .flatMap(this::enrichQualityTest);
+            .flatMap(this::enrichQualityTest, mongoConcurrency.getEnrichmentConcurrency());
+    }
+
+    @Override
+    public Mono<NormalizedResponse<QualityTestNormalizedResponse>> getAllNormalizedByOrganization(String organizationId) {
+        return Sideloading.assemble(organizationId, qualityTestRepository.streamAllByOrganizationId(organizationId),
+            QualityTestServiceImpl::toNormalized, QualityTest::getTestingPointId, QualityTest::getTestedByUserId,
+            testingPointRepository, externalServiceClient);
     }
 
     @Override
     public Mono<QualityTestEnrichedResponse> getByIdAndOrganization(String id, String organizationId) {
-        return qualityTestRepository.findById(id)
-            .filter(test -> test.getOrganizationId().equals(organizationId))
+        return qualityTestRepository.findByIdAndOrganizationId(id, organizationId)
+            .switchIfEmpty(Mono.defer(() -> qualityTestArchive.findById(id, organizationId)))
             .flatMap(this::enrichQualityTest)
             .switchIfEmpty(Mono.error(CustomException.notFound("QualityTest", id)));
     }
 
+    @Override
+    public Flux<QualityTestEnrichedResponse> getByDateRangeAndOrganization(String organizationId, LocalDateTime from,
+                                                                           LocalDateTime to) {
+        if (from == null || to == null || from.isAfter(to)) {
+            return Flux.error(CustomException.badRequest("Invalid date range", "from must be before or equal to to"));
+        }
+        // Si un análisis quedó en ambos lados (archivado a medias), gana el documento vivo
+        Flux<QualityTest> live = qualityTestRepository.findByOrganizationIdAndTestDateBetween(organizationId, from, to);
+        Flux<QualityTest> archived = qualityTestArchive.findBetween(organizationId, from, to);
+        return live.collectMap(QualityTest::getId)
+            .flatMapMany(liveById -> Flux.fromIterable(liveById.values())
+                .concatWith(archived.filter(test -> !liveById.containsKey(test.getId()))))
+            .sort(Comparator.comparing(QualityTest::getTestDate))
+            .flatMapSequential(this::enrichQualityTest, mongoConcurrency.getEnrichmentConcurrency());
+    }
+
     private Mono<QualityTestEnrichedResponse> enrichQualityTest(QualityTest test) {
         Mono<ExternalUser> userMono = externalServiceClient
             .getAdminsByOrganization(test.getOrganizationId())
@@ -177,11 +210,12 @@ public class QualityTestServiceImpl implements QualityTestService {
             test.getTestingPointId() : Collections.emptyList();
 
         Flux<TestingPoint> testingPointsFlux = Flux.fromIterable(testingPointId)
-            .flatMap(id -> testingPointRepository.findById(id)
-                .onErrorResume(e -> Mono.empty()));
+            .flatMap(id -> testingPointRepository.findByIdAndOrganizationId(id, test.getOrganizationId())
+                .onErrorResume(e -> !(e instanceof CustomException), e -> Mono.empty()),
+                mongoConcurrency.getLookupConcurrency());
 
         return Mono.zip(userMono, testingPointsFlux.collectList())
-            .map(tuple -> QualityTestEnrichedResponse.builder()
+            .transform(ServerTiming.timedMap(ServerTiming.Category.MAPPING, tuple -> QualityTestEnrichedResponse.builder()
                 .id(test.getId())
                 .testCode(test.getTestCode())
                 .testingPointId(tuple.getT2())
@@ -193,19 +227,42 @@ public class QualityTestServiceImpl implements QualityTestService {
                 .status(test.getStatus())
                 .results(test.getResults())
                 .createdAt(test.getCreatedAt())
+                .version(test.getVersion())
                 .organization(tuple.getT1().getOrganization())
                 .testedByUser(tuple.getT1())
-                .build());
+                .build()));
+    }
+
+    static QualityTestNormalizedResponse toNormalized(QualityTest test) {
+        return QualityTestNormalizedResponse.builder()
+            .id(test.getId())
+            .testCode(test.getTestCode())
+            .testingPointIds(test.getTestingPointId() != null ? test.getTestingPointId() : Collections.emptyList())
+            .testDate(test.getTestDate())
+            .testType(test.getTestType())
+            .weatherConditions(test.getWeatherConditions())
+            .waterTemperature(test.getWaterTemperature())
+            .generalObservations(test.getGeneralObservations())
+            .status(test.getStatus())
+            .results(test.getResults())
+            .createdAt(test.getCreatedAt())
+            .updatedAt(test.getUpdatedAt())
+            .version(test.getVersion())
+            .organizationId(test.getOrganizationId())
+            .testedByUserId(test.getTestedByUserId())
+            .build();
     }
 
-    private Mono<String> generateNextCode() {
-        return qualityTestRepository.findAll()
+    private Mono<String> generateNextCode(String organizationId) {
+        return qualityTestRepository.findAllByOrganizationId(organizationId)
             .filter(t -> t.getTestCode() != null && t.getTestCode().startsWith("ANL"))
             .sort((t1, t2) -> t2.getTestCode().compareTo(t1.getTestCode()))
+            .map(QualityTest::getTestCode)
             .next()
+            .switchIfEmpty(Mono.defer(() -> qualityTestArchive.latestTestCode(organizationId)))
             .map(last -> {
                 try {
-                    int number = Integer.parseInt(last.getTestCode().replace("ANL", ""));
+                    int number = Integer.parseInt(last.replace("ANL", ""));
                     return String.format("ANL%03d", number + 1);
                 } catch (Exception e) {
                     return "ANL001";
@@ -214,7 +271,26 @@ public class QualityTestServiceImpl implements QualityTestService {
             .defaultIfEmpty("ANL001");
     }
     
+    private void invalidateZoneSummaries(QualityTest test) {
+        zoneSummaryCache.invalidate(test.getOrganizationId());
+    }
+
     private Mono<String> getCurrentUserOrganizationId() {
-        return Mono.just("6896b2ecf3e398570ffd99d3");
+        return TenantContext.currentOrganizationId();
+    }
+
+    private Mono<QualityTest> updateInCurrentOrganization(String id, Long expectedVersion, Update update) {
+        return getCurrentUserOrganizationId()
+            .flatMap(orgId -> qualityTestRepository.updateAtomically(id, orgId, expectedVersion,
+                update.set("updatedAt", LocalDateTime.now())))
+            .switchIfEmpty(Mono.error(notFound(id)))
+            .doOnNext(this::invalidateZoneSummaries);
+    }
+
+    private static CustomException notFound(String id) {
+        return new CustomException(
+            HttpStatus.NOT_FOUND.value(),
+            "Quality test not found",
+            "No quality test found with id " + id);
     }
 }
\ No newline at end of file
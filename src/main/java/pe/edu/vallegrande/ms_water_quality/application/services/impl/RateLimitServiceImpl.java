@@ -0,0 +1,52 @@
+package pe.edu.vallegrande.ms_water_quality.application.services.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+import pe.edu.vallegrande.ms_water_quality.application.services.RateLimitService;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.request.RateLimitUpdateRequest;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.RateLimitResponse;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.exception.CustomException;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.web.RateLimitPolicy;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.web.RateLimiter;
+import reactor.core.publisher.Mono;
+
+@Service
+@RequiredArgsConstructor
+public class RateLimitServiceImpl implements RateLimitService {
+
+    private final ObjectProvider<RateLimiter> rateLimiter;
+
+    @Override
+    public Mono<RateLimitResponse> getLimits() {
+        return Mono.fromSupplier(() -> toResponse(requireLimiter()));
+    }
+
+    @Override
+    public Mono<RateLimitResponse> updateLimits(RateLimitUpdateRequest request) {
+        return Mono.fromSupplier(() -> {
+            RateLimiter limiter = requireLimiter();
+            RateLimitPolicy current = limiter.getPolicy();
+            limiter.setPolicy(new RateLimitPolicy(
+                request.getOrganization() != null
+                    ? RateLimitPolicy.parseLimits(request.getOrganization()) : current.organization(),
+                request.getSubject() != null
+                    ? RateLimitPolicy.parseLimits(request.getSubject()) : current.subject()));
+            return toResponse(limiter);
+        });
+    }
+
+    private RateLimiter requireLimiter() {
+        RateLimiter limiter = rateLimiter.getIfAvailable();
+        if (limiter == null) {
+            throw CustomException.badRequest("Rate limiting disabled", "rate-limit.enabled=false");
+        }
+        return limiter;
+    }
+
+    private static RateLimitResponse toResponse(RateLimiter limiter) {
+        RateLimitPolicy policy = limiter.getPolicy();
+        return new RateLimitResponse(RateLimitPolicy.format(policy.organization()),
+            RateLimitPolicy.format(policy.subject()), limiter.size());
+    }
+}
@@ -0,0 +1,84 @@
+package pe.edu.vallegrande.ms_water_quality.application.services.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.stereotype.Service;
+import pe.edu.vallegrande.ms_water_quality.application.services.SearchService;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.PointSuggestionResponse;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.SearchResponse;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.exception.CustomException;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.repository.DailyRecordRepository;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.repository.QualityTestRepository;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.repository.TestingPointRepository;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.search.PointPrefixIndex;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.security.TenantContext;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+public class SearchServiceImpl implements SearchService {
+
+    private static final String LANGUAGE = "spanish";
+    private static final int MAX_LIMIT = 50;
+    private static final Set<String> ALL_TYPES = Set.of("points", "tests", "records");
+
+    private final TestingPointRepository testingPointRepository;
+    private final QualityTestRepository qualityTestRepository;
+    private final DailyRecordRepository dailyRecordRepository;
+    private final PointPrefixIndex pointPrefixIndex;
+
+    @Override
+    public Mono<SearchResponse> search(String query, Set<String> types, int limit) {
+        if (query == null || query.isBlank()) {
+            return Mono.error(CustomException.badRequest("Invalid query", "El parámetro q es obligatorio"));
+        }
+        Set<String> requested = types == null || types.isEmpty() ? ALL_TYPES : types;
+        if (!ALL_TYPES.containsAll(requested)) {
+            return Mono.error(CustomException.badRequest("Invalid types", "Tipos permitidos: " + ALL_TYPES));
+        }
+        TextCriteria criteria = TextCriteria.forLanguage(LANGUAGE).matching(query);
+        PageRequest page = PageRequest.of(0, clamp(limit));
+
+        return TenantContext.currentOrganizationId().flatMap(orgId -> Mono.zip(
+            hits(requested.contains("points"), testingPointRepository
+                .findByOrganizationIdOrderByScoreDesc(orgId, criteria, page)
+                .map(point -> new SearchResponse.Hit(point.getId(), point.getPointCode(), point.getPointName(),
+                    point.getLocationDescription() != null ? point.getLocationDescription() : point.getStreet(),
+                    point.getScore()))),
+            hits(requested.contains("tests"), qualityTestRepository
+                .findByOrganizationIdAndDeletedAtIsNullOrderByScoreDesc(orgId, criteria, page)
+                .map(test -> new SearchResponse.Hit(test.getId(), test.getTestCode(), test.getTestType(),
+                    test.getGeneralObservations(), test.getScore()))),
+            hits(requested.contains("records"), dailyRecordRepository
+                .findByOrganizationIdAndDeletedAtIsNullOrderByScoreDesc(orgId, criteria, page)
+                .map(record -> new SearchResponse.Hit(record.getId(), record.getRecordCode(), record.getRecordType(),
+                    record.getObservations(), record.getScore()))))
+            .map(tuple -> SearchResponse.builder()
+                .points(tuple.getT1())
+                .tests(tuple.getT2())
+                .records(tuple.getT3())
+                .build()));
+    }
+
+    @Override
+    public Mono<List<PointSuggestionResponse>> suggest(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            return Mono.just(List.of());
+        }
+        return TenantContext.currentOrganizationId()
+            .flatMap(orgId -> pointPrefixIndex.suggest(orgId, prefix, clamp(limit)));
+    }
+
+    private static Mono<List<SearchResponse.Hit>> hits(boolean requested, Flux<SearchResponse.Hit> hits) {
+        return requested ? hits.collectList() : Mono.just(List.of());
+    }
+
+    private static int clamp(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+}
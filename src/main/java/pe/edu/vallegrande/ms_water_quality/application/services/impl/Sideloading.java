@@ -0,0 +1,91 @@
+package pe.edu.vallegrande.ms_water_quality.application.services.impl;
+
+import pe.edu.vallegrande.ms_water_quality.domain.models.TestingPoint;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.client.dto.ExternalOrganization;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.client.dto.ExternalUser;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.normalized.IncludedUser;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.normalized.NormalizedResponse;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.exception.CustomException;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.repository.TestingPointRepository;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.service.ExternalServiceClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Arma un {@link NormalizedResponse} en una sola pasada sobre los documentos: al mapear cada
+ * elemento se juntan los IDs que referencia y al final se resuelven de una vez (una consulta
+ * {@code $in} de puntos y la lista de administradores, que se pide en paralelo a la lectura).
+ */
+final class Sideloading {
+
+    private Sideloading() {
+    }
+
+    static <S, T> Mono<NormalizedResponse<T>> assemble(String organizationId, Flux<S> documents, Function<S, T> mapper,
+                                                       Function<S, List<String>> testingPointIds,
+                                                       Function<S, String> userId,
+                                                       TestingPointRepository testingPointRepository,
+                                                       ExternalServiceClient externalServiceClient) {
+        Mono<Pass<T>> pass = documents.collect(Pass<T>::new, (acc, document) -> {
+            acc.items.add(mapper.apply(document));
+            List<String> pointIds = testingPointIds.apply(document);
+            if (pointIds != null) {
+                acc.testingPointIds.addAll(pointIds);
+            }
+            String user = userId.apply(document);
+            if (user != null) {
+                acc.userIds.add(user);
+            }
+        });
+        Mono<List<ExternalUser>> admins = externalServiceClient.getAdminsByOrganization(organizationId).collectList();
+
+        return Mono.zip(pass, admins).flatMap(tuple -> {
+            Pass<T> acc = tuple.getT1();
+            Mono<List<TestingPoint>> points = acc.testingPointIds.isEmpty()
+                ? Mono.just(List.of())
+                : testingPointRepository.findByOrganizationIdAndIdIn(organizationId, acc.testingPointIds)
+                    .collectList()
+                    .onErrorResume(e -> !(e instanceof CustomException), e -> Mono.just(List.of()));
+            return points.map(found -> NormalizedResponse.<T>builder()
+                .items(acc.items)
+                .included(included(tuple.getT2(), acc.userIds, found))
+                .build());
+        });
+    }
+
+    private static NormalizedResponse.Included included(List<ExternalUser> admins, Set<String> userIds,
+                                                        List<TestingPoint> testingPoints) {
+        // Todos los administradores son de la misma organización; se lista una vez aunque
+        // ningún documento tenga usuario asignado
+        Map<String, ExternalOrganization> organizations = new LinkedHashMap<>();
+        List<IncludedUser> users = new ArrayList<>();
+        for (ExternalUser admin : admins) {
+            ExternalOrganization organization = admin.getOrganization();
+            if (organization != null && organization.getOrganizationId() != null) {
+                organizations.putIfAbsent(organization.getOrganizationId(), organization);
+            }
+            if (admin.getId() != null && userIds.remove(admin.getId())) {
+                users.add(IncludedUser.from(admin));
+            }
+        }
+        return NormalizedResponse.Included.builder()
+            .organizations(new ArrayList<>(organizations.values()))
+            .users(users)
+            .testingPoints(testingPoints)
+            .build();
+    }
+
+    private static final class Pass<T> {
+        private final List<T> items = new ArrayList<>();
+        private final Set<String> testingPointIds = new LinkedHashSet<>();
+        private final Set<String> userIds = new LinkedHashSet<>();
+    }
+}
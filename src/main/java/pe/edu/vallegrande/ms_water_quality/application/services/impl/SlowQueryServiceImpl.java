@@ -0,0 +1,26 @@
+package pe.edu.vallegrande.ms_water_quality.application.services.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import pe.edu.vallegrande.ms_water_quality.application.services.SlowQueryService;
+import pe.edu.vallegrande.ms_water_quality.domain.models.SlowQuery;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.repository.SlowQueryRepository;
+import reactor.core.publisher.Flux;
+
+@Service
+@RequiredArgsConstructor
+public class SlowQueryServiceImpl implements SlowQueryService {
+
+    private static final int MAX_LIMIT = 500;
+
+    private final SlowQueryRepository slowQueryRepository;
+
+    @Override
+    public Flux<SlowQuery> getRecent(int limit, String collection) {
+        PageRequest page = PageRequest.of(0, Math.max(1, Math.min(limit, MAX_LIMIT)));
+        return collection == null || collection.isBlank()
+                ? slowQueryRepository.findAllByOrderByCapturedAtDesc(page)
+                : slowQueryRepository.findByCollectionOrderByCapturedAtDesc(collection, page);
+    }
+}
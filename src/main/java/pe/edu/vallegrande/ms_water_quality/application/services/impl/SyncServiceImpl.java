@@ -0,0 +1,148 @@
+package pe.edu.vallegrande.ms_water_quality.application.services.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import pe.edu.vallegrande.ms_water_quality.application.services.SyncService;
+import pe.edu.vallegrande.ms_water_quality.domain.models.DailyRecord;
+import pe.edu.vallegrande.ms_water_quality.domain.models.QualityTest;
+import pe.edu.vallegrande.ms_water_quality.domain.models.SyncTombstone;
+import pe.edu.vallegrande.ms_water_quality.domain.models.TestingPoint;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.SyncResponse;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.exception.CustomException;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.security.TenantContext;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.sync.SyncPolicy;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.sync.SyncToken;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.sync.SyncTombstones;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+@Service
+@RequiredArgsConstructor
+public class SyncServiceImpl implements SyncService {
+
+    private static final int MAX_LIMIT = 1000;
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final SyncTombstones syncTombstones;
+    private final SyncPolicy syncPolicy;
+
+    @Override
+    public Mono<SyncResponse> changes(String token, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            return Mono.error(CustomException.badRequest("Invalid limit",
+                "El límite debe estar entre 1 y " + MAX_LIMIT));
+        }
+        return TenantContext.currentOrganizationId()
+            .flatMap(orgId -> changes(orgId, token == null || token.isBlank() ? null : SyncToken.decode(token), limit));
+    }
+
+    private Mono<SyncResponse> changes(String organizationId, SyncToken since, int limit) {
+        Instant now = Instant.now();
+        // Hasta aquí se considera confirmado todo lo escrito; lo posterior se vuelve a entregar
+        long settled = now.minus(syncPolicy.getCommitLag()).toEpochMilli();
+        boolean fullResync = since == null
+            || since.coveredSince() < now.minus(syncPolicy.getTombstoneRetention()).toEpochMilli();
+        SyncToken from = fullResync ? SyncToken.initial(settled) : since;
+
+        return Mono.zip(
+                page(organizationId, TestingPoint.class, TestingPoint::getId, TestingPoint::getUpdatedAt,
+                    point -> false, from.coveredSince(), from.testingPoints(), settled, limit),
+                page(organizationId, QualityTest.class, QualityTest::getId, QualityTest::getUpdatedAt,
+                    test -> test.getDeletedAt() != null, from.coveredSince(), from.qualityTests(), settled, limit),
+                page(organizationId, DailyRecord.class, DailyRecord::getId, DailyRecord::getUpdatedAt,
+                    record -> record.getDeletedAt() != null, from.coveredSince(), from.dailyRecords(), settled, limit))
+            .map(pages -> {
+                boolean hasMore = pages.getT1().hasMore() || pages.getT2().hasMore() || pages.getT3().hasMore();
+                // Las marcas hacen falta desde el último momento en que el cliente quedó al día
+                long coveredSince = hasMore ? from.coveredSince() : Math.max(from.coveredSince(), settled);
+                SyncToken next = new SyncToken(coveredSince,
+                    pages.getT1().next(), pages.getT2().next(), pages.getT3().next());
+                return SyncResponse.builder()
+                    .token(next.encode())
+                    .hasMore(hasMore)
+                    .fullResync(fullResync)
+                    .testingPoints(pages.getT1().changes(Function.identity()))
+                    .qualityTests(pages.getT2().changes(QualityTestServiceImpl::toNormalized))
+                    .dailyRecords(pages.getT3().changes(DailyRecordServiceImpl::toNormalized))
+                    .build();
+            });
+    }
+
+    /**
+     * Documentos y marcas de borrado de una colección posteriores a {@code after}, mezclados
+     * en orden {@code (updatedAt, _id)} y cortados en {@code limit}.
+     */
+    private <T> Mono<Page<T>> page(String organizationId, Class<T> type, Function<T, String> id,
+                                   Function<T, LocalDateTime> updatedAt, Predicate<T> deleted,
+                                   long coveredSince, SyncToken.Position after, long settled, int limit) {
+        Query query = Query.query(Criteria.where("organizationId").is(organizationId).andOperator(after(after)))
+            .with(Sort.by("updatedAt", "id"))
+            .limit(limit);
+
+        return Mono.zip(
+                mongoTemplate.find(query, type).collectList(),
+                syncTombstones.changes(organizationId, type, coveredSince, after, limit).collectList())
+            .map(tuple -> {
+                List<Change<T>> merged = new ArrayList<>(tuple.getT1().size() + tuple.getT2().size());
+                for (T document : tuple.getT1()) {
+                    merged.add(new Change<>(new SyncToken.Position(SyncToken.toMillis(updatedAt.apply(document)),
+                        id.apply(document)), deleted.test(document) ? null : document));
+                }
+                for (SyncTombstone tombstone : tuple.getT2()) {
+                    merged.add(new Change<>(new SyncToken.Position(SyncToken.toMillis(tombstone.getDeletedAt()),
+                        tombstone.getDocumentId()), null));
+                }
+                merged.sort(Comparator.comparing(Change::position));
+
+                // Si una de las fuentes llenó el límite o se cortó la mezcla, se sigue desde el último entregado
+                boolean hasMore = tuple.getT1().size() == limit || tuple.getT2().size() == limit
+                    || merged.size() > limit;
+                List<Change<T>> taken = merged.size() > limit ? merged.subList(0, limit) : merged;
+                SyncToken.Position next = hasMore
+                    ? taken.get(taken.size() - 1).position()
+                    : after.max(SyncToken.Position.from(settled));
+                return new Page<>(taken, next, hasMore);
+            });
+    }
+
+    private static Criteria after(SyncToken.Position position) {
+        LocalDateTime updatedAt = position.dateTime();
+        if (position.inclusive()) {
+            return Criteria.where("updatedAt").gte(updatedAt);
+        }
+        return new Criteria().orOperator(
+            Criteria.where("updatedAt").gt(updatedAt),
+            Criteria.where("updatedAt").is(updatedAt).and("id").gt(position.id()));
+    }
+
+    // document es null cuando el cambio es un borrado
+    private record Change<T>(SyncToken.Position position, T document) {
+    }
+
+    private record Page<T>(List<Change<T>> entries, SyncToken.Position next, boolean hasMore) {
+
+        <R> SyncResponse.Changes<R> changes(Function<T, R> mapper) {
+            List<R> upserted = new ArrayList<>();
+            List<String> deleted = new ArrayList<>();
+            for (Change<T> change : entries) {
+                if (change.document() != null) {
+                    upserted.add(mapper.apply(change.document()));
+                } else {
+                    deleted.add(change.position().id());
+                }
+            }
+            return SyncResponse.Changes.<R>builder().upserted(upserted).deleted(deleted).build();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package pe.edu.vallegrande.ms_water_quality.application.services.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.types.ObjectId;
+import org.springframework.stereotype.Service;
+import pe.edu.vallegrande.ms_water_quality.application.services.TelemetryService;
+import pe.edu.vallegrande.ms_water_quality.domain.models.DailyRecord;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.request.TelemetryReading;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.TelemetryAck;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.exception.CustomException;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.ingest.WriteBehindBuffer;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.repository.TestingPointRepository;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.telemetry.SensorFilter;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.telemetry.TelemetryPolicy;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class TelemetryServiceImpl implements TelemetryService {
+
+    private static final String OBSERVATIONS = "Lectura automática de sensor";
+
+    private final TestingPointRepository testingPointRepository;
+    private final WriteBehindBuffer<DailyRecord> dailyRecordIngestBuffer;
+    private final TelemetryPolicy telemetryPolicy;
+    private final Counter received;
+    private final Map<SensorFilter.Decision, Counter> decisions = new EnumMap<>(SensorFilter.Decision.class);
+
+    public TelemetryServiceImpl(TestingPointRepository testingPointRepository,
+                                WriteBehindBuffer<DailyRecord> dailyRecordIngestBuffer,
+                                TelemetryPolicy telemetryPolicy,
+                                MeterRegistry meterRegistry) {
+        this.testingPointRepository = testingPointRepository;
+        this.dailyRecordIngestBuffer = dailyRecordIngestBuffer;
+        this.telemetryPolicy = telemetryPolicy;
+        this.received = Counter.builder("water_quality.telemetry.readings")
+            .description("Lecturas recibidas por el canal de telemetría")
+            .register(meterRegistry);
+        for (SensorFilter.Decision decision : SensorFilter.Decision.values()) {
+            decisions.put(decision, Counter.builder("water_quality.telemetry.decisions")
+                .description("Lecturas de telemetría por resultado del filtro")
+                .tag("decision", decision.name().toLowerCase())
+                .register(meterRegistry));
+        }
+    }
+
+    @Override
+    public Session open(String organizationId, String userId) {
+        return new FilteringSession(organizationId, userId, new SensorFilter(telemetryPolicy));
+    }
+
+    private final class FilteringSession implements Session {
+
+        private final String organizationId;
+        private final String userId;
+        private final SensorFilter filter;
+        // Puntos ya validados en esta conexión; solo el primer frame de cada punto va a MongoDB
+        private final Map<String, Boolean> knownPoints = new HashMap<>();
+
+        private FilteringSession(String organizationId, String userId, SensorFilter filter) {
+            this.organizationId = organizationId;
+            this.userId = userId;
+            this.filter = filter;
+        }
+
+        @Override
+        public Mono<TelemetryAck> accept(TelemetryReading reading) {
+            received.increment();
+            String pointId = reading.getTestingPointId();
+            if (pointId == null || reading.getRecordType() == null || reading.getRecordType().isBlank()
+                    || reading.getLevel() == null || !Double.isFinite(reading.getLevel())) {
+                return Mono.just(TelemetryAck.rejected(pointId, "Se requieren testingPointId, recordType y level"));
+            }
+            return isKnownPoint(pointId)
+                .flatMap(known -> known
+                    ? Mono.justOrEmpty(filterAndEnqueue(reading))
+                    : Mono.just(TelemetryAck.rejected(pointId, "El punto no existe en la organización")))
+                // Un fallo de MongoDB no debe cortar la conexión del sensor
+                .onErrorResume(e -> Mono.just(TelemetryAck.busy(pointId, "No se pudo validar el punto")));
+        }
+
+        private Mono<Boolean> isKnownPoint(String pointId) {
+            Boolean known = knownPoints.get(pointId);
+            if (known != null) {
+                return Mono.just(known);
+            }
+            return testingPointRepository.findByIdAndOrganizationId(pointId, organizationId)
+                .hasElement()
+                .doOnNext(found -> knownPoints.put(pointId, found));
+        }
+
+        private TelemetryAck filterAndEnqueue(TelemetryReading reading) {
+            LocalDateTime timestamp = reading.getTimestamp() != null ? reading.getTimestamp() : LocalDateTime.now();
+            String recordType = reading.getRecordType().trim().toUpperCase();
+            SensorFilter.Decision decision = filter.offer(reading.getTestingPointId(), recordType, reading.getLevel(),
+                timestamp.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+            decisions.get(decision).increment();
+            switch (decision) {
+                case TOO_MANY_SENSORS:
+                    return TelemetryAck.rejected(reading.getTestingPointId(),
+                        "Máximo " + telemetryPolicy.maxSensorsPerConnection() + " sensores por conexión");
+                case SIGNIFICANT:
+                    break;
+                default:
+                    return null;
+            }
+
+            DailyRecord record = new DailyRecord();
+            record.setId(new ObjectId().toHexString());
+            record.setVersion(0L);
+            record.setOrganizationId(organizationId);
+            record.setRecordCode(recordType.substring(0, Math.min(2, recordType.length()))
+                + System.currentTimeMillis() % 100000);
+            record.setTestingPointIds(List.of(reading.getTestingPointId()));
+            record.setRecordDate(timestamp);
+            record.setLevel(reading.getLevel());
+            record.setAcceptable(telemetryPolicy.isAcceptable(recordType, reading.getLevel()));
+            record.setActionRequired(telemetryPolicy.requiresAction(recordType, reading.getLevel()));
+            record.setRecordedByUserId(userId);
+            record.setObservations(OBSERVATIONS);
+            record.setRecordType(recordType);
+            record.setCreatedAt(LocalDateTime.now());
+            try {
+                dailyRecordIngestBuffer.enqueue(record);
+                filter.commit();
+            } catch (CustomException e) {
+                // Sin commit la lectura no cuenta como registrada: la siguiente vuelve a ser significativa
+                filter.rollback();
+                return TelemetryAck.busy(reading.getTestingPointId(), e.getErrorMessage().getDetails());
+            }
+            return TelemetryAck.queued(reading.getTestingPointId(), record.getId());
+        }
+    }
+}
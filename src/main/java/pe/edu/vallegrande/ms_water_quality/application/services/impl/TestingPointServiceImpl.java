@@ -1,16 +1,29 @@
 package pe.edu.vallegrande.ms_water_quality.application.services.impl;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.geo.GeoResult;
+import org.springframework.data.geo.Metrics;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import pe.edu.vallegrande.ms_water_quality.application.services.TestingPointService;
 import pe.edu.vallegrande.ms_water_quality.domain.models.TestingPoint;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.cache.ZoneSummaryCache;
 import pe.edu.vallegrande.ms_water_quality.infrastructure.client.dto.ExternalOrganization;
 import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.request.TestingPointCreateRequest;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.MapViewportResponse;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.TestingPointNearbyResponse;
 import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.TestingPointResponse;
 import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.enriched.TestingPointEnrichedResponse;
 import pe.edu.vallegrande.ms_water_quality.infrastructure.exception.CustomException;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.geo.PointClusterIndex;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.mongo.MongoConcurrency;
 import pe.edu.vallegrande.ms_water_quality.infrastructure.repository.TestingPointRepository;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.search.PointPrefixIndex;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.security.TenantContext;
 import pe.edu.vallegrande.ms_water_quality.infrastructure.service.ExternalServiceClient;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.sync.SyncTombstones;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.timing.ServerTiming;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -20,8 +33,18 @@ import java.time.LocalDateTime;
 @RequiredArgsConstructor
 public class TestingPointServiceImpl implements TestingPointService {
 
+    // Límites de las consultas geoespaciales para acotar la respuesta
+    private static final double MAX_RADIUS_METERS = 50_000;
+    private static final int MAX_GEO_RESULTS = 200;
+    private static final int MAX_MAP_ZOOM = 22;
+
     private final TestingPointRepository testingPointRepository;
     private final ExternalServiceClient externalServiceClient;
+    private final MongoConcurrency mongoConcurrency;
+    private final PointClusterIndex pointClusterIndex;
+    private final ZoneSummaryCache zoneSummaryCache;
+    private final PointPrefixIndex pointPrefixIndex;
+    private final SyncTombstones syncTombstones;
 
     @Override
     public Flux<TestingPointEnrichedResponse> getAll() {
@@ -49,107 +72,189 @@ public class TestingPointServiceImpl implements TestingPointService {
 
     @Override
     public Mono<TestingPointResponse> save(TestingPointCreateRequest request) {
-        TestingPoint testingPoint = new TestingPoint();
-        testingPoint.setOrganizationId(request.getOrganizationId());
-        
-        if (request.getPointCode() != null && !request.getPointCode().trim().isEmpty()) {
-            testingPoint.setPointCode(request.getPointCode());
-            return saveTestingPoint(testingPoint, request);
-        } else {
-            return generateNextPointCode(request.getPointType())
-                .flatMap(pointCode -> {
-                    testingPoint.setPointCode(pointCode);
-                    return saveTestingPoint(testingPoint, request);
-                });
-        }
+        return TenantContext.requireOrganization(request.getOrganizationId()).flatMap(orgId -> {
+            TestingPoint testingPoint = new TestingPoint();
+            testingPoint.setOrganizationId(orgId);
+
+            if (request.getPointCode() != null && !request.getPointCode().trim().isEmpty()) {
+                testingPoint.setPointCode(request.getPointCode());
+                return saveTestingPoint(testingPoint, request);
+            } else {
+                return generateNextPointCode(orgId, request.getPointType())
+                    .flatMap(pointCode -> {
+                        testingPoint.setPointCode(pointCode);
+                        return saveTestingPoint(testingPoint, request);
+                    });
+            }
+        });
     }
 
     @Override
-    public Mono<TestingPoint> update(String id, TestingPoint point) {
-        return testingPointRepository.findById(id)
+    public Mono<TestingPoint> update(String id, TestingPoint point, Long expectedVersion) {
+        Update update = new Update()
+            .set("pointCode", point.getPointCode())
+            .set("pointName", point.getPointName())
+            .set("pointType", point.getPointType())
+            .set("zoneId", point.getZoneId())
+            .set("locationDescription", point.getLocationDescription())
+            .set("street", point.getStreet())
+            .set("status", point.getStatus())
+            .set("updatedAt", LocalDateTime.now());
+        if (point.getCoordinates() != null) {
+            TestingPoint.Coordinates coordinates = new TestingPoint.Coordinates(
+                point.getCoordinates().getLatitude(),
+                point.getCoordinates().getLongitude());
+            GeoJsonPoint location = toLocation(coordinates);
+            update.set("coordinates", coordinates);
+            if (location != null) {
+                update.set("location", location);
+            } else {
+                update.unset("location");
+            }
+        }
+
+        return TenantContext.requireOrganization(point.getOrganizationId())
+            .flatMap(orgId -> testingPointRepository.updateAtomically(id, orgId, expectedVersion, update))
             .switchIfEmpty(Mono.error(CustomException.notFound("TestingPoint", id)))
-            .flatMap(existing -> {
-                existing.setOrganizationId(point.getOrganizationId());
-                existing.setPointCode(point.getPointCode());
-                existing.setPointName(point.getPointName());
-                existing.setPointType(point.getPointType());
-                existing.setZoneId(point.getZoneId());
-                existing.setLocationDescription(point.getLocationDescription());
-                existing.setStreet(point.getStreet());
-                if (point.getCoordinates() != null) {
-                    existing.setCoordinates(new TestingPoint.Coordinates(
-                        point.getCoordinates().getLatitude(), 
-                        point.getCoordinates().getLongitude()
-                    ));
-                }
-                existing.setStatus(point.getStatus());
-                existing.setUpdatedAt(LocalDateTime.now());
-                return testingPointRepository.save(existing);
-            });
+            .doOnNext(this::invalidateCaches);
     }
 
     @Override
-    public Mono<Void> delete(String id) {
-        return testingPointRepository.deleteById(id);
+    public Mono<Void> delete(String id, Long expectedVersion) {
+        return getCurrentUserOrganizationId()
+            .flatMap(orgId -> testingPointRepository.removeAtomically(id, orgId, expectedVersion))
+            .switchIfEmpty(Mono.error(CustomException.notFound("TestingPoint", id)))
+            .doOnNext(this::invalidateCaches)
+            .flatMap(point -> syncTombstones.record(TestingPoint.class, point.getOrganizationId(), point.getId()));
     }
 
     @Override
-    public Mono<TestingPointEnrichedResponse> activate(String id) {
-        return testingPointRepository.findById(id)
-            .switchIfEmpty(Mono.error(CustomException.notFound("TestingPoint", id)))
-            .flatMap(point -> {
-                point.setStatus("ACTIVE");
-                return testingPointRepository.save(point);
-            })
-            .flatMap(this::enrichTestingPoint);
+    public Mono<TestingPointEnrichedResponse> activate(String id, Long expectedVersion) {
+        return changeStatus(id, "ACTIVE", expectedVersion);
     }
 
     @Override
-    public Mono<TestingPointEnrichedResponse> deactivate(String id) {
-        return testingPointRepository.findById(id)
+    public Mono<TestingPointEnrichedResponse> deactivate(String id, Long expectedVersion) {
+        return changeStatus(id, "INACTIVE", expectedVersion);
+    }
+
+    private Mono<TestingPointEnrichedResponse> changeStatus(String id, String status, Long expectedVersion) {
+        Update update = Update.update("status", status).set("updatedAt", LocalDateTime.now());
+        return getCurrentUserOrganizationId()
+            .flatMap(orgId -> testingPointRepository.updateAtomically(id, orgId, expectedVersion, update))
             .switchIfEmpty(Mono.error(CustomException.notFound("TestingPoint", id)))
-            .flatMap(point -> {
-                point.setStatus("INACTIVE");
-                return testingPointRepository.save(point);
-            })
+            .doOnNext(this::invalidateCaches)
             .flatMap(this::enrichTestingPoint);
     }
 
     @Override
     public Flux<TestingPointEnrichedResponse> getAllByOrganization(String organizationId) {
         return testingPointRepository.findByOrganizationId(organizationId)
-            .flatMap(this::enrichTestingPoint);
+            .flatMap(this::enrichTestingPoint, mongoConcurrency.getEnrichmentConcurrency());
     }
 
     @Override
     public Flux<TestingPointEnrichedResponse> getAllActiveByOrganization(String organizationId) {
         return testingPointRepository.findByOrganizationIdAndStatus(organizationId, "ACTIVE")
-            .flatMap(this::enrichTestingPoint);
+            .flatMap(this::enrichTestingPoint, mongoConcurrency.getEnrichmentConcurrency());
     }
 
     @Override
     public Flux<TestingPointEnrichedResponse> getAllInactiveByOrganization(String organizationId) {
         return testingPointRepository.findByOrganizationIdAndStatus(organizationId, "INACTIVE")
-            .flatMap(this::enrichTestingPoint);
+            .flatMap(this::enrichTestingPoint, mongoConcurrency.getEnrichmentConcurrency());
     }
 
     @Override
     public Mono<TestingPointEnrichedResponse> getByIdAndOrganization(String id, String organizationId) {
-        return testingPointRepository.findById(id)
-            .filter(point -> point.getOrganizationId().equals(organizationId))
+        return testingPointRepository.findByIdAndOrganizationId(id, organizationId)
             .flatMap(this::enrichTestingPoint)
             .switchIfEmpty(Mono.error(CustomException.notFound("TestingPoint", id)));
     }
 
+    @Override
+    public Flux<TestingPointNearbyResponse> getWithinRadius(double latitude, double longitude, double radiusMeters,
+                                                            String pointType, String status) {
+        if (radiusMeters <= 0 || radiusMeters > MAX_RADIUS_METERS) {
+            return Flux.error(CustomException.badRequest("Invalid radius",
+                "El radio debe estar entre 0 y " + (long) MAX_RADIUS_METERS + " metros"));
+        }
+        return findNear(latitude, longitude, radiusMeters, pointType, status, MAX_GEO_RESULTS);
+    }
+
+    @Override
+    public Flux<TestingPointNearbyResponse> getNearest(double latitude, double longitude, int k,
+                                                       String pointType, String status) {
+        if (k < 1 || k > MAX_GEO_RESULTS) {
+            return Flux.error(CustomException.badRequest("Invalid k",
+                "k debe estar entre 1 y " + MAX_GEO_RESULTS));
+        }
+        return findNear(latitude, longitude, null, pointType, status, k);
+    }
+
+    private Flux<TestingPointNearbyResponse> findNear(double latitude, double longitude, Double maxDistanceMeters,
+                                                      String pointType, String status, int limit) {
+        if (!new TestingPoint.Coordinates(latitude, longitude).inRange()) {
+            return Flux.error(CustomException.badRequest("Invalid coordinates",
+                "La latitud debe estar entre -90 y 90 y la longitud entre -180 y 180"));
+        }
+        return getCurrentUserOrganizationId()
+            .flatMapMany(orgId -> testingPointRepository.findNear(
+                orgId, latitude, longitude, maxDistanceMeters, pointType, status, limit))
+            .map(this::toNearbyResponse);
+    }
+
+    @Override
+    public Mono<MapViewportResponse> getViewport(double south, double west, double north, double east, int zoom) {
+        if (south > north || west > east || !new TestingPoint.Coordinates(south, west).inRange()
+                || !new TestingPoint.Coordinates(north, east).inRange()) {
+            return Mono.error(CustomException.badRequest("Invalid viewport",
+                "Se espera south <= north y west <= east, con coordenadas dentro de rango"));
+        }
+        if (zoom < 0 || zoom > MAX_MAP_ZOOM) {
+            return Mono.error(CustomException.badRequest("Invalid zoom",
+                "El zoom debe estar entre 0 y " + MAX_MAP_ZOOM));
+        }
+        return getCurrentUserOrganizationId()
+            .flatMap(orgId -> pointClusterIndex.query(orgId, south, west, north, east, zoom));
+    }
+
+    private TestingPointNearbyResponse toNearbyResponse(GeoResult<TestingPoint> result) {
+        TestingPoint point = result.getContent();
+        double meters = result.getDistance().in(Metrics.KILOMETERS).getValue() * 1000;
+        return TestingPointNearbyResponse.builder()
+            .id(point.getId())
+            .pointCode(point.getPointCode())
+            .pointName(point.getPointName())
+            .pointType(point.getPointType())
+            .zoneId(point.getZoneId())
+            .status(point.getStatus())
+            .coordinates(point.getCoordinates())
+            .distanceMeters(Math.round(meters * 10) / 10.0)
+            .build();
+    }
+
+    // Coordenadas fuera de rango no se indexan: el índice 2dsphere rechazaría el documento
+    private GeoJsonPoint toLocation(TestingPoint.Coordinates coordinates) {
+        return coordinates != null && coordinates.inRange() ? coordinates.toGeoJson() : null;
+    }
+
+    // Mapa, resúmenes por zona y sugerencias dependen de los puntos de la organización
+    private void invalidateCaches(TestingPoint point) {
+        pointClusterIndex.invalidate(point.getOrganizationId());
+        zoneSummaryCache.invalidate(point.getOrganizationId());
+        pointPrefixIndex.invalidate(point.getOrganizationId());
+    }
+
     private Mono<String> getCurrentUserOrganizationId() {
-        return Mono.just("6896b2ecf3e398570ffd99d3");
+        return TenantContext.currentOrganizationId();
     }
 
     private Mono<TestingPointEnrichedResponse> enrichTestingPoint(TestingPoint point) {
         Mono<ExternalOrganization> orgMono = externalServiceClient
             .getOrganizationById(point.getOrganizationId());
 
-        return orgMono.map(org -> TestingPointEnrichedResponse.builder()
+        return orgMono.transform(ServerTiming.timedMap(ServerTiming.Category.MAPPING, org -> TestingPointEnrichedResponse.builder()
                 .id(point.getId())
                 .pointCode(point.getPointCode())
                 .pointName(point.getPointName())
@@ -161,8 +266,9 @@ public class TestingPointServiceImpl implements TestingPointService {
                 .status(point.getStatus())
                 .createdAt(point.getCreatedAt())
                 .updatedAt(point.getUpdatedAt())
+                .version(point.getVersion())
                 .organizationId(org)
-                .build())
+                .build()))
             .switchIfEmpty(Mono.just(TestingPointEnrichedResponse.builder()
                 .id(point.getId())
                 .pointCode(point.getPointCode())
@@ -175,14 +281,15 @@ public class TestingPointServiceImpl implements TestingPointService {
                 .status(point.getStatus())
                 .createdAt(point.getCreatedAt())
                 .updatedAt(point.getUpdatedAt())
+                .version(point.getVersion())
                 .organizationId(null)
                 .build()));
     }
 
-    private Mono<String> generateNextPointCode(String pointType) {
+    private Mono<String> generateNextPointCode(String organizationId, String pointType) {
         String prefix = getPointCodePrefix(pointType);
 
-        return testingPointRepository.findAll()
+        return testingPointRepository.findByOrganizationId(organizationId)
             .filter(tp -> tp.getPointCode() != null && tp.getPointCode().startsWith(prefix))
             .sort((tp1, tp2) -> tp2.getPointCode().compareTo(tp1.getPointCode()))
             .next()
@@ -220,11 +327,12 @@ public class TestingPointServiceImpl implements TestingPointService {
             request.getCoordinates().getLatitude(), 
             request.getCoordinates().getLongitude()
         ));
+        testingPoint.setLocation(toLocation(testingPoint.getCoordinates()));
         testingPoint.setCreatedAt(LocalDateTime.now());
         testingPoint.setUpdatedAt(LocalDateTime.now());
         testingPoint.setStatus("ACTIVE");
 
-        return testingPointRepository.save(testingPoint).map(saved -> {
+        return testingPointRepository.save(testingPoint).doOnNext(this::invalidateCaches).map(saved -> {
             TestingPointResponse response = new TestingPointResponse();
             response.setId(saved.getId());
             response.setOrganizationId(saved.getOrganizationId());
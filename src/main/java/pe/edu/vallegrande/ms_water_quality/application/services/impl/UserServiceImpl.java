@@ -1,6 +1,7 @@
 package pe.edu.vallegrande.ms_water_quality.application.services.impl;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import pe.edu.vallegrande.ms_water_quality.application.services.UserService;
@@ -79,27 +80,25 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public Mono<User> update(String id, User user) {
-        return userRepository.findById(id)
+        Update update = new Update()
+            .set("name", user.getName())
+            .set("email", user.getEmail())
+            .set("updatedAt", LocalDateTime.now());
+        return userRepository.updateAtomically(id, null, user.getVersion(), update)
             .switchIfEmpty(Mono.error(new CustomException(
                 HttpStatus.NOT_FOUND.value(),
                 "User not found",
-                "Cannot update non-existent user with id " + id)))
-            .flatMap(existingUser -> {
-                existingUser.setName(user.getName());
-                existingUser.setEmail(user.getEmail());
-                existingUser.setUpdatedAt(LocalDateTime.now());
-                return userRepository.save(existingUser);
-            });
+                "Cannot update non-existent user with id " + id)));
     }
 
     @Override
     public Mono<Void> delete(String id) {
-        return userRepository.findById(id)
+        return userRepository.removeAtomically(id, null, null)
             .switchIfEmpty(Mono.error(new CustomException(
                 HttpStatus.NOT_FOUND.value(),
                 "User not found",
                 "Cannot delete non-existent user with id " + id)))
-            .flatMap(userRepository::delete);
+            .then();
     }
 
     @Override
@@ -113,15 +112,11 @@ public class UserServiceImpl implements UserService {
     }
 
     private Mono<User> changeStatus(String id, String status) {
-        return userRepository.findById(id)
+        Update update = Update.update("status", status).set("updatedAt", LocalDateTime.now());
+        return userRepository.updateAtomically(id, null, null, update)
             .switchIfEmpty(Mono.error(new CustomException(
                 HttpStatus.NOT_FOUND.value(),
                 "User not found",
-                "Cannot change status of non-existent user with id " + id)))
-            .flatMap(user -> {
-                user.setStatus(status);
-                user.setUpdatedAt(LocalDateTime.now());
-                return userRepository.save(user);
-            });
+                "Cannot change status of non-existent user with id " + id)));
     }
 }
\ No newline at end of file
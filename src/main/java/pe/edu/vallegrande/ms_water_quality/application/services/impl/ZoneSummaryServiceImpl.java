@@ -0,0 +1,33 @@
+package pe.edu.vallegrande.ms_water_quality.application.services.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import pe.edu.vallegrande.ms_water_quality.application.services.ZoneSummaryService;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.cache.ZoneSummaryCache;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.ZoneSummaryResponse;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.exception.CustomException;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.security.TenantContext;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+@RequiredArgsConstructor
+public class ZoneSummaryServiceImpl implements ZoneSummaryService {
+
+    private final ZoneSummaryCache zoneSummaryCache;
+
+    @Override
+    public Flux<ZoneSummaryResponse> getAll() {
+        return TenantContext.currentOrganizationId()
+            .flatMap(zoneSummaryCache::get)
+            .flatMapIterable(list -> list);
+    }
+
+    @Override
+    public Mono<ZoneSummaryResponse> getByZone(String zoneId) {
+        return getAll()
+            .filter(summary -> zoneId.equals(summary.getZoneId()))
+            .next()
+            .switchIfEmpty(Mono.error(CustomException.notFound("Zone", zoneId)));
+    }
+}
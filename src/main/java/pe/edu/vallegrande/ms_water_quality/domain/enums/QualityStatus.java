@@ -0,0 +1,12 @@
+package pe.edu.vallegrande.ms_water_quality.domain.enums;
+
+/**
+ * Estado reciente de la calidad del agua en un punto, de menor a mayor gravedad.
+ */
+public enum QualityStatus {
+    OK, NO_DATA, WARNING, CRITICAL;
+
+    public static QualityStatus worst(QualityStatus a, QualityStatus b) {
+        return a.ordinal() >= b.ordinal() ? a : b;
+    }
+}
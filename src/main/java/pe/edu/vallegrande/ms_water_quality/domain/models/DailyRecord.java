@@ -1,10 +1,16 @@
 package pe.edu.vallegrande.ms_water_quality.domain.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.index.TextIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.TextScore;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -12,7 +18,9 @@ import java.util.List;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Document(collection = "daily_records")
+@Document(collection = "daily_records", language = "spanish")
+@CompoundIndex(name = "org_record_type", def = "{'organizationId': 1, 'recordType': 1}")
+@CompoundIndex(name = "org_updated_at", def = "{'organizationId': 1, 'updatedAt': 1, '_id': 1}")
 public class DailyRecord {
 
     @Id
@@ -26,11 +34,25 @@ public class DailyRecord {
     private boolean acceptable;
     private boolean actionRequired;
     private String recordedByUserId;
+    @TextIndexed
     private String observations;
     private Double amount;
     private String recordType; // "CLORO" o "SULFATO"
     private LocalDateTime createdAt;
+    // Cursor de la sincronización incremental: toda escritura lo actualiza
+    private LocalDateTime updatedAt;
+    // Sparse: sólo indexa los borrados lógicamente (purga por retención)
+    @Indexed(name = "deleted_at", sparse = true)
     private LocalDateTime deletedAt;
+
+    // Versión para concurrencia optimista (ETag / If-Match)
+    @Version
+    private Long version;
+
+    // Relevancia de la búsqueda de texto; solo se lee, nunca se guarda
+    @TextScore
+    @JsonIgnore
+    private Float score;
 }
 
     // private LocalDateTime nextChlorinationDate;
@@ -1,12 +1,18 @@
 package pe.edu.vallegrande.ms_water_quality.domain.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.request.QualityTestCreateRequest.TestResult;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.index.TextIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.TextScore;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -14,7 +20,10 @@ import java.util.List;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Document(collection = "quality_tests")
+@Document(collection = "quality_tests", language = "spanish")
+@CompoundIndex(name = "org_test_code", def = "{'organizationId': 1, 'testCode': -1}")
+@CompoundIndex(name = "org_test_date", def = "{'organizationId': 1, 'testDate': 1}")
+@CompoundIndex(name = "org_updated_at", def = "{'organizationId': 1, 'updatedAt': 1, '_id': 1}")
 public class QualityTest {
 
     @Id
@@ -28,13 +37,27 @@ public class QualityTest {
     private String testedByUserId;
     private String weatherConditions;
     private Double waterTemperature;
+    @TextIndexed(weight = 2)
     private String generalObservations;
     private String status;
     private List<TestResult> results;
 
     private LocalDateTime createdAt;
+    // Cursor de la sincronización incremental: toda escritura lo actualiza
+    private LocalDateTime updatedAt;
+    // Sparse: sólo indexa los borrados lógicamente (purga por retención)
+    @Indexed(name = "deleted_at", sparse = true)
     private LocalDateTime deletedAt; // ✅ AGREGADO
 
+    // Versión para concurrencia optimista (ETag / If-Match)
+    @Version
+    private Long version;
+
+    // Relevancia de la búsqueda de texto; solo se lee, nunca se guarda
+    @TextScore
+    @JsonIgnore
+    private Float score;
+
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
@@ -44,6 +67,7 @@ public class QualityTest {
         private Double measuredValue;
         private String unit;
         private String status;
+        @TextIndexed
         private String observations;
     }
 }
\ No newline at end of file
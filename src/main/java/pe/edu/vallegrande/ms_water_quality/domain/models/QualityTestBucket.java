@@ -0,0 +1,62 @@
+package pe.edu.vallegrande.ms_water_quality.domain.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Análisis históricos archivados por punto y mes (patrón bucket). Los datos de cada análisis
+ * quedan consultables en {@code entries}; los resultados de todos van juntos y comprimidos en
+ * {@code results}, en el mismo orden que {@code entries}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "quality_test_buckets")
+@CompoundIndex(name = "org_range", def = "{'organizationId': 1, 'firstTestDate': 1, 'lastTestDate': 1}")
+@CompoundIndex(name = "org_entry_id", def = "{'organizationId': 1, 'entries._id': 1}")
+public class QualityTestBucket {
+
+    // organizationId:testingPointId:yyyy-MM
+    @Id
+    private String id;
+
+    private String organizationId;
+    private String testingPointId;   // primer punto del análisis
+    private String month;            // yyyy-MM de testDate
+    private LocalDateTime firstTestDate;
+    private LocalDateTime lastTestDate;
+    private int count;
+    private List<Entry> entries;
+    private byte[] results;          // JSON deflate de List<List<TestResult>>
+    private int resultsRawBytes;     // tamaño sin comprimir, para las estadísticas
+
+    @Version
+    private Long version;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Entry {
+        @Id
+        private String id;
+        private String testCode;
+        private List<String> testingPointId;
+        private LocalDateTime testDate;
+        private String testType;
+        private String testedByUserId;
+        private String weatherConditions;
+        private Double waterTemperature;
+        private String generalObservations;
+        private String status;
+        private LocalDateTime createdAt;
+        private Long version;
+    }
+}
@@ -0,0 +1,34 @@
+package pe.edu.vallegrande.ms_water_quality.domain.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.annotation.Id;
+
+import java.time.LocalDateTime;
+
+/**
+ * Comando de MongoDB que superó el umbral de latencia, con su plan de ejecución.
+ * Vive en una colección capped: las entradas más antiguas se descartan solas.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@org.springframework.data.mongodb.core.mapping.Document(collection = "slow_queries")
+public class SlowQuery {
+
+    @Id
+    private String id;
+
+    private String collection;
+    private String command;      // find, aggregate, count, ...
+    private String shape;        // filtro/orden normalizado, sin valores
+    private long durationMs;
+    private Long docsExamined;
+    private Long keysExamined;
+    private Long docsReturned;
+    private String planSummary;  // p. ej. "FETCH > IXSCAN {organizationId: 1}" o "COLLSCAN"
+    private Document winningPlan;
+    private LocalDateTime capturedAt;
+}
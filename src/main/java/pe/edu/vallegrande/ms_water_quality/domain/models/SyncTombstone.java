@@ -0,0 +1,32 @@
+package pe.edu.vallegrande.ms_water_quality.domain.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marca de un documento que ya no existe (borrado físico, purga o archivado), para que
+ * los clientes de sincronización lo eliminen de su copia local. El índice TTL sobre
+ * {@code deletedAt} se crea al arrancar con la retención configurada.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "sync_tombstones")
+@CompoundIndex(name = "org_collection_deleted_at",
+    def = "{'organizationId': 1, 'collection': 1, 'deletedAt': 1, 'documentId': 1}")
+public class SyncTombstone {
+
+    @Id
+    private String id;
+
+    private String organizationId;
+    private String collection;
+    private String documentId;
+    private LocalDateTime deletedAt;
+}
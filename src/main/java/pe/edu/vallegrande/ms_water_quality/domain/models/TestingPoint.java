@@ -1,18 +1,28 @@
 package pe.edu.vallegrande.ms_water_quality.domain.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.TextIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.TextScore;
 
 import java.time.LocalDateTime;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Document(collection = "testing_points")
+@Document(collection = "testing_points", language = "spanish")
+@CompoundIndex(name = "org_status", def = "{'organizationId': 1, 'status': 1}")
+@CompoundIndex(name = "org_point_code", def = "{'organizationId': 1, 'pointCode': -1}")
+@CompoundIndex(name = "org_location", def = "{'organizationId': 1, 'location': '2dsphere'}")
+@CompoundIndex(name = "org_updated_at", def = "{'organizationId': 1, 'updated_at': 1, '_id': 1}")
 public class TestingPoint {
 
     @Id
@@ -24,6 +34,7 @@ public class TestingPoint {
     @Field("pointCode")
     private String pointCode;
 
+    @TextIndexed(weight = 3)
     @Field("pointName")
     private String pointName;
 
@@ -33,14 +44,20 @@ public class TestingPoint {
     @Field("zoneId")
     private String zoneId;
 
+    @TextIndexed
     @Field("locationDescription")
     private String locationDescription;
 
+    @TextIndexed(weight = 2)
     @Field("street")
     private String street; // Calle para puntos de tipo DOMICILIO/SUMINISTRO
 
     private Coordinates coordinates;
 
+    // Copia GeoJSON de coordinates para el índice 2dsphere; no se expone en la API
+    @JsonIgnore
+    private GeoJsonPoint location;
+
     private String status = "ACTIVE";
 
     @Field("created_at")
@@ -49,6 +66,15 @@ public class TestingPoint {
     @Field("updated_at")
     private LocalDateTime updatedAt;
 
+    // Versión para concurrencia optimista (ETag / If-Match)
+    @Version
+    private Long version;
+
+    // Relevancia de la búsqueda de texto; solo se lee, nunca se guarda
+    @TextScore
+    @JsonIgnore
+    private Float score;
+
     // Clase interna para coordenadas
     @Data
     @NoArgsConstructor
@@ -56,5 +82,14 @@ public class TestingPoint {
     public static class Coordinates {
         private double latitude;
         private double longitude;
+
+        public boolean inRange() {
+            return latitude >= -90 && latitude <= 90 && longitude >= -180 && longitude <= 180;
+        }
+
+        // GeoJSON ordena los ejes como [longitud, latitud]
+        public GeoJsonPoint toGeoJson() {
+            return new GeoJsonPoint(longitude, latitude);
+        }
     }
 }
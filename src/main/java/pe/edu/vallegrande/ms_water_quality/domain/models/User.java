@@ -1,6 +1,7 @@
 package pe.edu.vallegrande.ms_water_quality.domain.models;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -21,4 +22,7 @@ public class User {
     private String status = "ACTIVE";
     private LocalDateTime createdAt = LocalDateTime.now();
     private LocalDateTime updatedAt;
+
+    @Version
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,49 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.archive;
+
+import pe.edu.vallegrande.ms_water_quality.domain.models.QualityTest;
+import pe.edu.vallegrande.ms_water_quality.domain.models.QualityTestBucket;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.repository.QualityTestBucketRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lectura de los análisis archivados en buckets, expandidos a {@link QualityTest} para que
+ * los servicios los mezclen con los documentos vivos.
+ */
+public class QualityTestArchive {
+
+    private final QualityTestBucketRepository bucketRepository;
+    private final QualityTestBucketCodec codec;
+
+    public QualityTestArchive(QualityTestBucketRepository bucketRepository, QualityTestBucketCodec codec) {
+        this.bucketRepository = bucketRepository;
+        this.codec = codec;
+    }
+
+    public Flux<QualityTest> findBetween(String organizationId, LocalDateTime from, LocalDateTime to) {
+        return bucketRepository.findOverlapping(organizationId, from, to)
+            .concatMapIterable(codec::unpack)
+            .filter(test -> !test.getTestDate().isBefore(from) && !test.getTestDate().isAfter(to));
+    }
+
+    public Mono<QualityTest> findById(String id, String organizationId) {
+        return bucketRepository.findFirstByOrganizationIdAndEntriesId(organizationId, id)
+            .flatMapIterable(codec::unpack)
+            .filter(test -> id.equals(test.getId()))
+            .next();
+    }
+
+    /**
+     * Mayor código de análisis del bucket más reciente, para no reutilizar códigos cuando
+     * todos los análisis de la organización ya están archivados.
+     */
+    public Mono<String> latestTestCode(String organizationId) {
+        return bucketRepository.findFirstByOrganizationIdOrderByLastTestDateDesc(organizationId)
+            .flatMapIterable(QualityTestBucket::getEntries)
+            .map(QualityTestBucket.Entry::getTestCode)
+            .filter(code -> code != null && code.startsWith("ANL"))
+            .reduce((a, b) -> a.compareTo(b) >= 0 ? a : b);
+    }
+}
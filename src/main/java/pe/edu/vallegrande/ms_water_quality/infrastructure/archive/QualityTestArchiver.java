@@ -0,0 +1,215 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.archive;
+
+import com.mongodb.bulk.BulkWriteResult;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import pe.edu.vallegrande.ms_water_quality.domain.models.QualityTest;
+import pe.edu.vallegrande.ms_water_quality.domain.models.QualityTestBucket;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.sync.SyncTombstones;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Mueve los análisis más antiguos que {@code olderThan} de {@code quality_tests} a buckets
+ * mensuales por punto. Primero se guarda el bucket y después se borra el original, sólo si
+ * no cambió mientras tanto (misma versión), y si cambió se quita su copia del bucket; si algo
+ * falla a mitad, la siguiente corrida lo vuelve a archivar sin duplicarlo. Los archivados
+ * salen de la sincronización incremental con una marca de borrado.
+ */
+@Slf4j
+public class QualityTestArchiver implements DisposableBean {
+
+    private static final int BUCKET_WRITE_RETRIES = 3;
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final QualityTestBucketCodec codec;
+    private final SyncTombstones syncTombstones;
+    private final Duration olderThan;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    private final AtomicLong archived = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private final AtomicReference<Mono<Long>> inFlight = new AtomicReference<>();
+    private Disposable schedule;
+
+    public QualityTestArchiver(ReactiveMongoTemplate mongoTemplate, QualityTestBucketCodec codec,
+                               SyncTombstones syncTombstones, Duration olderThan, int batchSize, int maxBatchesPerRun) {
+        this.mongoTemplate = mongoTemplate;
+        this.codec = codec;
+        this.syncTombstones = syncTombstones;
+        this.olderThan = olderThan;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    public void start(Duration initialDelay, Duration period) {
+        schedule = Flux.interval(initialDelay, period, Schedulers.parallel())
+            .onBackpressureDrop()
+            .concatMap(tick -> archiveNow().onErrorResume(error -> {
+                log.warn("No se pudo archivar análisis históricos: {}", error.getMessage());
+                return Mono.empty();
+            }))
+            .subscribe();
+    }
+
+    /**
+     * Corre una pasada de archivado y devuelve cuántos análisis movió. Las llamadas
+     * concurrentes comparten la misma pasada.
+     */
+    public Mono<Long> archiveNow() {
+        Mono<Long> pending = inFlight.get();
+        if (pending != null) {
+            return pending;
+        }
+        Mono<Long> run = Mono.defer(this::run)
+            .doOnNext(moved -> {
+                if (moved > 0) {
+                    log.info("Archivados {} análisis anteriores a {} días", moved, olderThan.toDays());
+                }
+            })
+            .doFinally(signal -> inFlight.set(null))
+            .cache();
+        return inFlight.compareAndSet(null, run) ? run : inFlight.get();
+    }
+
+    public long archived() {
+        return archived.get();
+    }
+
+    public long skipped() {
+        return skipped.get();
+    }
+
+    private Mono<Long> run() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(olderThan);
+        AtomicReference<String> lastId = new AtomicReference<>();
+        long archivedBefore = archived.get();
+        // Se pagina por _id para no volver a leer los que quedaron vivos por cambios concurrentes
+        return Flux.range(0, maxBatchesPerRun)
+            .concatMap(batch -> archiveBatch(cutoff, lastId))
+            .takeUntil(read -> read < batchSize)
+            .then(Mono.fromSupplier(() -> archived.get() - archivedBefore));
+    }
+
+    private Mono<Integer> archiveBatch(LocalDateTime cutoff, AtomicReference<String> lastId) {
+        Criteria criteria = Criteria.where("testDate").lt(cutoff).and("deletedAt").is(null);
+        if (lastId.get() != null) {
+            criteria = criteria.and("id").gt(lastId.get());
+        }
+        Query query = Query.query(criteria).with(Sort.by("id")).limit(batchSize);
+
+        return mongoTemplate.find(query, QualityTest.class).collectList().flatMap(tests -> {
+            if (tests.isEmpty()) {
+                return Mono.just(0);
+            }
+            lastId.set(tests.get(tests.size() - 1).getId());
+            LinkedHashMap<String, List<QualityTest>> buckets = tests.stream().collect(Collectors.groupingBy(
+                QualityTestBucketCodec::bucketId, LinkedHashMap::new, Collectors.toList()));
+            return Flux.fromIterable(buckets.values())
+                .concatMap(this::writeBucket)
+                .then(removeArchived(tests))
+                .map(removed -> {
+                    archived.addAndGet(removed);
+                    skipped.addAndGet(tests.size() - removed);
+                    return tests.size();
+                });
+        });
+    }
+
+    private Mono<QualityTestBucket> writeBucket(List<QualityTest> tests) {
+        String id = QualityTestBucketCodec.bucketId(tests.get(0));
+        // Si otra instancia escribió el mismo bucket, se relee y se vuelve a fusionar
+        return mongoTemplate.findById(id, QualityTestBucket.class)
+            .switchIfEmpty(Mono.fromSupplier(QualityTestBucket::new))
+            .map(bucket -> codec.merge(bucket, tests))
+            .flatMap(mongoTemplate::save)
+            .retryWhen(Retry.max(BUCKET_WRITE_RETRIES)
+                .filter(e -> e instanceof OptimisticLockingFailureException || e instanceof DuplicateKeyException));
+    }
+
+    private Mono<Long> removeArchived(List<QualityTest> tests) {
+        ReactiveBulkOperations remove = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, QualityTest.class);
+        tests.forEach(test -> remove.remove(Query.query(
+            Criteria.where("id").is(test.getId()).and("version").is(test.getVersion()))));
+        return remove.execute()
+            .map(BulkWriteResult::getDeletedCount)
+            .flatMap(removed -> survivors(tests, removed)
+                .flatMap(kept -> evictSurvivors(tests, kept)
+                    .then(syncTombstones.recordAll(mongoTemplate.getCollectionName(QualityTest.class),
+                        tests.stream()
+                            .filter(test -> !kept.contains(test.getId()))
+                            .collect(Collectors.toMap(QualityTest::getId, QualityTest::getOrganizationId)))))
+                .thenReturn(removed.longValue()));
+    }
+
+    // Cambiaron entre la escritura del bucket y el borrado: su copia archivada quedó vieja y,
+    // si después se borran, la lectura por id o por rango la devolvería
+    private Mono<Void> evictSurvivors(List<QualityTest> tests, Set<String> kept) {
+        if (kept.isEmpty()) {
+            return Mono.empty();
+        }
+        Map<String, Map<String, Long>> byBucket = tests.stream()
+            .filter(test -> kept.contains(test.getId()))
+            .collect(Collectors.groupingBy(QualityTestBucketCodec::bucketId, LinkedHashMap::new,
+                Collectors.toMap(QualityTest::getId, QualityTest::getVersion)));
+        return Flux.fromIterable(byBucket.entrySet())
+            .concatMap(bucket -> evictFromBucket(bucket.getKey(), bucket.getValue()))
+            .then();
+    }
+
+    private Mono<Void> evictFromBucket(String id, Map<String, Long> versionById) {
+        return mongoTemplate.findById(id, QualityTestBucket.class)
+            .flatMap(bucket -> {
+                QualityTestBucket remaining = codec.without(bucket, versionById);
+                if (remaining.getCount() > 0) {
+                    return mongoTemplate.save(remaining).then();
+                }
+                // El borrado también va por versión; si no borró nada, otra corrida lo tocó
+                return mongoTemplate.remove(remaining)
+                    .flatMap(result -> result.getDeletedCount() > 0
+                        ? Mono.<Void>empty()
+                        : Mono.error(new OptimisticLockingFailureException("Bucket " + id + " changed")));
+            })
+            .retryWhen(Retry.max(BUCKET_WRITE_RETRIES)
+                .filter(e -> e instanceof OptimisticLockingFailureException));
+    }
+
+    // Sólo si no se borró todo el lote hace falta saber cuáles quedaron vivos
+    private Mono<Set<String>> survivors(List<QualityTest> tests, int removed) {
+        if (removed == tests.size()) {
+            return Mono.just(Set.of());
+        }
+        Query query = Query.query(Criteria.where("id").in(tests.stream().map(QualityTest::getId).toList()));
+        query.fields().include("id");
+        return mongoTemplate.find(query, QualityTest.class).map(QualityTest::getId).collect(Collectors.toSet());
+    }
+
+    @Override
+    public void destroy() {
+        if (schedule != null) {
+            schedule.dispose();
+        }
+    }
+}
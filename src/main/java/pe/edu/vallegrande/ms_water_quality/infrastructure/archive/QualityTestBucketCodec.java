@@ -0,0 +1,176 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.archive;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import pe.edu.vallegrande.ms_water_quality.domain.models.QualityTest;
+import pe.edu.vallegrande.ms_water_quality.domain.models.QualityTestBucket;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Convierte entre análisis y buckets mensuales: arma la clave del bucket, comprime los
+ * resultados y los vuelve a expandir al leer.
+ */
+public class QualityTestBucketCodec {
+
+    private static final TypeReference<List<List<QualityTest.TestResult>>> RESULTS = new TypeReference<>() {
+    };
+    private static final String NO_POINT = "-";
+
+    private final ObjectMapper objectMapper;
+
+    public QualityTestBucketCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public static String bucketId(QualityTest test) {
+        return test.getOrganizationId() + ":" + primaryPoint(test) + ":" + YearMonth.from(test.getTestDate());
+    }
+
+    /**
+     * Suma los análisis al bucket (nuevo o existente). Un análisis ya archivado se reemplaza,
+     * así que volver a archivar el mismo documento no lo duplica.
+     */
+    public QualityTestBucket merge(QualityTestBucket bucket, Collection<QualityTest> tests) {
+        Map<String, QualityTest> byId = new LinkedHashMap<>();
+        unpack(bucket).forEach(test -> byId.put(test.getId(), test));
+        tests.forEach(test -> byId.put(test.getId(), test));
+
+        return pack(bucket, new ArrayList<>(byId.values()));
+    }
+
+    /**
+     * Quita del bucket los análisis indicados (id y versión archivada) y recalcula el resto.
+     * Una entrada con otra versión no se toca: la volvió a archivar otra corrida. Si no queda
+     * ninguno, el bucket vuelve con {@code count} en cero y sin entradas.
+     */
+    public QualityTestBucket without(QualityTestBucket bucket, Map<String, Long> versionById) {
+        List<QualityTest> remaining = new ArrayList<>(unpack(bucket));
+        remaining.removeIf(test -> versionById.containsKey(test.getId())
+            && Objects.equals(versionById.get(test.getId()), test.getVersion()));
+        if (remaining.isEmpty()) {
+            bucket.setCount(0);
+            bucket.setEntries(List.of());
+            bucket.setResults(null);
+            bucket.setResultsRawBytes(0);
+            return bucket;
+        }
+        return pack(bucket, remaining);
+    }
+
+    private QualityTestBucket pack(QualityTestBucket bucket, List<QualityTest> ordered) {
+        ordered.sort(Comparator.comparing(QualityTest::getTestDate).thenComparing(QualityTest::getId));
+        QualityTest first = ordered.get(0);
+
+        List<QualityTestBucket.Entry> entries = new ArrayList<>(ordered.size());
+        List<List<QualityTest.TestResult>> results = new ArrayList<>(ordered.size());
+        for (QualityTest test : ordered) {
+            entries.add(new QualityTestBucket.Entry(test.getId(), test.getTestCode(), test.getTestingPointId(),
+                test.getTestDate(), test.getTestType(), test.getTestedByUserId(), test.getWeatherConditions(),
+                test.getWaterTemperature(), test.getGeneralObservations(), test.getStatus(), test.getCreatedAt(),
+                test.getVersion()));
+            results.add(test.getResults() != null ? test.getResults() : List.of());
+        }
+
+        byte[] raw = write(results);
+        bucket.setId(bucketId(first));
+        bucket.setOrganizationId(first.getOrganizationId());
+        bucket.setTestingPointId(primaryPoint(first));
+        bucket.setMonth(YearMonth.from(first.getTestDate()).toString());
+        bucket.setFirstTestDate(first.getTestDate());
+        bucket.setLastTestDate(ordered.get(ordered.size() - 1).getTestDate());
+        bucket.setCount(ordered.size());
+        bucket.setEntries(entries);
+        bucket.setResults(deflate(raw));
+        bucket.setResultsRawBytes(raw.length);
+        return bucket;
+    }
+
+    /**
+     * Reconstruye los análisis del bucket tal como estaban en {@code quality_tests}.
+     */
+    public List<QualityTest> unpack(QualityTestBucket bucket) {
+        if (bucket.getEntries() == null || bucket.getEntries().isEmpty()) {
+            return List.of();
+        }
+        List<List<QualityTest.TestResult>> results = read(inflate(bucket.getResults()));
+        List<QualityTest> tests = new ArrayList<>(bucket.getEntries().size());
+        for (int i = 0; i < bucket.getEntries().size(); i++) {
+            QualityTestBucket.Entry entry = bucket.getEntries().get(i);
+            QualityTest test = new QualityTest();
+            test.setId(entry.getId());
+            test.setOrganizationId(bucket.getOrganizationId());
+            test.setTestCode(entry.getTestCode());
+            test.setTestingPointId(entry.getTestingPointId());
+            test.setTestDate(entry.getTestDate());
+            test.setTestType(entry.getTestType());
+            test.setTestedByUserId(entry.getTestedByUserId());
+            test.setWeatherConditions(entry.getWeatherConditions());
+            test.setWaterTemperature(entry.getWaterTemperature());
+            test.setGeneralObservations(entry.getGeneralObservations());
+            test.setStatus(entry.getStatus());
+            test.setCreatedAt(entry.getCreatedAt());
+            test.setVersion(entry.getVersion());
+            test.setResults(i < results.size() ? results.get(i) : List.of());
+            tests.add(test);
+        }
+        return tests;
+    }
+
+    private static String primaryPoint(QualityTest test) {
+        List<String> points = test.getTestingPointId();
+        return points != null && !points.isEmpty() && points.get(0) != null ? points.get(0) : NO_POINT;
+    }
+
+    private byte[] write(List<List<QualityTest.TestResult>> results) {
+        try {
+            return objectMapper.writerFor(RESULTS).writeValueAsBytes(results);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private List<List<QualityTest.TestResult>> read(byte[] raw) {
+        try {
+            return objectMapper.readValue(raw, RESULTS);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+        try (OutputStream out = new DeflaterOutputStream(buffer)) {
+            out.write(raw);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static byte[] inflate(byte[] compressed) {
+        if (compressed == null || compressed.length == 0) {
+            return "[]".getBytes();
+        }
+        try (InputStream in = new InflaterInputStream(new ByteArrayInputStream(compressed))) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
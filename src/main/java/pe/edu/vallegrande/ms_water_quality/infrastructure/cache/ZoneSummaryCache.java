@@ -0,0 +1,48 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.cache;
+
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.ZoneSummaryResponse;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.repository.TestingPointRepository;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resúmenes por zona cacheados por organización. Los servicios de puntos, análisis y registros
+ * diarios los invalidan al escribir; {@code ttl} acota cuánto se mueve la ventana reciente.
+ */
+public class ZoneSummaryCache {
+
+    private final TestingPointRepository testingPointRepository;
+    private final Duration ttl;
+    private final Duration recentWindow;
+
+    private final Map<String, Mono<List<ZoneSummaryResponse>>> summaries = new ConcurrentHashMap<>();
+
+    public ZoneSummaryCache(TestingPointRepository testingPointRepository, Duration ttl, Duration recentWindow) {
+        this.testingPointRepository = testingPointRepository;
+        this.ttl = ttl;
+        this.recentWindow = recentWindow;
+    }
+
+    public Mono<List<ZoneSummaryResponse>> get(String organizationId) {
+        // Una sola agregación por organización; los errores no se guardan
+        return summaries.computeIfAbsent(organizationId, orgId -> Mono.defer(() -> testingPointRepository
+                .summarizeZones(orgId, LocalDateTime.now().minus(recentWindow))
+                .collectList())
+            .cache(list -> ttl, error -> Duration.ZERO, () -> Duration.ZERO));
+    }
+
+    public void invalidate(String organizationId) {
+        if (organizationId != null) {
+            summaries.remove(organizationId);
+        }
+    }
+
+    public int size() {
+        return summaries.size();
+    }
+}
@@ -0,0 +1,198 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.client;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Signal;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Peticiones con cobertura (hedging) hacia servicios externos: si la llamada no respondió
+ * dentro del percentil configurado de las latencias recientes de ese endpoint, se lanza una
+ * segunda idéntica y se toma la primera respuesta exitosa; la otra se cancela. Un error sólo
+ * se propaga si fallan las dos, o si la original falla antes de lanzar la cobertura.
+ * <p>
+ * Un presupuesto global de fichas limita las coberturas a una fracción de las peticiones
+ * (cada petición deposita {@code budgetRatio} fichas y cada cobertura gasta una), así que
+ * durante una caída del servicio la carga extra queda acotada y no se duplica.
+ * <p>
+ * Sólo debe usarse con peticiones idempotentes: la fuente se suscribe dos veces.
+ */
+public class RequestHedger {
+
+    // El presupuesto se lleva en milésimas de ficha para poder usar un AtomicLong
+    private static final long TOKEN = 1000;
+
+    private final boolean enabled;
+    private final double percentile;
+    private final long minDelayNanos;
+    private final long maxDelayNanos;
+    private final long initialDelayNanos;
+    private final int windowSize;
+    private final int minSamples;
+    private final long deposit;
+    private final long maxTokens;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicLong tokens;
+    private final Map<String, LatencyWindow> windows = new ConcurrentHashMap<>();
+
+    public RequestHedger(boolean enabled, double percentile, Duration minDelay, Duration maxDelay, Duration initialDelay,
+                         int windowSize, int minSamples, double budgetRatio, int budgetBurst, MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.percentile = percentile;
+        this.minDelayNanos = minDelay.toNanos();
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.initialDelayNanos = initialDelay.toNanos();
+        this.windowSize = windowSize;
+        this.minSamples = minSamples;
+        this.deposit = Math.round(budgetRatio * TOKEN);
+        this.maxTokens = budgetBurst * TOKEN;
+        this.tokens = new AtomicLong(maxTokens);
+        this.meterRegistry = meterRegistry;
+
+        if (meterRegistry != null) {
+            Gauge.builder("water_quality.hedging.budget_tokens", tokens, value -> (double) value.get() / TOKEN)
+                .description("Coberturas disponibles en el presupuesto global").register(meterRegistry);
+        }
+    }
+
+    /**
+     * Sin coberturas: las peticiones se envían una sola vez.
+     */
+    public static RequestHedger disabled() {
+        return new RequestHedger(false, 0.95, Duration.ZERO, Duration.ZERO, Duration.ZERO, 1, 1, 0, 0, null);
+    }
+
+    public <T> Mono<T> hedge(String endpoint, Mono<T> request) {
+        if (!enabled) {
+            return request;
+        }
+        return Mono.defer(() -> {
+            LatencyWindow window = windows.computeIfAbsent(endpoint, this::newWindow);
+            depositToken();
+            count("water_quality.hedging.requests", endpoint);
+
+            AtomicBoolean hedged = new AtomicBoolean();
+            Mono<T> primary = timed(request, window)
+                .doOnSuccess(value -> {
+                    if (hedged.get()) {
+                        count("water_quality.hedging.wins", endpoint, "winner", "primary");
+                    }
+                });
+            Mono<Signal<T>> hedge = Mono.delay(Duration.ofNanos(window.delayNanos()))
+                .flatMap(tick -> {
+                    if (!tryAcquireToken()) {
+                        count("water_quality.hedging.hedges", endpoint, "outcome", "denied");
+                        return Mono.empty();
+                    }
+                    hedged.set(true);
+                    count("water_quality.hedging.hedges", endpoint, "outcome", "sent");
+                    return timed(request, window)
+                        .doOnSuccess(value -> count("water_quality.hedging.wins", endpoint, "winner", "hedge"))
+                        .materialize();
+                });
+            // Se comparan señales y no valores para que una respuesta vacía también gane. Con la
+            // cobertura en vuelo, el primer error se descarta y se espera a la otra petición
+            AtomicInteger failures = new AtomicInteger();
+            return Flux.merge(primary.materialize(), hedge)
+                .filter(signal -> !signal.isOnError() || !hedged.get() || failures.incrementAndGet() == 2)
+                .next()
+                .dematerialize();
+        });
+    }
+
+    // #region Presupuesto
+
+    private void depositToken() {
+        tokens.updateAndGet(current -> Math.min(maxTokens, current + deposit));
+    }
+
+    private boolean tryAcquireToken() {
+        long current;
+        do {
+            current = tokens.get();
+            if (current < TOKEN) {
+                return false;
+            }
+        } while (!tokens.compareAndSet(current, current - TOKEN));
+        return true;
+    }
+
+    // #endregion
+
+    private static <T> Mono<T> timed(Mono<T> request, LatencyWindow window) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return request.doOnSuccess(value -> window.record(System.nanoTime() - start));
+        });
+    }
+
+    private LatencyWindow newWindow(String endpoint) {
+        LatencyWindow window = new LatencyWindow();
+        if (meterRegistry != null) {
+            Gauge.builder("water_quality.hedging.delay", window, value -> value.delayNanos() / 1_000_000.0)
+                .description("Espera antes de lanzar la cobertura (ms)")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+        }
+        return window;
+    }
+
+    private void count(String name, String endpoint, String... tags) {
+        if (meterRegistry != null) {
+            String[] all = new String[tags.length + 2];
+            all[0] = "endpoint";
+            all[1] = endpoint;
+            System.arraycopy(tags, 0, all, 2, tags.length);
+            meterRegistry.counter(name, all).increment();
+        }
+    }
+
+    /**
+     * Últimas {@code windowSize} latencias exitosas de un endpoint. El percentil se recalcula
+     * cada {@code minSamples} muestras: sólo la respuesta que completa el lote paga el ordenamiento.
+     */
+    private final class LatencyWindow {
+
+        private final AtomicLongArray samples = new AtomicLongArray(windowSize);
+        private final AtomicLong recorded = new AtomicLong();
+        private final AtomicBoolean recomputing = new AtomicBoolean();
+        private volatile long delayNanos = initialDelayNanos;
+
+        void record(long nanos) {
+            long count = recorded.getAndIncrement();
+            samples.set((int) (count % windowSize), nanos);
+            if ((count + 1) % minSamples == 0 && recomputing.compareAndSet(false, true)) {
+                try {
+                    delayNanos = percentileOf((int) Math.min(count + 1, windowSize));
+                } finally {
+                    recomputing.set(false);
+                }
+            }
+        }
+
+        long delayNanos() {
+            return delayNanos;
+        }
+
+        private long percentileOf(int size) {
+            long[] sorted = new long[size];
+            for (int i = 0; i < size; i++) {
+                sorted[i] = samples.get(i);
+            }
+            Arrays.sort(sorted);
+            long value = sorted[Math.min(size - 1, (int) Math.ceil(percentile * size) - 1)];
+            return Math.max(minDelayNanos, Math.min(maxDelayNanos, value));
+        }
+    }
+}
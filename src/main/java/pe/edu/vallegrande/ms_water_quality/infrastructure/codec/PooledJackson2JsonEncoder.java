@@ -0,0 +1,71 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.codec;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.exc.InvalidDefinitionException;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.CodecException;
+import org.springframework.core.codec.EncodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.codec.json.Jackson2CodecSupport;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.util.MimeType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+
+/**
+ * Encoder JSON que escribe directamente sobre un {@link DataBuffer} del pool del servidor
+ * (Netty) en lugar de pasar por un {@code byte[]} intermedio: en listados de varios MB evita
+ * asignar y copiar el arreglo completo en cada respuesta.
+ * <p>
+ * Las peticiones con {@code @JsonView} siguen el camino de Spring sin cambios.
+ */
+public class PooledJackson2JsonEncoder extends Jackson2JsonEncoder {
+
+    private final int initialBufferSize;
+
+    public PooledJackson2JsonEncoder(ObjectMapper objectMapper, int initialBufferSize) {
+        super(objectMapper);
+        this.initialBufferSize = initialBufferSize;
+    }
+
+    @Override
+    public DataBuffer encodeValue(Object value, DataBufferFactory bufferFactory, ResolvableType valueType,
+                                  MimeType mimeType, Map<String, Object> hints) {
+        ObjectMapper mapper = selectObjectMapper(valueType, mimeType);
+        if (mapper == null || (hints != null && hints.containsKey(Jackson2CodecSupport.JSON_VIEW_HINT))) {
+            return super.encodeValue(value, bufferFactory, valueType, mimeType, hints);
+        }
+
+        JavaType javaType = getJavaType(valueType.getType(), null);
+        ObjectWriter writer = javaType.isContainerType() ? mapper.writerFor(javaType) : mapper.writer();
+        writer = customizeWriter(writer, mimeType, valueType, hints);
+
+        DataBuffer buffer = bufferFactory.allocateBuffer(initialBufferSize);
+        boolean release = true;
+        try (OutputStream out = buffer.asOutputStream();
+             JsonGenerator generator = mapper.getFactory().createGenerator(out, getJsonEncoding(mimeType))) {
+            writer.writeValue(generator, value);
+            generator.flush();
+            release = false;
+            return buffer;
+        } catch (InvalidDefinitionException ex) {
+            throw new CodecException("Type definition error: " + ex.getType(), ex);
+        } catch (JsonProcessingException ex) {
+            throw new EncodingException("JSON encoding error: " + ex.getOriginalMessage(), ex);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Unexpected I/O error while writing to data buffer", ex);
+        } finally {
+            if (release) {
+                DataBufferUtils.release(buffer);
+            }
+        }
+    }
+}
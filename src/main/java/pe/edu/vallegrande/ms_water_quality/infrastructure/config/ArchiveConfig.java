@@ -0,0 +1,81 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.archive.QualityTestArchive;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.archive.QualityTestArchiver;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.archive.QualityTestBucketCodec;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.repository.QualityTestBucketRepository;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.sync.SyncTombstones;
+
+import java.time.Duration;
+
+/**
+ * Archivado de análisis históricos en buckets mensuales por punto: el job periódico y la
+ * lectura que los servicios mezclan con los documentos vivos.
+ */
+@Configuration
+public class ArchiveConfig {
+
+    @Value("${archive.quality-tests.enabled:true}")
+    private boolean enabled;
+
+    @Value("${archive.quality-tests.older-than-days:365}")
+    private long olderThanDays;
+
+    @Value("${archive.quality-tests.batch-size:500}")
+    private int batchSize;
+
+    @Value("${archive.quality-tests.max-batches-per-run:200}")
+    private int maxBatchesPerRun;
+
+    @Value("${archive.quality-tests.initial-delay-minutes:5}")
+    private long initialDelayMinutes;
+
+    @Value("${archive.quality-tests.interval-minutes:360}")
+    private long intervalMinutes;
+
+    @Bean
+    public QualityTestBucketCodec qualityTestBucketCodec(ObjectMapper objectMapper) {
+        return new QualityTestBucketCodec(objectMapper);
+    }
+
+    @Bean
+    public QualityTestArchive qualityTestArchive(QualityTestBucketRepository bucketRepository,
+                                                 QualityTestBucketCodec qualityTestBucketCodec) {
+        return new QualityTestArchive(bucketRepository, qualityTestBucketCodec);
+    }
+
+    @Bean
+    public QualityTestArchiver qualityTestArchiver(ReactiveMongoTemplate mongoTemplate,
+                                                   QualityTestBucketCodec qualityTestBucketCodec,
+                                                   SyncTombstones syncTombstones,
+                                                   MeterRegistry meterRegistry) {
+        QualityTestArchiver archiver = new QualityTestArchiver(mongoTemplate, qualityTestBucketCodec, syncTombstones,
+            Duration.ofDays(olderThanDays), batchSize, maxBatchesPerRun);
+        FunctionCounter.builder("water_quality.archive.tests", archiver, QualityTestArchiver::archived)
+            .tag("result", "archived")
+            .description("Análisis movidos a buckets históricos")
+            .register(meterRegistry);
+        FunctionCounter.builder("water_quality.archive.tests", archiver, QualityTestArchiver::skipped)
+            .tag("result", "skipped")
+            .register(meterRegistry);
+        return archiver;
+    }
+
+    // Con lazy-initialization el archivador no se crea hasta que alguien lo pide
+    @EventListener(ApplicationReadyEvent.class)
+    public void startArchiving(ApplicationReadyEvent event) {
+        if (enabled) {
+            event.getApplicationContext().getBean(QualityTestArchiver.class)
+                .start(Duration.ofMinutes(initialDelayMinutes), Duration.ofMinutes(intervalMinutes));
+        }
+    }
+}
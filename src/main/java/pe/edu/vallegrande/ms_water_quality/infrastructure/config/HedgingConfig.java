@@ -0,0 +1,55 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.client.RequestHedger;
+
+import java.time.Duration;
+
+/**
+ * Peticiones con cobertura hacia ms-users ({@code hedging.*}): umbral adaptativo por endpoint
+ * y presupuesto global de coberturas.
+ */
+@Configuration
+public class HedgingConfig {
+
+    @Value("${hedging.enabled:true}")
+    private boolean enabled;
+
+    @Value("${hedging.percentile:0.95}")
+    private double percentile;
+
+    @Value("${hedging.min-delay-ms:20}")
+    private long minDelayMs;
+
+    @Value("${hedging.max-delay-ms:1000}")
+    private long maxDelayMs;
+
+    @Value("${hedging.initial-delay-ms:300}")
+    private long initialDelayMs;
+
+    @Value("${hedging.window-size:1000}")
+    private int windowSize;
+
+    @Value("${hedging.min-samples:50}")
+    private int minSamples;
+
+    @Value("${hedging.budget-ratio:0.1}")
+    private double budgetRatio;
+
+    @Value("${hedging.budget-burst:10}")
+    private int budgetBurst;
+
+    @Bean
+    public RequestHedger requestHedger(ObjectProvider<MeterRegistry> meterRegistry) {
+        if (!enabled) {
+            return RequestHedger.disabled();
+        }
+        return new RequestHedger(true, percentile, Duration.ofMillis(minDelayMs), Duration.ofMillis(maxDelayMs),
+            Duration.ofMillis(initialDelayMs), windowSize, minSamples, budgetRatio, budgetBurst,
+            meterRegistry.getIfAvailable());
+    }
+}
@@ -0,0 +1,85 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import pe.edu.vallegrande.ms_water_quality.domain.models.DailyRecord;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.cache.ZoneSummaryCache;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.ingest.JsonLinesSpillover;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.ingest.WriteBehindBuffer;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.repository.DailyRecordRepository;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Ingesta diferida de registros diarios (cloradores automáticos): buffer acotado que escribe
+ * en lotes bulk sin orden.
+ */
+@Configuration
+public class IngestConfig {
+
+    @Value("${ingest.daily-records.capacity:10000}")
+    private int capacity;
+
+    @Value("${ingest.daily-records.batch-size:500}")
+    private int batchSize;
+
+    @Value("${ingest.daily-records.flush-interval-ms:200}")
+    private long flushIntervalMs;
+
+    @Value("${ingest.daily-records.max-retries:3}")
+    private int maxRetries;
+
+    @Value("${ingest.daily-records.max-backoff-seconds:30}")
+    private long maxBackoffSeconds;
+
+    @Value("${ingest.daily-records.shutdown-timeout-seconds:20}")
+    private long shutdownTimeoutSeconds;
+
+    @Value("${ingest.daily-records.spill-file:data/ingest/daily_records.jsonl}")
+    private String spillFile;
+
+    @Bean
+    public WriteBehindBuffer<DailyRecord> dailyRecordIngestBuffer(DailyRecordRepository dailyRecordRepository,
+                                                                  ZoneSummaryCache zoneSummaryCache,
+                                                                  ObjectMapper objectMapper,
+                                                                  MeterRegistry meterRegistry) {
+        WriteBehindBuffer<DailyRecord> buffer = new WriteBehindBuffer<>("daily_records", capacity, batchSize,
+            Duration.ofMillis(flushIntervalMs), maxRetries, Duration.ofSeconds(maxBackoffSeconds),
+            Duration.ofSeconds(shutdownTimeoutSeconds),
+            dailyRecordRepository::insertUnordered,
+            records -> records.stream().map(DailyRecord::getOrganizationId).distinct()
+                .forEach(zoneSummaryCache::invalidate),
+            new JsonLinesSpillover<>(Path.of(spillFile), objectMapper, DailyRecord.class));
+        Gauge.builder("water_quality.ingest.pending", buffer, WriteBehindBuffer::size)
+            .description("Registros diarios encolados o en el lote en vuelo")
+            .register(meterRegistry);
+        FunctionCounter.builder("water_quality.ingest.records", buffer, WriteBehindBuffer::written)
+            .tag("result", "written")
+            .description("Registros diarios procesados por la ingesta diferida")
+            .register(meterRegistry);
+        FunctionCounter.builder("water_quality.ingest.records", buffer, WriteBehindBuffer::requeued)
+            .tag("result", "requeued")
+            .register(meterRegistry);
+        FunctionCounter.builder("water_quality.ingest.records", buffer, WriteBehindBuffer::spilled)
+            .tag("result", "spilled")
+            .register(meterRegistry);
+        FunctionCounter.builder("water_quality.ingest.records", buffer, WriteBehindBuffer::rejected)
+            .tag("result", "rejected")
+            .register(meterRegistry);
+        return buffer;
+    }
+
+    // Con lazy-initialization el buffer no se crea hasta la primera ingesta
+    @EventListener(ApplicationReadyEvent.class)
+    public void replaySpilledRecords(ApplicationReadyEvent event) {
+        event.getApplicationContext().getBean("dailyRecordIngestBuffer", WriteBehindBuffer.class).replaySpilled();
+    }
+}
@@ -0,0 +1,43 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.codec.PooledJackson2JsonEncoder;
+
+/**
+ * Ajustes del camino de serialización Jackson de las respuestas enriquecidas: accesores
+ * generados en tiempo de ejecución (Blackbird) en lugar de reflexión, y encoder JSON que
+ * escribe sobre buffers del pool de Netty.
+ */
+@Configuration
+public class JsonCodecConfig {
+
+    @Value("${json-codec.initial-buffer-size:8192}")
+    private int initialBufferSize;
+
+    /**
+     * Spring Boot registra los {@code Module} declarados como bean en
+     * {@code Jackson2ObjectMapperBuilder}, así que aplica al JSON y también a Smile y CBOR.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "json-codec.blackbird", havingValue = "true", matchIfMissing = true)
+    public BlackbirdModule blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    // Se aplica antes que los demás customizers para que el encoder de Server-Timing,
+    // que extiende a éste, lo reemplace cuando está activo
+    @Bean
+    @Order(0)
+    @ConditionalOnProperty(name = "json-codec.pooled-buffers", havingValue = "true", matchIfMissing = true)
+    public CodecCustomizer pooledJsonCodecCustomizer(ObjectMapper objectMapper) {
+        return configurer -> configurer.defaultCodecs()
+            .jackson2JsonEncoder(new PooledJackson2JsonEncoder(objectMapper, initialBufferSize));
+    }
+}
@@ -1,20 +1,92 @@
 package pe.edu.vallegrande.ms_water_quality.infrastructure.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
 import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
-import org.springframework.security.oauth2.jwt.ReactiveJwtDecoders;
+import org.springframework.web.reactive.function.client.WebClient;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.security.CachingReactiveJwtDecoder;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.security.JwkSetSource;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.security.VerifiedTokenCache;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Validación de JWT sin depender del discovery de Keycloak al arrancar: las claves salen de
+ * un JWKS local (archivo o secreto) o de {@code jwk-set-uri}, y los tokens verificados se cachean.
+ */
+@Slf4j
 @Configuration
 public class JwtConfig  {
-    
+
     @Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}")
     private String issuerUri;
 
+    @Value("${spring.security.oauth2.resourceserver.jwt.jwk-set-uri}")
+    private String jwkSetUri;
+
+    @Value("${security.jwt.jwks-location:}")
+    private String jwksLocation;
+
+    @Value("${security.jwt.jwks-json:}")
+    private String jwksJson;
+
+    @Value("${security.jwt.jwks-refresh-minutes:15}")
+    private long jwksRefreshMinutes;
+
+    @Value("${security.jwt.cache.max-entries:10000}")
+    private int cacheMaxEntries;
+
+    @Value("${security.jwt.cache.max-ttl-minutes:15}")
+    private long cacheMaxTtlMinutes;
+
+    @Bean
+    @Lazy(false)
+    public JwkSetSource jwkSetSource(WebClient.Builder builder, ResourceLoader resourceLoader) {
+        JwkSetSource source = new JwkSetSource(builder.clone().build(), jwkSetUri);
+        boolean bootstrapped = false;
+        if (!jwksJson.isBlank()) {
+            bootstrapped = source.bootstrap(jwksJson, "security.jwt.jwks-json");
+        } else if (!jwksLocation.isBlank()) {
+            Resource resource = resourceLoader.getResource(jwksLocation);
+            try {
+                bootstrapped = source.bootstrap(resource.getContentAsString(StandardCharsets.UTF_8), jwksLocation);
+            } catch (IOException e) {
+                log.warn("No se pudo leer el JWKS local {}: {}", jwksLocation, e.getMessage());
+            }
+        }
+        Duration period = Duration.ofMinutes(jwksRefreshMinutes);
+        // Sin JWKS local, la primera descarga se lanza de inmediato en segundo plano
+        source.startRefreshing(bootstrapped && source.hasKeys() ? period : Duration.ZERO, period);
+        return source;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "security.jwt.cache.enabled", havingValue = "true", matchIfMissing = true)
+    public VerifiedTokenCache verifiedTokenCache(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new VerifiedTokenCache(cacheMaxEntries, Duration.ofMinutes(cacheMaxTtlMinutes), Clock.systemUTC(),
+            meterRegistry.getIfAvailable());
+    }
+
     @Bean
-    public ReactiveJwtDecoder reactiveJwtDecoder() {
-        return ReactiveJwtDecoders.fromIssuerLocation(issuerUri);
+    public ReactiveJwtDecoder reactiveJwtDecoder(JwkSetSource jwkSetSource,
+                                                 ObjectProvider<VerifiedTokenCache> tokenCache) {
+        NimbusReactiveJwtDecoder decoder = NimbusReactiveJwtDecoder.withJwkSource(jwkSetSource).build();
+        decoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(issuerUri));
+        VerifiedTokenCache cache = tokenCache.getIfAvailable();
+        return cache != null ? new CachingReactiveJwtDecoder(decoder, cache) : decoder;
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,45 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.geo.PointClusterIndex;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.repository.DailyRecordRepository;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.repository.QualityTestRepository;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.repository.TestingPointRepository;
+
+import java.time.Duration;
+
+/**
+ * Índice de agrupación del mapa de puntos de muestreo.
+ */
+@Configuration
+public class MapClusterConfig {
+
+    @Value("${map-cluster.point-zoom:15}")
+    private int pointZoom;
+
+    @Value("${map-cluster.max-items:500}")
+    private int maxItems;
+
+    @Value("${map-cluster.refresh-seconds:60}")
+    private long refreshSeconds;
+
+    @Value("${map-cluster.recent-days:30}")
+    private long recentDays;
+
+    @Bean
+    public PointClusterIndex pointClusterIndex(TestingPointRepository testingPointRepository,
+                                               QualityTestRepository qualityTestRepository,
+                                               DailyRecordRepository dailyRecordRepository,
+                                               MeterRegistry meterRegistry) {
+        PointClusterIndex index = new PointClusterIndex(testingPointRepository, qualityTestRepository,
+            dailyRecordRepository, Duration.ofSeconds(refreshSeconds), Duration.ofDays(recentDays), pointZoom, maxItems);
+        Gauge.builder("water_quality.map.grids", index, PointClusterIndex::size)
+            .description("Organizaciones con rejilla de mapa en memoria")
+            .register(meterRegistry);
+        return index;
+    }
+}
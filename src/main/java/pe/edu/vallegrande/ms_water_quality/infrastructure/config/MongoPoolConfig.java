@@ -0,0 +1,85 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.mongo.AdaptiveMongoLimiter;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.mongo.MongoConcurrency;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.mongo.MongoLimiterAspect;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pool de conexiones de MongoDB y concurrencia de enriquecimiento configurados en un solo lugar
+ * ({@code mongo-pool.*}), más el limitador adaptativo de operaciones en curso.
+ */
+@Configuration
+public class MongoPoolConfig {
+
+    @Value("${mongo-pool.max-size:16}")
+    private int maxSize;
+
+    @Value("${mongo-pool.min-size:2}")
+    private int minSize;
+
+    @Value("${mongo-pool.max-wait-ms:2000}")
+    private long maxWaitMs;
+
+    @Value("${mongo-pool.max-connecting:2}")
+    private int maxConnecting;
+
+    @Value("${mongo-pool.enrichment-concurrency:0}")
+    private int enrichmentConcurrency;
+
+    @Value("${mongo-pool.lookup-concurrency:4}")
+    private int lookupConcurrency;
+
+    @Value("${mongo-pool.limiter.checkout-target-ms:10}")
+    private long checkoutTargetMs;
+
+    @Value("${mongo-pool.limiter.queue-size:1000}")
+    private int queueSize;
+
+    @Bean
+    public MongoConcurrency mongoConcurrency() {
+        return new MongoConcurrency(maxSize, minSize, Duration.ofMillis(maxWaitMs), maxConnecting,
+            enrichmentConcurrency, lookupConcurrency);
+    }
+
+    /**
+     * Se aplica después del customizer de Spring Boot, así que prevalece sobre los valores de la URI.
+     */
+    @Bean
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public MongoClientSettingsBuilderCustomizer mongoPoolCustomizer(MongoConcurrency concurrency,
+                                                                    ObjectProvider<AdaptiveMongoLimiter> limiter) {
+        return builder -> builder.applyToConnectionPoolSettings(pool -> {
+            pool.maxSize(concurrency.getPoolMaxSize())
+                .minSize(concurrency.getPoolMinSize())
+                .maxWaitTime(concurrency.getMaxWait().toMillis(), TimeUnit.MILLISECONDS)
+                .maxConnecting(concurrency.getMaxConnecting());
+            limiter.ifAvailable(pool::addConnectionPoolListener);
+        });
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "mongo-pool.limiter.enabled", havingValue = "true", matchIfMissing = true)
+    public AdaptiveMongoLimiter adaptiveMongoLimiter(MongoConcurrency concurrency,
+                                                     ObjectProvider<MeterRegistry> meterRegistry) {
+        return new AdaptiveMongoLimiter(concurrency, Duration.ofMillis(checkoutTargetMs), queueSize,
+            meterRegistry.getIfAvailable());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "mongo-pool.limiter.enabled", havingValue = "true", matchIfMissing = true)
+    public MongoLimiterAspect mongoLimiterAspect(AdaptiveMongoLimiter limiter) {
+        return new MongoLimiterAspect(limiter);
+    }
+}
@@ -0,0 +1,49 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.web.RateLimitPolicy;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.web.RateLimitWebFilter;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.web.RateLimiter;
+
+import java.time.Duration;
+
+/**
+ * Límite de tasa por organización y por token. Los valores de {@code rate-limit.*} son los
+ * iniciales; se cambian en caliente con {@code PUT /api/admin/quality/rate-limits}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+
+    @Value("${rate-limit.organization:list=20/40,detail=100/200,write=30/60,bulk=2/4}")
+    private String organizationLimits;
+
+    @Value("${rate-limit.subject:list=5/10,detail=30/60,write=10/20,bulk=1/2}")
+    private String subjectLimits;
+
+    @Value("${rate-limit.idle-timeout-seconds:300}")
+    private long idleTimeoutSeconds;
+
+    @Value("${rate-limit.path-prefix:/api/admin/}")
+    private String pathPrefix;
+
+    @Bean
+    public RateLimiter rateLimiter(MeterRegistry meterRegistry) {
+        RateLimiter rateLimiter = new RateLimiter(RateLimitPolicy.parse(organizationLimits, subjectLimits),
+            Duration.ofSeconds(idleTimeoutSeconds));
+        Gauge.builder("water_quality.rate_limit.buckets", rateLimiter, RateLimiter::size)
+            .description("Buckets activos (organización y sujeto por clase de endpoint)")
+            .register(meterRegistry);
+        return rateLimiter;
+    }
+
+    @Bean
+    public RateLimitWebFilter rateLimitWebFilter(RateLimiter rateLimiter, MeterRegistry meterRegistry) {
+        return new RateLimitWebFilter(rateLimiter, pathPrefix, meterRegistry);
+    }
+}
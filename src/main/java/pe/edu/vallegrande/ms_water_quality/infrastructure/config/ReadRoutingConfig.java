@@ -0,0 +1,112 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.config;
+
+import com.mongodb.ReadPreference;
+import com.mongodb.reactivestreams.client.MongoClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.ReactiveMongoDatabaseFactory;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.mongo.LastWriteTracker;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.mongo.ReadRouteAspect;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.mongo.ReadRouting;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.mongo.ReadTarget;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.mongo.RoutingReactiveMongoDatabaseFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Enrutamiento de lecturas analíticas y de exportación a los secundarios del replica set
+ * ({@code mongo-read-routing.*}). Las lecturas de detalle siguen en el primario.
+ */
+@Configuration
+public class ReadRoutingConfig {
+
+    // Mínimo que acepta el servidor para maxStalenessSeconds
+    private static final long MIN_MAX_STALENESS_SECONDS = 90;
+
+    @Value("${mongo-read-routing.enabled:true}")
+    private boolean enabled;
+
+    @Value("${mongo-read-routing.causal-sessions:true}")
+    private boolean causalSessions;
+
+    @Value("${mongo-read-routing.analytics.read-preference:secondaryPreferred}")
+    private String analyticsReadPreference;
+
+    @Value("${mongo-read-routing.analytics.max-staleness-seconds:90}")
+    private long analyticsMaxStalenessSeconds;
+
+    @Value("${mongo-read-routing.export.read-preference:secondaryPreferred}")
+    private String exportReadPreference;
+
+    @Value("${mongo-read-routing.export.max-staleness-seconds:120}")
+    private long exportMaxStalenessSeconds;
+
+    @Bean
+    public LastWriteTracker lastWriteTracker() {
+        return new LastWriteTracker();
+    }
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer lastWriteTrackerCustomizer(LastWriteTracker tracker) {
+        return builder -> builder.addCommandListener(tracker);
+    }
+
+    @Bean
+    public ReadRouting readRouting(ObjectProvider<MongoClient> mongoClient, LastWriteTracker tracker,
+                                   ObjectProvider<MeterRegistry> meterRegistry) {
+        if (!enabled) {
+            return ReadRouting.disabled();
+        }
+        Map<ReadTarget, ReadPreference> preferences = Map.of(
+            ReadTarget.PRIMARY, ReadPreference.primary(),
+            ReadTarget.ANALYTICS, preference("analytics", analyticsReadPreference, analyticsMaxStalenessSeconds),
+            ReadTarget.EXPORT, preference("export", exportReadPreference, exportMaxStalenessSeconds));
+        return new ReadRouting(mongoClient.getObject(), preferences, causalSessions, tracker,
+            meterRegistry.getIfAvailable());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "mongo-read-routing.enabled", havingValue = "true", matchIfMissing = true)
+    public ReadRouteAspect readRouteAspect(ReadRouting readRouting) {
+        return new ReadRouteAspect(readRouting);
+    }
+
+    /**
+     * Envuelve la fábrica que crea Spring Boot para que {@code ReactiveMongoTemplate} y los
+     * repositorios apliquen la ruta del contexto de Reactor.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "mongo-read-routing.enabled", havingValue = "true", matchIfMissing = true)
+    public static BeanPostProcessor routingMongoDatabaseFactoryPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof ReactiveMongoDatabaseFactory factory
+                        && !(bean instanceof RoutingReactiveMongoDatabaseFactory)) {
+                    return new RoutingReactiveMongoDatabaseFactory(factory);
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static ReadPreference preference(String route, String name, long maxStalenessSeconds) {
+        if (maxStalenessSeconds <= 0) {
+            return ReadPreference.valueOf(name);
+        }
+        if (maxStalenessSeconds < MIN_MAX_STALENESS_SECONDS) {
+            throw new IllegalStateException("mongo-read-routing." + route + ".max-staleness-seconds must be 0 or at least "
+                + MIN_MAX_STALENESS_SECONDS);
+        }
+        // valueOf rechaza maxStaleness junto a primary
+        return ReadPreference.valueOf(name, List.of(), maxStalenessSeconds, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,89 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import pe.edu.vallegrande.ms_water_quality.domain.models.DailyRecord;
+import pe.edu.vallegrande.ms_water_quality.domain.models.QualityTest;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.retention.RetentionRule;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.retention.SoftDeletePurger;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.sync.SyncTombstones;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Retención de los documentos borrados lógicamente: días por colección, con excepciones
+ * por organización, y el job que purga los vencidos en lotes.
+ */
+@Configuration
+public class RetentionConfig {
+
+    @Value("${retention.enabled:true}")
+    private boolean enabled;
+
+    @Value("${retention.quality-tests.days:180}")
+    private int qualityTestDays;
+
+    @Value("${retention.quality-tests.organizations:}")
+    private String qualityTestOrganizations;
+
+    @Value("${retention.daily-records.days:90}")
+    private int dailyRecordDays;
+
+    @Value("${retention.daily-records.organizations:}")
+    private String dailyRecordOrganizations;
+
+    @Value("${retention.batch-size:500}")
+    private int batchSize;
+
+    @Value("${retention.pause-ms:250}")
+    private long pauseMs;
+
+    @Value("${retention.max-batches-per-run:200}")
+    private int maxBatchesPerRun;
+
+    @Value("${retention.initial-delay-minutes:10}")
+    private long initialDelayMinutes;
+
+    @Value("${retention.interval-minutes:60}")
+    private long intervalMinutes;
+
+    @Bean
+    public SoftDeletePurger softDeletePurger(ReactiveMongoTemplate mongoTemplate, SyncTombstones syncTombstones,
+                                             MeterRegistry meterRegistry) {
+        List<RetentionRule> rules = List.of(
+            new RetentionRule(mongoTemplate.getCollectionName(QualityTest.class), qualityTestDays,
+                RetentionRule.parseOrganizationDays(qualityTestOrganizations)),
+            new RetentionRule(mongoTemplate.getCollectionName(DailyRecord.class), dailyRecordDays,
+                RetentionRule.parseOrganizationDays(dailyRecordOrganizations)));
+        SoftDeletePurger purger = new SoftDeletePurger(mongoTemplate, syncTombstones, rules, batchSize,
+            Duration.ofMillis(pauseMs), maxBatchesPerRun);
+        for (RetentionRule rule : rules) {
+            FunctionCounter.builder("water_quality.retention.purged", purger, p -> p.purged(rule.collection()))
+                .tag("collection", rule.collection())
+                .description("Documentos borrados lógicamente purgados al vencer su retención")
+                .register(meterRegistry);
+            Gauge.builder("water_quality.retention.backlog", purger, p -> p.backlog(rule.collection()))
+                .tag("collection", rule.collection())
+                .description("Documentos vencidos que quedaron sin purgar en la última pasada")
+                .register(meterRegistry);
+        }
+        return purger;
+    }
+
+    // Con lazy-initialization el job no se crea hasta que alguien lo pide
+    @EventListener(ApplicationReadyEvent.class)
+    public void startPurging(ApplicationReadyEvent event) {
+        if (enabled) {
+            event.getApplicationContext().getBean(SoftDeletePurger.class)
+                .start(Duration.ofMinutes(initialDelayMinutes), Duration.ofMinutes(intervalMinutes));
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.repository.TestingPointRepository;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.search.PointPrefixIndex;
+
+import java.time.Duration;
+
+/**
+ * Índice de prefijos para las sugerencias de puntos de muestreo.
+ */
+@Configuration
+public class SearchConfig {
+
+    @Value("${search.prefix-refresh-seconds:300}")
+    private long prefixRefreshSeconds;
+
+    @Bean
+    public PointPrefixIndex pointPrefixIndex(TestingPointRepository testingPointRepository, MeterRegistry meterRegistry) {
+        PointPrefixIndex index = new PointPrefixIndex(testingPointRepository, Duration.ofSeconds(prefixRefreshSeconds));
+        Gauge.builder("water_quality.search.prefix_indexes", index, PointPrefixIndex::size)
+            .description("Organizaciones con índice de prefijos en memoria")
+            .register(meterRegistry);
+        return index;
+    }
+}
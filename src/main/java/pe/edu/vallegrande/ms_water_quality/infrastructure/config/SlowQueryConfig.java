@@ -0,0 +1,64 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.CollectionOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.mongo.SlowQueryCommandListener;
+
+import java.time.Duration;
+
+/**
+ * Captura de consultas lentas: registra el listener en el cliente de MongoDB y asegura que
+ * exista la colección capped donde se guardan los planes.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "slow-query.enabled", havingValue = "true", matchIfMissing = true)
+public class SlowQueryConfig {
+
+    @Value("${slow-query.threshold-ms:200}")
+    private long thresholdMs;
+
+    @Value("${slow-query.explain-cooldown-seconds:300}")
+    private long explainCooldownSeconds;
+
+    @Value("${slow-query.collection:slow_queries}")
+    private String collection;
+
+    @Value("${slow-query.capped-size-bytes:5242880}")
+    private long cappedSizeBytes;
+
+    @Value("${slow-query.capped-max-documents:2000}")
+    private long cappedMaxDocuments;
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer slowQueryMongoCustomizer(
+            ObjectProvider<ReactiveMongoTemplate> templateProvider,
+            ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        SlowQueryCommandListener listener = new SlowQueryCommandListener(
+            Duration.ofMillis(thresholdMs), Duration.ofSeconds(explainCooldownSeconds), collection,
+            templateProvider, meterRegistryProvider);
+        return builder -> builder.addCommandListener(listener);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureCappedCollection(ApplicationReadyEvent event) {
+        ReactiveMongoTemplate template = event.getApplicationContext().getBean(ReactiveMongoTemplate.class);
+        template.collectionExists(collection)
+            .filter(exists -> !exists)
+            .flatMap(missing -> template.createCollection(collection,
+                CollectionOptions.empty().capped().size(cappedSizeBytes).maxDocuments(cappedMaxDocuments)))
+            .subscribe(
+                created -> log.info("Colección capped {} creada", collection),
+                error -> log.warn("No se pudo crear la colección {}: {}", collection, error.getMessage()));
+    }
+}
@@ -0,0 +1,94 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.config;
+
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.result.UpdateResult;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import pe.edu.vallegrande.ms_water_quality.domain.models.DailyRecord;
+import pe.edu.vallegrande.ms_water_quality.domain.models.QualityTest;
+import pe.edu.vallegrande.ms_water_quality.domain.models.SyncTombstone;
+import pe.edu.vallegrande.ms_water_quality.domain.models.TestingPoint;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.repository.SyncTombstoneRepository;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.sync.SyncPolicy;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.sync.SyncTombstones;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Sincronización incremental de los clientes de campo: márgenes del token, marcas de
+ * borrado con su índice TTL y el relleno de {@code updatedAt} en documentos anteriores.
+ */
+@Slf4j
+@Configuration
+public class SyncConfig {
+
+    @Value("${sync.commit-lag-seconds:10}")
+    private long commitLagSeconds;
+
+    @Value("${sync.tombstone-retention-days:30}")
+    private long tombstoneRetentionDays;
+
+    @Value("${sync.backfill-updated-at:true}")
+    private boolean backfillUpdatedAt;
+
+    @Bean
+    public SyncPolicy syncPolicy() {
+        return new SyncPolicy(Duration.ofSeconds(commitLagSeconds), Duration.ofDays(tombstoneRetentionDays));
+    }
+
+    @Bean
+    public SyncTombstones syncTombstones(SyncTombstoneRepository repository) {
+        return new SyncTombstones(repository);
+    }
+
+    // La retención es configurable, así que el índice TTL no puede ir en la anotación
+    @EventListener(ApplicationReadyEvent.class)
+    public void prepareSync(ApplicationReadyEvent event) {
+        ReactiveMongoTemplate mongoTemplate = event.getApplicationContext().getBean(ReactiveMongoTemplate.class);
+        Mono<String> ttlIndex = mongoTemplate.indexOps(SyncTombstone.class).ensureIndex(new Index()
+            .on("deletedAt", Sort.Direction.ASC)
+            .named("deleted_at_ttl")
+            .expire(Duration.ofDays(tombstoneRetentionDays)));
+        Mono<Long> backfill = backfillUpdatedAt
+            ? Flux.just(
+                    backfill(mongoTemplate, mongoTemplate.getCollectionName(TestingPoint.class), "updated_at", "created_at"),
+                    backfill(mongoTemplate, mongoTemplate.getCollectionName(QualityTest.class), "updatedAt", "createdAt"),
+                    backfill(mongoTemplate, mongoTemplate.getCollectionName(DailyRecord.class), "updatedAt", "createdAt"))
+                .concatMap(Function.identity())
+                .reduce(0L, Long::sum)
+            : Mono.just(0L);
+
+        ttlIndex.then(backfill)
+            .subscribe(
+                filled -> {
+                    if (filled > 0) {
+                        log.info("Se completó updatedAt en {} documentos anteriores a la sincronización", filled);
+                    }
+                },
+                error -> log.warn("No se pudo preparar la sincronización incremental: {}", error.getMessage()));
+    }
+
+    // Los documentos sin updatedAt toman su fecha de creación, o la actual si tampoco la tienen
+    private static Mono<Long> backfill(ReactiveMongoTemplate mongoTemplate, String collection,
+                                       String updatedAt, String createdAt) {
+        Date now = new Date();
+        return mongoTemplate.getCollection(collection)
+            .flatMap(documents -> Mono.from(documents.updateMany(Filters.exists(updatedAt, false),
+                List.of(Updates.set(updatedAt, new Document("$ifNull", List.of("$" + createdAt, now)))))))
+            .map(UpdateResult::getModifiedCount);
+    }
+}
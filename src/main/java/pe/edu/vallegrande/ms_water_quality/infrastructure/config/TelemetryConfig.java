@@ -0,0 +1,60 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.reactive.handler.SimpleUrlHandlerMapping;
+import pe.edu.vallegrande.ms_water_quality.application.services.TelemetryService;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.telemetry.TelemetryPolicy;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.telemetry.TelemetryWebSocketHandler;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Canal de telemetría de sensores en línea. Vive fuera de {@code /api/admin/} para que una
+ * conexión abierta por horas no ocupe cupo del load shedding ni del límite de tasa.
+ */
+@Configuration
+public class TelemetryConfig {
+
+    @Value("${telemetry.path:/ws/telemetry}")
+    private String path;
+
+    @Value("${telemetry.min-interval-seconds:60}")
+    private long minIntervalSeconds;
+
+    @Value("${telemetry.heartbeat-minutes:15}")
+    private long heartbeatMinutes;
+
+    @Value("${telemetry.deadband:CLORO=0.1,TURBIDEZ=0.5}")
+    private String deadband;
+
+    @Value("${telemetry.default-deadband:0.1}")
+    private double defaultDeadband;
+
+    @Value("${telemetry.max-sensors-per-connection:500}")
+    private int maxSensorsPerConnection;
+
+    @Value("${telemetry.acceptable-range:CLORO=0.5:1.0,SULFATO=0:250}")
+    private String acceptableRange;
+
+    @Value("${telemetry.action-range:CLORO=0.3:1.5,SULFATO=0:400}")
+    private String actionRange;
+
+    @Bean
+    public TelemetryPolicy telemetryPolicy() {
+        return new TelemetryPolicy(Duration.ofSeconds(minIntervalSeconds), Duration.ofMinutes(heartbeatMinutes),
+            TelemetryPolicy.parseDeadbands(deadband), defaultDeadband, maxSensorsPerConnection,
+            TelemetryPolicy.parseRanges(acceptableRange), TelemetryPolicy.parseRanges(actionRange));
+    }
+
+    @Bean
+    public HandlerMapping telemetryHandlerMapping(TelemetryService telemetryService, ObjectMapper objectMapper) {
+        return new SimpleUrlHandlerMapping(Map.of(path, new TelemetryWebSocketHandler(telemetryService, objectMapper)),
+            Ordered.HIGHEST_PRECEDENCE);
+    }
+}
@@ -5,7 +5,11 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.timing.ServerTiming;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 @Configuration
 public class WebClientConfig {
@@ -19,22 +23,52 @@ public class WebClientConfig {
     @Value("${organization-service.token}")
     private String organizationServiceToken;
 
+    @Value("${server-timing.enabled:false}")
+    private boolean serverTimingEnabled;
+
+    // Pool compartido hacia ms-users/ms-organization, con gauges reactor.netty.connection.provider.*
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider externalServicesConnectionProvider() {
+        return ConnectionProvider.builder("external-services")
+                .metrics(true)
+                .build();
+    }
+
+    // Se parte del WebClient.Builder de Spring Boot para heredar la observación http.client.requests
     @Bean
     @Qualifier("userWebClient")
-    public WebClient userWebClient() {
-        return WebClient.builder().baseUrl(userServiceBaseUrl).build();
+    public WebClient userWebClient(WebClient.Builder builder, ConnectionProvider externalServicesConnectionProvider) {
+        return builder.clone()
+                .clientConnector(connector(externalServicesConnectionProvider))
+                .baseUrl(userServiceBaseUrl)
+                .filters(filters -> {
+                    if (serverTimingEnabled) {
+                        filters.add(ServerTiming.exchangeFilter(ServerTiming.Category.USER_SERVICE));
+                    }
+                })
+                .build();
     }
 
     @Bean
     @Qualifier("organizationWebClient")
-    public WebClient organizationWebClient() {
+    public WebClient organizationWebClient(WebClient.Builder builder, ConnectionProvider externalServicesConnectionProvider) {
         System.out.println("Organization service base URL: " + organizationServiceBaseUrl);
         System.out.println("Organization service token: " + organizationServiceToken);
         System.out.println("Token length: " + (organizationServiceToken != null ? organizationServiceToken.length() : "null"));
-        
-        return WebClient.builder()
+
+        return builder.clone()
+                .clientConnector(connector(externalServicesConnectionProvider))
                 .baseUrl(organizationServiceBaseUrl)
                 .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + organizationServiceToken)
+                .filters(filters -> {
+                    if (serverTimingEnabled) {
+                        filters.add(ServerTiming.exchangeFilter(ServerTiming.Category.ORGANIZATION_SERVICE));
+                    }
+                })
                 .build();
     }
-}
\ No newline at end of file
+
+    private ReactorClientHttpConnector connector(ConnectionProvider connectionProvider) {
+        return new ReactorClientHttpConnector(HttpClient.create(connectionProvider));
+    }
+}
@@ -0,0 +1,34 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.cache.ZoneSummaryCache;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.repository.TestingPointRepository;
+
+import java.time.Duration;
+
+/**
+ * Caché de resúmenes por zona.
+ */
+@Configuration
+public class ZoneSummaryConfig {
+
+    @Value("${zone-summary.cache-seconds:300}")
+    private long cacheSeconds;
+
+    @Value("${zone-summary.recent-days:30}")
+    private long recentDays;
+
+    @Bean
+    public ZoneSummaryCache zoneSummaryCache(TestingPointRepository testingPointRepository, MeterRegistry meterRegistry) {
+        ZoneSummaryCache cache = new ZoneSummaryCache(testingPointRepository,
+            Duration.ofSeconds(cacheSeconds), Duration.ofDays(recentDays));
+        Gauge.builder("water_quality.zone_summary.cached", cache, ZoneSummaryCache::size)
+            .description("Organizaciones con resumen por zona en caché")
+            .register(meterRegistry);
+        return cache;
+    }
+}
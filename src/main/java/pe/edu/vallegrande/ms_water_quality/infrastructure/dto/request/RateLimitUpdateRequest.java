@@ -0,0 +1,17 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Presupuestos en formato {@code list=20/40,detail=100/200,write=30/60,bulk=2/4}.
+ * Un campo nulo conserva el valor actual.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RateLimitUpdateRequest {
+    private String organization;
+    private String subject;
+}
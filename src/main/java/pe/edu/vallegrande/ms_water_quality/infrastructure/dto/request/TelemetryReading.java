@@ -0,0 +1,19 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Lectura de un sensor en línea (un frame del canal de telemetría)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TelemetryReading {
+
+    private String testingPointId;
+    private String recordType; // "CLORO", "TURBIDEZ", ...
+    private Double level;
+    private LocalDateTime timestamp; // hora de la lectura en el sensor; si falta, la de llegada
+}
@@ -0,0 +1,39 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Tamaño de {@code quality_tests} frente a los buckets históricos y compresión de los
+ * resultados archivados.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchiveStatsResponse {
+
+    private CollectionStats liveTests;
+    private CollectionStats buckets;
+    private long archivedTests;
+    private long resultsRawBytes;
+    private long resultsStoredBytes;
+    private double resultsCompressionRatio;
+    private long archivedSinceStartup;
+    private long skippedSinceStartup;  // cambiaron mientras se archivaban; siguen vivos
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CollectionStats {
+        private String collection;
+        private long count;
+        private long sizeBytes;
+        private long storageBytes;
+        private long indexBytes;
+        private long avgObjectBytes;
+    }
+}
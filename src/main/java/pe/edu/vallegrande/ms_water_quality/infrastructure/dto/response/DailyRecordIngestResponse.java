@@ -0,0 +1,15 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyRecordIngestResponse {
+
+    private String id;
+    private String recordCode;
+    private String status; // "QUEUED" (encolado) o "STORED" (ya escrito en MongoDB)
+}
@@ -0,0 +1,49 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import pe.edu.vallegrande.ms_water_quality.domain.enums.QualityStatus;
+import pe.edu.vallegrande.ms_water_quality.domain.models.TestingPoint;
+
+import java.util.List;
+
+/**
+ * Contenido de un viewport del mapa: grupos de puntos con zoom bajo y puntos sueltos con zoom
+ * alto. El número de elementos depende del viewport, no del tamaño de la red.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MapViewportResponse {
+
+    private int zoom;
+    private Integer gridLevel; // null cuando se devuelven todos los puntos sueltos
+    private long total;        // puntos dentro del viewport
+    private List<Cluster> clusters;
+    private List<Point> points;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Cluster {
+        private int count;
+        private TestingPoint.Coordinates centroid;
+        private QualityStatus worstQuality;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Point {
+        private String id;
+        private String pointCode;
+        private String pointName;
+        private String pointType;
+        private String status;
+        private QualityStatus quality;
+        private TestingPoint.Coordinates coordinates;
+    }
+}
@@ -0,0 +1,17 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PointSuggestionResponse {
+
+    private String id;
+    private String pointCode;
+    private String pointName;
+    private String pointType;
+    private String status;
+}
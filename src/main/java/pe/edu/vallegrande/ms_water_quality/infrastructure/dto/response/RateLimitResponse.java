@@ -0,0 +1,14 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RateLimitResponse {
+    private String organization;
+    private String subject;
+    private int activeBuckets;
+}
@@ -0,0 +1,33 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Resultados de la búsqueda de texto agrupados por tipo, cada grupo ordenado por relevancia.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchResponse {
+
+    private List<Hit> points;
+    private List<Hit> tests;
+    private List<Hit> records;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Hit {
+        private String id;
+        private String code;
+        private String title;
+        private String detail;
+        private Float score;
+    }
+}
@@ -0,0 +1,40 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import pe.edu.vallegrande.ms_water_quality.domain.models.TestingPoint;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.normalized.DailyRecordNormalizedResponse;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.normalized.QualityTestNormalizedResponse;
+
+import java.util.List;
+
+/**
+ * Cambios de cada colección desde el token recibido. Con {@code fullResync} el cliente debe
+ * descartar su copia local antes de aplicarlos; con {@code hasMore} debe volver a pedir
+ * enseguida con el token nuevo.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncResponse {
+
+    private String token;
+    private boolean hasMore;
+    private boolean fullResync;
+
+    private Changes<TestingPoint> testingPoints;
+    private Changes<QualityTestNormalizedResponse> qualityTests;
+    private Changes<DailyRecordNormalizedResponse> dailyRecords;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Changes<T> {
+        private List<T> upserted;
+        private List<String> deleted;  // borrados lógicos, físicos, purgados o archivados
+    }
+}
@@ -0,0 +1,31 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Respuesta del canal de telemetría; las lecturas filtradas no generan respuesta
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TelemetryAck {
+
+    private String type; // "queued", "rejected" o "busy"
+    private String testingPointId;
+    private String recordId;
+    private String message;
+
+    public static TelemetryAck queued(String testingPointId, String recordId) {
+        return new TelemetryAck("queued", testingPointId, recordId, null);
+    }
+
+    public static TelemetryAck rejected(String testingPointId, String message) {
+        return new TelemetryAck("rejected", testingPointId, null, message);
+    }
+
+    public static TelemetryAck busy(String testingPointId, String message) {
+        return new TelemetryAck("busy", testingPointId, null, message);
+    }
+}
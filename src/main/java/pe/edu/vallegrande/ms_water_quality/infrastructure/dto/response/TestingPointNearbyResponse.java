@@ -0,0 +1,27 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import pe.edu.vallegrande.ms_water_quality.domain.models.TestingPoint;
+
+/**
+ * Punto de muestreo con su distancia a la coordenada consultada. Sin enriquecimiento,
+ * para que la respuesta sea corta en conexiones móviles lentas.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TestingPointNearbyResponse {
+
+    private String id;
+    private String pointCode;
+    private String pointName;
+    private String pointType;
+    private String zoneId;
+    private String status;
+    private TestingPoint.Coordinates coordinates;
+    private double distanceMeters;
+}
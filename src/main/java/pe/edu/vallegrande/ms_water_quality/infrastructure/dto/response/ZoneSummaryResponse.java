@@ -0,0 +1,34 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Resumen de calidad de una zona: estado de sus puntos, estadísticas del último nivel de cloro
+ * de cada punto y resultados críticos en la ventana reciente.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ZoneSummaryResponse {
+
+    private String zoneId;
+
+    private long totalPoints;
+    private long activePoints;
+    private long inactivePoints;
+
+    private long chlorineSamples; // puntos con registro de cloro reciente
+    private Double chlorineMin;
+    private Double chlorineMax;
+    private Double chlorineAvg;
+    private LocalDateTime lastChlorineAt;
+
+    private long recentTests;
+    private long criticalResults;
+}
@@ -28,6 +28,7 @@ public class DailyRecordEnrichedResponse {
     private Double amount;
     private String recordType;
     private LocalDateTime createdAt;
+    private Long version;
 
     private ExternalOrganization organization;
     private ExternalUser recordedByUser;
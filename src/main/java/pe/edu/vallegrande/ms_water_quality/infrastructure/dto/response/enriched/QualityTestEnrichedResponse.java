@@ -29,6 +29,7 @@ public class QualityTestEnrichedResponse {
     private String status;
     private List<QualityTest.TestResult> results;
     private LocalDateTime createdAt;
+    private Long version;
 
     private ExternalOrganization organization;
     private ExternalUser testedByUser;
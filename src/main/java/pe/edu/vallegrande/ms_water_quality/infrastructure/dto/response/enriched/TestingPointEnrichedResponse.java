@@ -26,6 +26,7 @@ public class TestingPointEnrichedResponse {
     private String status;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
 
     private ExternalOrganization organizationId;
 }
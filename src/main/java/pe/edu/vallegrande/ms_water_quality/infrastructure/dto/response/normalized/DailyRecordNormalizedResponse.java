@@ -0,0 +1,33 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.normalized;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyRecordNormalizedResponse {
+
+    private String id;
+    private String recordCode;
+    private List<String> testingPointIds;  // referencias a included.testingPoints
+    private LocalDateTime recordDate;
+    private Double level;
+    private boolean acceptable;
+    private boolean actionRequired;
+    private String observations;
+    private Double amount;
+    private String recordType;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Long version;
+
+    private String organizationId;
+    private String recordedByUserId;
+}
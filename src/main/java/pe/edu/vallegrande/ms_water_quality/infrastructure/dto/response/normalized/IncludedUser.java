@@ -0,0 +1,60 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.normalized;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.client.dto.ExternalStreet;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.client.dto.ExternalUser;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.client.dto.ExternalZone;
+
+import java.util.List;
+
+/**
+ * {@link ExternalUser} sin la organización embebida: se referencia por
+ * {@code organizationId} contra {@code included.organizations}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IncludedUser {
+
+    private String id;
+    private String userCode;
+    private String firstName;
+    private String lastName;
+    private String documentType;
+    private String documentNumber;
+    private String email;
+    private String phone;
+    private String address;
+    private List<String> roles;
+    private String status;
+    private String createdAt;
+    private String updatedAt;
+    private String organizationId;
+    private ExternalZone zone;
+    private ExternalStreet street;
+
+    public static IncludedUser from(ExternalUser user) {
+        return IncludedUser.builder()
+            .id(user.getId())
+            .userCode(user.getUserCode())
+            .firstName(user.getFirstName())
+            .lastName(user.getLastName())
+            .documentType(user.getDocumentType())
+            .documentNumber(user.getDocumentNumber())
+            .email(user.getEmail())
+            .phone(user.getPhone())
+            .address(user.getAddress())
+            .roles(user.getRoles())
+            .status(user.getStatus())
+            .createdAt(user.getCreatedAt())
+            .updatedAt(user.getUpdatedAt())
+            .organizationId(user.getOrganization() != null ? user.getOrganization().getOrganizationId() : null)
+            .zone(user.getZone())
+            .street(user.getStreet())
+            .build();
+    }
+}
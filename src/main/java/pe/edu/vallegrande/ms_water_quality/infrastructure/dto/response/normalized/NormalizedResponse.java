@@ -0,0 +1,34 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.normalized;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import pe.edu.vallegrande.ms_water_quality.domain.models.TestingPoint;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.client.dto.ExternalOrganization;
+
+import java.util.List;
+
+/**
+ * Listado con entidades relacionadas "side-loaded": cada elemento lleva sólo IDs y
+ * {@code included} trae una vez cada organización, usuario y punto referenciado.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NormalizedResponse<T> {
+
+    private List<T> items;
+    private Included included;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Included {
+        private List<ExternalOrganization> organizations;
+        private List<IncludedUser> users;
+        private List<TestingPoint> testingPoints;
+    }
+}
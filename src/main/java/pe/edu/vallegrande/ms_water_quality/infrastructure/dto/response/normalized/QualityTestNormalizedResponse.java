@@ -0,0 +1,34 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.normalized;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import pe.edu.vallegrande.ms_water_quality.domain.models.QualityTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class QualityTestNormalizedResponse {
+
+    private String id;
+    private String testCode;
+    private List<String> testingPointIds;  // referencias a included.testingPoints
+    private LocalDateTime testDate;
+    private String testType;
+    private String weatherConditions;
+    private Double waterTemperature;
+    private String generalObservations;
+    private String status;
+    private List<QualityTest.TestResult> results;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Long version;
+
+    private String organizationId;
+    private String testedByUserId;
+}
@@ -33,6 +33,22 @@ public class CustomException extends RuntimeException {
         );
     }
 
+    public static CustomException forbidden(String message, String details) {
+        return new CustomException(
+                403,
+                message,
+                details
+        );
+    }
+
+    public static CustomException preconditionFailed(String entity, String id) {
+        return new CustomException(
+                412,
+                entity + " version mismatch",
+                "La versión de " + entity + " con id " + id + " no coincide con If-Match"
+        );
+    }
+
     public static CustomException internalServerError(String message, String details) {
         return new CustomException(
                 500,
@@ -0,0 +1,132 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.geo;
+
+import pe.edu.vallegrande.ms_water_quality.domain.enums.QualityStatus;
+import pe.edu.vallegrande.ms_water_quality.domain.models.DailyRecord;
+import pe.edu.vallegrande.ms_water_quality.domain.models.QualityTest;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.MapViewportResponse;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.repository.DailyRecordRepository;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.repository.QualityTestRepository;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.repository.TestingPointRepository;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Índice en memoria, por organización, para pintar el mapa de puntos de muestreo. La rejilla
+ * se construye al primer uso, se descarta cuando cambian los puntos y se reconstruye cada
+ * {@code refreshInterval} para recoger nuevos análisis y registros diarios.
+ */
+public class PointClusterIndex {
+
+    private final TestingPointRepository testingPointRepository;
+    private final QualityTestRepository qualityTestRepository;
+    private final DailyRecordRepository dailyRecordRepository;
+    private final Duration refreshInterval;
+    private final Duration recentWindow;
+    private final int pointZoom;
+    private final int maxItems;
+
+    private final Map<String, Mono<PointGrid>> grids = new ConcurrentHashMap<>();
+
+    public PointClusterIndex(TestingPointRepository testingPointRepository,
+                             QualityTestRepository qualityTestRepository,
+                             DailyRecordRepository dailyRecordRepository,
+                             Duration refreshInterval, Duration recentWindow, int pointZoom, int maxItems) {
+        this.testingPointRepository = testingPointRepository;
+        this.qualityTestRepository = qualityTestRepository;
+        this.dailyRecordRepository = dailyRecordRepository;
+        this.refreshInterval = refreshInterval;
+        this.recentWindow = recentWindow;
+        this.pointZoom = pointZoom;
+        this.maxItems = maxItems;
+    }
+
+    public Mono<MapViewportResponse> query(String organizationId, double south, double west,
+                                           double north, double east, int zoom) {
+        return grid(organizationId).map(grid -> grid.query(south, west, north, east, zoom));
+    }
+
+    public void invalidate(String organizationId) {
+        grids.remove(organizationId);
+    }
+
+    public int size() {
+        return grids.size();
+    }
+
+    private Mono<PointGrid> grid(String organizationId) {
+        // Un solo build por organización; los errores no se guardan
+        return grids.computeIfAbsent(organizationId, orgId -> build(orgId)
+            .cache(grid -> refreshInterval, error -> Duration.ZERO, () -> Duration.ZERO));
+    }
+
+    private Mono<PointGrid> build(String organizationId) {
+        LocalDateTime since = LocalDateTime.now().minus(recentWindow);
+        return Mono.zip(
+                testingPointRepository.findByOrganizationId(organizationId).collectList(),
+                qualityTestRepository.findByOrganizationIdAndTestDateAfter(organizationId, since)
+                    .filter(test -> test.getDeletedAt() == null).collectList(),
+                dailyRecordRepository.findByOrganizationIdAndRecordDateAfter(organizationId, since)
+                    .filter(record -> record.getDeletedAt() == null).collectList())
+            .map(tuple -> PointGrid.build(tuple.getT1(), qualityByPoint(tuple.getT2(), tuple.getT3()),
+                pointZoom, maxItems));
+    }
+
+    // Peor estado entre el último análisis y el último registro diario de cada punto
+    private static Map<String, QualityStatus> qualityByPoint(List<QualityTest> tests, List<DailyRecord> records) {
+        Map<String, QualityTest> latestTests = new HashMap<>();
+        for (QualityTest test : tests) {
+            if (test.getTestingPointId() != null) {
+                test.getTestingPointId().forEach(pointId -> latestTests.merge(pointId, test,
+                    (a, b) -> latest(a, b, QualityTest::getTestDate)));
+            }
+        }
+        Map<String, DailyRecord> latestRecords = new HashMap<>();
+        for (DailyRecord record : records) {
+            if (record.getTestingPointIds() != null) {
+                record.getTestingPointIds().forEach(pointId -> latestRecords.merge(pointId, record,
+                    (a, b) -> latest(a, b, DailyRecord::getRecordDate)));
+            }
+        }
+
+        Map<String, QualityStatus> quality = new HashMap<>();
+        latestTests.forEach((pointId, test) -> quality.merge(pointId, status(test), QualityStatus::worst));
+        latestRecords.forEach((pointId, record) -> quality.merge(pointId, status(record), QualityStatus::worst));
+        return quality;
+    }
+
+    private static QualityStatus status(QualityTest test) {
+        QualityStatus status = QualityStatus.OK;
+        if (test.getResults() != null) {
+            for (QualityTest.TestResult result : test.getResults()) {
+                String value = result.getStatus() == null ? "" : result.getStatus().toUpperCase();
+                if (value.startsWith("CRITIC")) {
+                    return QualityStatus.CRITICAL;
+                }
+                if (!value.isEmpty() && !value.equals("ACCEPTABLE")) {
+                    status = QualityStatus.WARNING;
+                }
+            }
+        }
+        return status;
+    }
+
+    private static QualityStatus status(DailyRecord record) {
+        if (record.isActionRequired()) {
+            return QualityStatus.CRITICAL;
+        }
+        return record.isAcceptable() ? QualityStatus.OK : QualityStatus.WARNING;
+    }
+
+    private static <T> T latest(T a, T b, Function<T, LocalDateTime> date) {
+        Comparator<T> byDate = Comparator.comparing(date, Comparator.nullsFirst(Comparator.naturalOrder()));
+        return byDate.compare(a, b) >= 0 ? a : b;
+    }
+}
@@ -0,0 +1,182 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.geo;
+
+import pe.edu.vallegrande.ms_water_quality.domain.enums.QualityStatus;
+import pe.edu.vallegrande.ms_water_quality.domain.models.TestingPoint;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.MapViewportResponse;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rejilla multirresolución inmutable de los puntos de una organización. Cada nivel agrupa los
+ * puntos por tesela Web Mercator, así que responder a un viewport solo recorre las celdas visibles.
+ */
+final class PointGrid {
+
+    private final Entry[] entries;
+    private final List<Map<Long, Cell>> levels;
+    private final int pointZoom;
+    private final int maxItems;
+
+    private PointGrid(Entry[] entries, List<Map<Long, Cell>> levels, int pointZoom, int maxItems) {
+        this.entries = entries;
+        this.levels = levels;
+        this.pointZoom = pointZoom;
+        this.maxItems = maxItems;
+    }
+
+    static PointGrid build(List<TestingPoint> points, Map<String, QualityStatus> qualityByPoint,
+                           int pointZoom, int maxItems) {
+        Entry[] entries = points.stream()
+            .filter(point -> point.getCoordinates() != null && point.getCoordinates().inRange())
+            .map(point -> new Entry(point, qualityByPoint.getOrDefault(point.getId(), QualityStatus.NO_DATA),
+                WebMercator.x(point.getCoordinates().getLongitude()), WebMercator.y(point.getCoordinates().getLatitude())))
+            .toArray(Entry[]::new);
+
+        // Por debajo de pointZoom se agrupa en celdas de 1/4 de tesela (zoom + 2)
+        int maxLevel = pointZoom + 1;
+        List<Map<Long, Cell>> levels = new ArrayList<>(maxLevel + 1);
+        for (int level = 0; level <= maxLevel; level++) {
+            Map<Long, Cell> cells = new HashMap<>();
+            for (int i = 0; i < entries.length; i++) {
+                Entry entry = entries[i];
+                int tileX = WebMercator.tile(entry.x(), level);
+                int tileY = WebMercator.tile(entry.y(), level);
+                cells.computeIfAbsent(WebMercator.key(tileX, tileY), key -> new Cell(tileX, tileY)).add(entry, i);
+            }
+            levels.add(cells);
+        }
+        return new PointGrid(entries, levels, pointZoom, maxItems);
+    }
+
+    int size() {
+        return entries.length;
+    }
+
+    MapViewportResponse query(double south, double west, double north, double east, int zoom) {
+        Viewport viewport = new Viewport(WebMercator.x(west), WebMercator.x(east),
+            WebMercator.y(north), WebMercator.y(south), south, west, north, east);
+
+        if (zoom >= pointZoom) {
+            List<MapViewportResponse.Point> points = new ArrayList<>();
+            for (Entry entry : entries) {
+                if (viewport.contains(entry.point().getCoordinates())) {
+                    if (points.size() == maxItems) {
+                        points = null;
+                        break;
+                    }
+                    points.add(toPoint(entry));
+                }
+            }
+            if (points != null) {
+                return MapViewportResponse.builder()
+                    .zoom(zoom)
+                    .total(points.size())
+                    .clusters(List.of())
+                    .points(points)
+                    .build();
+            }
+        }
+
+        // Si el viewport tiene más celdas de las permitidas se sube de nivel hasta que quepan
+        int level = Math.min(Math.max(zoom, 0) + 2, levels.size() - 1);
+        List<Cell> visible = visibleCells(level, viewport);
+        while (visible.size() > maxItems && level > 0) {
+            visible = visibleCells(--level, viewport);
+        }
+
+        List<MapViewportResponse.Cluster> clusters = new ArrayList<>();
+        List<MapViewportResponse.Point> points = new ArrayList<>();
+        long total = 0;
+        for (Cell cell : visible) {
+            total += cell.count;
+            if (cell.count == 1) {
+                points.add(toPoint(entries[cell.firstEntry]));
+            } else {
+                clusters.add(new MapViewportResponse.Cluster(cell.count,
+                    new TestingPoint.Coordinates(cell.sumLatitude / cell.count, cell.sumLongitude / cell.count),
+                    cell.worst));
+            }
+        }
+        return MapViewportResponse.builder()
+            .zoom(zoom)
+            .gridLevel(level)
+            .total(total)
+            .clusters(clusters)
+            .points(points)
+            .build();
+    }
+
+    private List<Cell> visibleCells(int level, Viewport viewport) {
+        Map<Long, Cell> cells = levels.get(level);
+        int minX = WebMercator.tile(viewport.minX(), level);
+        int maxX = WebMercator.tile(viewport.maxX(), level);
+        int minY = WebMercator.tile(viewport.minY(), level);
+        int maxY = WebMercator.tile(viewport.maxY(), level);
+
+        List<Cell> visible = new ArrayList<>();
+        // Se recorre el rango de teselas o el mapa de celdas, lo que sea menor
+        if ((long) (maxX - minX + 1) * (maxY - minY + 1) <= cells.size()) {
+            for (int tileX = minX; tileX <= maxX; tileX++) {
+                for (int tileY = minY; tileY <= maxY; tileY++) {
+                    Cell cell = cells.get(WebMercator.key(tileX, tileY));
+                    if (cell != null) {
+                        visible.add(cell);
+                    }
+                }
+            }
+        } else {
+            for (Cell cell : cells.values()) {
+                if (cell.tileX >= minX && cell.tileX <= maxX && cell.tileY >= minY && cell.tileY <= maxY) {
+                    visible.add(cell);
+                }
+            }
+        }
+        return visible;
+    }
+
+    private static MapViewportResponse.Point toPoint(Entry entry) {
+        TestingPoint point = entry.point();
+        return new MapViewportResponse.Point(point.getId(), point.getPointCode(), point.getPointName(),
+            point.getPointType(), point.getStatus(), entry.quality(), point.getCoordinates());
+    }
+
+    private record Entry(TestingPoint point, QualityStatus quality, double x, double y) {
+    }
+
+    private record Viewport(double minX, double maxX, double minY, double maxY,
+                            double south, double west, double north, double east) {
+
+        boolean contains(TestingPoint.Coordinates coordinates) {
+            return coordinates.getLatitude() >= south && coordinates.getLatitude() <= north
+                && coordinates.getLongitude() >= west && coordinates.getLongitude() <= east;
+        }
+    }
+
+    private static final class Cell {
+        private final int tileX;
+        private final int tileY;
+        private int count;
+        private double sumLatitude;
+        private double sumLongitude;
+        private QualityStatus worst = QualityStatus.OK;
+        private int firstEntry;
+
+        private Cell(int tileX, int tileY) {
+            this.tileX = tileX;
+            this.tileY = tileY;
+        }
+
+        private void add(Entry entry, int index) {
+            if (count == 0) {
+                firstEntry = index;
+            }
+            count++;
+            sumLatitude += entry.point().getCoordinates().getLatitude();
+            sumLongitude += entry.point().getCoordinates().getLongitude();
+            worst = QualityStatus.worst(worst, entry.quality());
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.geo;
+
+/**
+ * Proyección Web Mercator normalizada a [0, 1): la misma rejilla de teselas que usa el mapa,
+ * donde el nivel {@code z} tiene {@code 2^z x 2^z} celdas.
+ */
+final class WebMercator {
+
+    static final double MAX_LATITUDE = 85.05112878;
+
+    private WebMercator() {
+    }
+
+    static double x(double longitude) {
+        return clamp((longitude + 180) / 360);
+    }
+
+    static double y(double latitude) {
+        double radians = Math.toRadians(Math.max(-MAX_LATITUDE, Math.min(MAX_LATITUDE, latitude)));
+        return clamp((1 - Math.log(Math.tan(radians) + 1 / Math.cos(radians)) / Math.PI) / 2);
+    }
+
+    static int tile(double coordinate, int level) {
+        return (int) (coordinate * (1L << level));
+    }
+
+    static long key(int tileX, int tileY) {
+        return ((long) tileX << 32) | (tileY & 0xffffffffL);
+    }
+
+    private static double clamp(double value) {
+        return Math.max(0, Math.min(Math.nextDown(1.0), value));
+    }
+}
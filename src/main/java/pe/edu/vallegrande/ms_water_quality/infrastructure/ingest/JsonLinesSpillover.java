@@ -0,0 +1,79 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.ingest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Respaldo en un archivo JSON Lines. Al recuperar, el contenido pasa a {@code <archivo>.replay}
+ * y se borra recién cuando todo quedó escrito: si el servicio vuelve a caer a mitad de la
+ * reposición, el siguiente arranque lo lee otra vez.
+ */
+@Slf4j
+public class JsonLinesSpillover<T> implements Spillover<T> {
+
+    private final Path file;
+    private final Path replay;
+    private final ObjectMapper objectMapper;
+    private final Class<T> type;
+
+    public JsonLinesSpillover(Path file, ObjectMapper objectMapper, Class<T> type) {
+        this.file = file;
+        this.replay = file.resolveSibling(file.getFileName() + ".replay");
+        this.objectMapper = objectMapper;
+        this.type = type;
+    }
+
+    @Override
+    public synchronized void spill(List<T> items) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.SYNC)) {
+            for (T item : items) {
+                out.write(objectMapper.writeValueAsString(item));
+                out.newLine();
+            }
+        }
+    }
+
+    @Override
+    public synchronized List<T> recover() throws IOException {
+        if (Files.exists(file)) {
+            // Se anexa a lo que haya quedado de una reposición interrumpida
+            Files.write(replay, Files.readAllBytes(file), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            Files.delete(file);
+        }
+        if (!Files.exists(replay)) {
+            return List.of();
+        }
+        List<T> items = new ArrayList<>();
+        for (String line : Files.readAllLines(replay, StandardCharsets.UTF_8)) {
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                items.add(objectMapper.readValue(line, type));
+            } catch (JsonProcessingException e) {
+                // Una línea cortada por una caída durante el volcado
+                log.warn("Se descarta una línea ilegible de {}: {}", replay, e.getOriginalMessage());
+            }
+        }
+        return items;
+    }
+
+    @Override
+    public synchronized void recovered() throws IOException {
+        Files.deleteIfExists(replay);
+    }
+}
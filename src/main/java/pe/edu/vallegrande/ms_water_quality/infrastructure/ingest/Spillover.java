@@ -0,0 +1,44 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.ingest;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Respaldo local de lo que el buffer no pudo escribir al detenerse. Lo volcado se vuelve a
+ * encolar en el siguiente arranque; por eso el escritor debe tolerar duplicados.
+ */
+public interface Spillover<T> {
+
+    void spill(List<T> items) throws IOException;
+
+    /**
+     * Lee lo volcado en arranques anteriores. Queda en disco hasta {@link #recovered()}.
+     */
+    List<T> recover() throws IOException;
+
+    /**
+     * Todo lo recuperado ya se escribió: se puede borrar.
+     */
+    void recovered() throws IOException;
+
+    /**
+     * Sin respaldo: al detenerse con MongoDB caído se pierde lo pendiente.
+     */
+    static <T> Spillover<T> none() {
+        return new Spillover<>() {
+            @Override
+            public void spill(List<T> items) throws IOException {
+                throw new IOException("No spillover configured");
+            }
+
+            @Override
+            public List<T> recover() {
+                return List.of();
+            }
+
+            @Override
+            public void recovered() {
+            }
+        };
+    }
+}
@@ -0,0 +1,265 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.ingest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.exception.CustomException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Escritura diferida por lotes: los elementos se encolan sin bloqueos en un buffer acotado y se
+ * escriben de a {@code batchSize}, cuando se llena un lote o cada {@code flushInterval}. Solo hay
+ * un lote en vuelo a la vez; los fallos transitorios se reintentan con backoff.
+ * <p>
+ * Lo aceptado no se descarta: si el lote falla tras los reintentos vuelve al frente de la cola y
+ * se reintenta con un backoff creciente, y lo que no se pudo escribir al detenerse se vuelca al
+ * {@link Spillover} para reponerlo en el siguiente arranque. La única pérdida es explícita: con
+ * el buffer lleno se rechaza de inmediato (503) en lugar de aceptar.
+ */
+@Slf4j
+public class WriteBehindBuffer<T> implements DisposableBean {
+
+    // written es null en lo repuesto desde el respaldo: nadie espera esa escritura
+    private record Entry<T>(T item, Sinks.One<T> written) {
+    }
+
+    private static final Duration FIRST_BACKOFF = Duration.ofSeconds(1);
+
+    private final String name;
+    private final int capacity;
+    private final int batchSize;
+    private final int maxRetries;
+    private final long maxBackoffNanos;
+    private final Duration shutdownTimeout;
+    private final Function<List<T>, Mono<?>> writer;
+    private final Consumer<List<T>> onWritten;
+    private final Spillover<T> spillover;
+
+    private final ConcurrentLinkedDeque<Entry<T>> queue = new ConcurrentLinkedDeque<>();
+    // Incluye el lote en vuelo: es lo que acota la memoria
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicBoolean flushing = new AtomicBoolean();
+    private final AtomicInteger replaying = new AtomicInteger();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong requeued = new AtomicLong();
+    private final AtomicLong spilled = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final Disposable ticker;
+    private volatile List<Entry<T>> inFlight = List.of();
+    private volatile int consecutiveFailures;
+    private volatile long resumeAt;
+    private volatile boolean closed;
+
+    public WriteBehindBuffer(String name, int capacity, int batchSize, Duration flushInterval, int maxRetries,
+                             Duration maxBackoff, Duration shutdownTimeout, Function<List<T>, Mono<?>> writer,
+                             Consumer<List<T>> onWritten, Spillover<T> spillover) {
+        this.name = name;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.maxRetries = maxRetries;
+        this.maxBackoffNanos = maxBackoff.toNanos();
+        this.shutdownTimeout = shutdownTimeout;
+        this.writer = writer;
+        this.onWritten = onWritten;
+        this.spillover = spillover;
+        this.resumeAt = System.nanoTime();
+        this.ticker = Flux.interval(flushInterval, flushInterval, Schedulers.parallel())
+            .onBackpressureDrop()
+            .subscribe(ignored -> flush());
+    }
+
+    /**
+     * Encola el elemento. Lanza 503 si el buffer está lleno o cerrándose.
+     *
+     * @return Mono que emite el elemento cuando su lote quedó escrito
+     */
+    public Mono<T> enqueue(T item) {
+        if (closed) {
+            rejected.incrementAndGet();
+            throw unavailable("Ingestion stopped", "El servicio se está deteniendo");
+        }
+        int current;
+        do {
+            current = pending.get();
+            if (current >= capacity) {
+                rejected.incrementAndGet();
+                throw unavailable("Ingestion buffer full", "Hay " + current + " elementos pendientes de escribir");
+            }
+        } while (!pending.compareAndSet(current, current + 1));
+
+        Sinks.One<T> sink = Sinks.one();
+        queue.offer(new Entry<>(item, sink));
+        if (current + 1 >= batchSize) {
+            flush();
+        }
+        return sink.asMono();
+    }
+
+    /**
+     * Vuelve a encolar lo volcado por un arranque anterior. No respeta {@code capacity}: ya había
+     * sido aceptado, así que mientras se repone se rechaza lo nuevo.
+     */
+    public void replaySpilled() {
+        List<T> items;
+        try {
+            items = spillover.recover();
+        } catch (IOException e) {
+            log.error("{}: no se pudo leer el respaldo de la ingesta: {}", name, e.getMessage());
+            return;
+        }
+        if (items.isEmpty()) {
+            return;
+        }
+        log.info("{}: se reponen {} elementos volcados al detener el servicio", name, items.size());
+        replaying.addAndGet(items.size());
+        pending.addAndGet(items.size());
+        items.forEach(item -> queue.offer(new Entry<>(item, null)));
+        flush();
+    }
+
+    public int size() {
+        return pending.get();
+    }
+
+    public long written() {
+        return written.get();
+    }
+
+    public long requeued() {
+        return requeued.get();
+    }
+
+    public long spilled() {
+        return spilled.get();
+    }
+
+    public long rejected() {
+        return rejected.get();
+    }
+
+    private void flush() {
+        if (System.nanoTime() - resumeAt < 0 || !flushing.compareAndSet(false, true)) {
+            return;
+        }
+        List<Entry<T>> batch = new ArrayList<>(batchSize);
+        Entry<T> entry;
+        while (batch.size() < batchSize && (entry = queue.poll()) != null) {
+            batch.add(entry);
+        }
+        if (batch.isEmpty()) {
+            flushing.set(false);
+            return;
+        }
+        inFlight = batch;
+        List<T> items = batch.stream().map(Entry::item).toList();
+        writer.apply(items)
+            .retryWhen(Retry.backoff(maxRetries, Duration.ofMillis(100))
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure()))
+            .subscribe(
+                ignored -> { },
+                error -> requeue(batch, error),
+                () -> {
+                    consecutiveFailures = 0;
+                    written.addAndGet(batch.size());
+                    onWritten.accept(items);
+                    finishReplay(batch);
+                    inFlight = List.of();
+                    release(batch.size());
+                    batch.forEach(e -> {
+                        if (e.written() != null) {
+                            e.written().tryEmitValue(e.item());
+                        }
+                    });
+                });
+    }
+
+    // Al frente y en el mismo orden; siguen contando en pending, así que lo nuevo se rechaza antes
+    private void requeue(List<Entry<T>> batch, Throwable error) {
+        for (int i = batch.size() - 1; i >= 0; i--) {
+            queue.offerFirst(batch.get(i));
+        }
+        requeued.addAndGet(batch.size());
+        int failures = ++consecutiveFailures;
+        long backoff = Math.min(maxBackoffNanos, FIRST_BACKOFF.toNanos() << Math.min(failures - 1, 20));
+        resumeAt = System.nanoTime() + backoff;
+        log.error("No se pudo escribir un lote de {} en {} ({} fallos seguidos), se reintenta en {} ms: {}",
+            batch.size(), name, failures, backoff / 1_000_000, error.getMessage());
+        inFlight = List.of();
+        flushing.set(false);
+    }
+
+    private void finishReplay(List<Entry<T>> batch) {
+        long replayed = batch.stream().filter(e -> e.written() == null).count();
+        if (replayed > 0 && replaying.addAndGet((int) -replayed) == 0) {
+            try {
+                spillover.recovered();
+            } catch (IOException e) {
+                log.warn("{}: no se pudo borrar el respaldo ya repuesto: {}", name, e.getMessage());
+            }
+        }
+    }
+
+    private void release(int count) {
+        pending.addAndGet(-count);
+        flushing.set(false);
+        if (pending.get() >= batchSize || (closed && !queue.isEmpty())) {
+            flush();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        closed = true;
+        ticker.dispose();
+        long deadline = System.nanoTime() + shutdownTimeout.toNanos();
+        while (pending.get() > 0 && System.nanoTime() < deadline) {
+            flush();
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        if (pending.get() > 0) {
+            spillRemaining();
+        }
+    }
+
+    // También el lote en vuelo: si al final se escribe, el duplicado se ignora al reponer
+    private void spillRemaining() {
+        List<T> items = new ArrayList<>();
+        inFlight.forEach(e -> items.add(e.item()));
+        Entry<T> entry;
+        while ((entry = queue.poll()) != null) {
+            items.add(entry.item());
+        }
+        try {
+            spillover.spill(items);
+            spilled.addAndGet(items.size());
+            log.warn("{}: se volcaron {} elementos sin escribir al detener el servicio", name, items.size());
+        } catch (IOException e) {
+            log.error("{}: se perdieron {} elementos sin escribir al detener el servicio: {}",
+                name, items.size(), e.getMessage());
+        }
+    }
+
+    private static CustomException unavailable(String message, String details) {
+        return new CustomException(503, message, details);
+    }
+}
@@ -0,0 +1,90 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mide cada método público de {@code application.services.impl}. El tiempo corre desde la
+ * suscripción hasta la señal terminal (no desde la llamada que sólo arma el pipeline), y se
+ * etiqueta con el resultado: SUCCESS, ERROR o CANCELLED.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+
+    static final String TIMER = "water_quality.service";
+    static final String ERRORS = "water_quality.service.errors";
+    static final String ELEMENTS = "water_quality.service.elements";
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("execution(public * pe.edu.vallegrande.ms_water_quality.application.services.impl.*.*(..))")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        String service = joinPoint.getSignature().getDeclaringType().getSimpleName();
+        String method = joinPoint.getSignature().getName();
+        Object result = joinPoint.proceed();
+
+        if (result instanceof Mono<?> mono) {
+            return Mono.defer(() -> {
+                Timer.Sample sample = Timer.start(meterRegistry);
+                return mono
+                    .doOnError(e -> countError(service, method, e))
+                    .doFinally(signal -> stop(sample, service, method, signal));
+            });
+        }
+        if (result instanceof Flux<?> flux) {
+            return Flux.defer(() -> {
+                Timer.Sample sample = Timer.start(meterRegistry);
+                AtomicLong elements = new AtomicLong();
+                return flux
+                    .doOnNext(item -> elements.incrementAndGet())
+                    .doOnError(e -> countError(service, method, e))
+                    .doFinally(signal -> {
+                        stop(sample, service, method, signal);
+                        DistributionSummary.builder(ELEMENTS)
+                            .description("Elementos emitidos por los métodos de servicio que devuelven Flux")
+                            .tags("service", service, "method", method)
+                            .register(meterRegistry)
+                            .record(elements.get());
+                    });
+            });
+        }
+        return result;
+    }
+
+    private void stop(Timer.Sample sample, String service, String method, SignalType signal) {
+        sample.stop(Timer.builder(TIMER)
+            .description("Latencia de los métodos de servicio, desde la suscripción hasta su finalización")
+            .tags("service", service, "method", method, "outcome", outcome(signal))
+            .register(meterRegistry));
+    }
+
+    private void countError(String service, String method, Throwable error) {
+        Counter.builder(ERRORS)
+            .description("Errores emitidos por los métodos de servicio")
+            .tags("service", service, "method", method, "exception", error.getClass().getSimpleName())
+            .register(meterRegistry)
+            .increment();
+    }
+
+    private static String outcome(SignalType signal) {
+        return switch (signal) {
+            case ON_COMPLETE -> "SUCCESS";
+            case ON_ERROR -> "ERROR";
+            default -> "CANCELLED";
+        };
+    }
+}
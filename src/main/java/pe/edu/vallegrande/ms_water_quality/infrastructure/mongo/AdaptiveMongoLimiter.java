@@ -0,0 +1,269 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.mongo;
+
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionPoolListener;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.exception.CustomException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limita las operaciones de MongoDB en curso para que se mantengan cerca de la capacidad del
+ * pool: el exceso espera aquí (barato) en lugar de en la cola del driver. El límite se ajusta
+ * por AIMD con el tiempo de checkout de conexiones: si en una ventana más del 10 % de los
+ * checkouts supera el objetivo, baja un 10 %; si el límite estuvo saturado sin esperas, sube en 1.
+ */
+public class AdaptiveMongoLimiter implements ConnectionPoolListener {
+
+    private static final long WINDOW_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long checkoutTargetNanos;
+    private final int maxQueued;
+    private final Duration queueTimeout;
+
+    private final AtomicInteger limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+    private final AtomicInteger windowCheckouts = new AtomicInteger();
+    private final AtomicInteger windowSlowCheckouts = new AtomicInteger();
+    private final AtomicInteger windowPeakInFlight = new AtomicInteger();
+
+    private final Timer checkoutTimer;
+
+    public AdaptiveMongoLimiter(MongoConcurrency concurrency, Duration checkoutTarget, int maxQueued,
+                                MeterRegistry meterRegistry) {
+        // Una consulta externa más las búsquedas en paralelo de su enriquecimiento deben poder
+        // avanzar juntas aunque el AIMD recorte el límite
+        this.minLimit = Math.max(2, Math.min(concurrency.getPoolMaxSize(), 1 + concurrency.getLookupConcurrency()));
+        this.maxLimit = concurrency.getPoolMaxSize() * 2;
+        this.limit = new AtomicInteger(concurrency.getPoolMaxSize());
+        this.checkoutTargetNanos = checkoutTarget.toNanos();
+        this.maxQueued = maxQueued;
+        this.queueTimeout = concurrency.getMaxWait();
+
+        if (meterRegistry != null) {
+            Gauge.builder("water_quality.mongo.limiter.limit", limit, AtomicInteger::get)
+                .description("Operaciones de MongoDB permitidas en curso").register(meterRegistry);
+            Gauge.builder("water_quality.mongo.limiter.in_flight", inFlight, AtomicInteger::get)
+                .description("Operaciones de MongoDB en curso").register(meterRegistry);
+            Gauge.builder("water_quality.mongo.limiter.queued", queued, AtomicInteger::get)
+                .description("Operaciones esperando turno en el limitador").register(meterRegistry);
+            this.checkoutTimer = Timer.builder("water_quality.mongo.pool.checkout")
+                .description("Tiempo hasta obtener una conexión del pool de MongoDB")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        } else {
+            this.checkoutTimer = null;
+        }
+    }
+
+    /**
+     * El permiso se devuelve con el primer elemento (el cursor ya está abierto y el primer lote
+     * llegó) o al terminar, lo que ocurra antes. Así no lo retiene el procesamiento aguas abajo
+     * —enriquecimiento con búsquedas que piden permisos al mismo limitador, o un cliente lento
+     * consumiendo la respuesta—.
+     */
+    public <T> Mono<T> limit(Mono<T> source) {
+        return acquire().flatMap(permit -> {
+            if (!permit.start()) {
+                return Mono.empty();
+            }
+            AtomicBoolean held = new AtomicBoolean(true);
+            return source
+                .doOnNext(value -> releaseOnce(held))
+                .doFinally(signal -> releaseOnce(held));
+        });
+    }
+
+    public <T> Flux<T> limit(Flux<T> source) {
+        return acquire().flatMapMany(permit -> {
+            if (!permit.start()) {
+                return Flux.empty();
+            }
+            AtomicBoolean held = new AtomicBoolean(true);
+            return source
+                .doOnNext(value -> releaseOnce(held))
+                .doFinally(signal -> releaseOnce(held));
+        });
+    }
+
+    public int currentLimit() {
+        return limit.get();
+    }
+
+    // #region Permisos
+
+    private Mono<Permit> acquire() {
+        Mono<Permit> permit = Mono.create(sink -> {
+            if (tryAcquire()) {
+                sink.success(Permit.granted());
+                return;
+            }
+            if (queued.incrementAndGet() > maxQueued) {
+                queued.decrementAndGet();
+                sink.error(busy());
+                return;
+            }
+            Waiter waiter = new Waiter(sink);
+            sink.onCancel(() -> {
+                if (waiter.permit.cancelWaiting()) {
+                    queued.decrementAndGet();
+                } else if (waiter.permit.cancelGranted()) {
+                    // Se concedió justo cuando el suscriptor cancelaba (p. ej. timeout)
+                    release();
+                }
+            });
+            waiters.offer(waiter);
+            // Un permiso pudo liberarse entre tryAcquire y offer
+            drain();
+        });
+        return permit.timeout(queueTimeout, Mono.error(busy()));
+    }
+
+    private boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit.get()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                windowPeakInFlight.accumulateAndGet(current + 1, Math::max);
+                return true;
+            }
+        }
+    }
+
+    private void release() {
+        inFlight.decrementAndGet();
+        drain();
+    }
+
+    private void releaseOnce(AtomicBoolean held) {
+        if (held.compareAndSet(true, false)) {
+            release();
+        }
+    }
+
+    private void drain() {
+        while (!waiters.isEmpty() && tryAcquire()) {
+            Waiter waiter = waiters.poll();
+            if (waiter == null) {
+                inFlight.decrementAndGet();
+                return;
+            }
+            if (waiter.permit.grant()) {
+                queued.decrementAndGet();
+                waiter.sink.success(waiter.permit);
+            } else {
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+
+    private static CustomException busy() {
+        return new CustomException(503, "Database busy", "Demasiadas operaciones pendientes en MongoDB");
+    }
+
+    // #endregion
+
+    // #region Ajuste del límite
+
+    @Override
+    public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+        long elapsed = event.getElapsedTime(TimeUnit.NANOSECONDS);
+        if (checkoutTimer != null) {
+            checkoutTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        }
+        windowCheckouts.incrementAndGet();
+        if (elapsed > checkoutTargetNanos) {
+            windowSlowCheckouts.incrementAndGet();
+        }
+        maybeAdjust();
+    }
+
+    @Override
+    public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+        windowCheckouts.incrementAndGet();
+        windowSlowCheckouts.incrementAndGet();
+        maybeAdjust();
+    }
+
+    private void maybeAdjust() {
+        long start = windowStart.get();
+        long now = System.nanoTime();
+        if (now - start < WINDOW_NANOS || !windowStart.compareAndSet(start, now)) {
+            return;
+        }
+        int checkouts = windowCheckouts.getAndSet(0);
+        int slow = windowSlowCheckouts.getAndSet(0);
+        int peak = windowPeakInFlight.getAndSet(inFlight.get());
+        int current = limit.get();
+        if (checkouts > 0 && slow * 10 > checkouts) {
+            limit.set(Math.max(minLimit, (int) (current * 0.9)));
+        } else if (peak >= current && current < maxLimit) {
+            limit.set(current + 1);
+            drain();
+        }
+    }
+
+    // #endregion
+
+    private record Waiter(MonoSink<Permit> sink, Permit permit) {
+        private Waiter(MonoSink<Permit> sink) {
+            this(sink, new Permit(Permit.WAITING));
+        }
+    }
+
+    /**
+     * Estado de un permiso; cada transición se hace por CAS para que se libere exactamente una vez.
+     */
+    private static final class Permit {
+        private static final int WAITING = 0;
+        private static final int GRANTED = 1;
+        private static final int STARTED = 2;
+        private static final int CANCELLED = 3;
+
+        private final AtomicInteger state;
+
+        private Permit(int state) {
+            this.state = new AtomicInteger(state);
+        }
+
+        static Permit granted() {
+            return new Permit(GRANTED);
+        }
+
+        boolean grant() {
+            return state.compareAndSet(WAITING, GRANTED);
+        }
+
+        boolean start() {
+            return state.compareAndSet(GRANTED, STARTED);
+        }
+
+        boolean cancelWaiting() {
+            return state.compareAndSet(WAITING, CANCELLED);
+        }
+
+        boolean cancelGranted() {
+            return state.compareAndSet(GRANTED, CANCELLED);
+        }
+    }
+}
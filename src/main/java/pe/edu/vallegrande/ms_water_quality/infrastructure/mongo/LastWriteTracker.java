@@ -0,0 +1,49 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.mongo;
+
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandSucceededEvent;
+import org.bson.BsonDocument;
+import org.bson.BsonTimestamp;
+import org.bson.BsonValue;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Guarda el {@code operationTime} y el {@code $clusterTime} de la última escritura confirmada
+ * por el servidor. Las lecturas en secundarios arrancan su sesión causal desde ese punto, así
+ * que nunca ven un estado anterior a lo que esta instancia ya escribió.
+ * <p>
+ * Contra un servidor standalone las respuestas no traen estos campos y no se registra nada.
+ */
+public class LastWriteTracker implements CommandListener {
+
+    private static final Set<String> WRITE_COMMANDS = Set.of("insert", "update", "delete", "findAndModify");
+
+    private final AtomicReference<WriteTime> last = new AtomicReference<>();
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        if (!WRITE_COMMANDS.contains(event.getCommandName())) {
+            return;
+        }
+        BsonDocument response = event.getResponse();
+        BsonValue operationTime = response.get("operationTime");
+        BsonValue clusterTime = response.get("$clusterTime");
+        if (operationTime == null || !operationTime.isTimestamp()) {
+            return;
+        }
+        // El documento del evento sólo es válido durante el callback
+        WriteTime observed = new WriteTime(operationTime.asTimestamp(),
+            clusterTime != null && clusterTime.isDocument() ? clusterTime.asDocument().clone() : null);
+        last.accumulateAndGet(observed, (current, candidate) ->
+            current == null || candidate.operationTime().compareTo(current.operationTime()) > 0 ? candidate : current);
+    }
+
+    public WriteTime last() {
+        return last.get();
+    }
+
+    public record WriteTime(BsonTimestamp operationTime, BsonDocument clusterTime) {
+    }
+}
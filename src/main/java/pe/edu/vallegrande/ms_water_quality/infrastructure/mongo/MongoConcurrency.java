@@ -0,0 +1,35 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.mongo;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Tamaño del pool de MongoDB y la concurrencia de los {@code flatMap} de enriquecimiento,
+ * derivada del pool para que el fan-out no desborde la cola de espera del driver.
+ */
+@Getter
+public class MongoConcurrency {
+
+    private final int poolMaxSize;
+    private final int poolMinSize;
+    private final Duration maxWait;
+    private final int maxConnecting;
+    private final int enrichmentConcurrency;
+    private final int lookupConcurrency;
+
+    public MongoConcurrency(int poolMaxSize, int poolMinSize, Duration maxWait, int maxConnecting,
+                            int enrichmentConcurrency, int lookupConcurrency) {
+        this.poolMaxSize = Math.max(1, poolMaxSize);
+        this.poolMinSize = Math.min(Math.max(0, poolMinSize), this.poolMaxSize);
+        this.maxWait = maxWait;
+        this.maxConnecting = Math.max(1, maxConnecting);
+        // 0 = tantos documentos en enriquecimiento como conexiones en el pool
+        this.enrichmentConcurrency = enrichmentConcurrency > 0 ? enrichmentConcurrency : this.poolMaxSize;
+        this.lookupConcurrency = Math.max(1, lookupConcurrency);
+    }
+
+    public static MongoConcurrency defaults() {
+        return new MongoConcurrency(16, 2, Duration.ofSeconds(2), 2, 0, 4);
+    }
+}
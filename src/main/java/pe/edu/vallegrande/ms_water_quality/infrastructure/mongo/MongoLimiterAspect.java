@@ -0,0 +1,30 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.mongo;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Pasa por {@link AdaptiveMongoLimiter} cada operación de los repositorios reactivos.
+ */
+@Aspect
+@RequiredArgsConstructor
+public class MongoLimiterAspect {
+
+    private final AdaptiveMongoLimiter limiter;
+
+    @Around("this(org.springframework.data.repository.reactive.ReactiveCrudRepository)")
+    public Object limit(ProceedingJoinPoint joinPoint) throws Throwable {
+        Object result = joinPoint.proceed();
+        if (result instanceof Mono<?> mono) {
+            return limiter.limit(mono);
+        }
+        if (result instanceof Flux<?> flux) {
+            return limiter.limit(flux);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,170 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.mongo;
+
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.Document;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Utilidades para normalizar comandos a su "forma" (sin valores literales) y resumir planes.
+ */
+final class QueryShapes {
+
+    private static final BsonString PLACEHOLDER = new BsonString("?");
+    // Campos del plan que llevan los valores de la consulta (ids, fechas de otra organización)
+    private static final Set<String> PLAN_LITERALS = Set.of("filter", "indexBounds", "parsedQuery");
+
+    private QueryShapes() {
+    }
+
+    /**
+     * {@code find quality_tests {"filter": {"organizationId": "?"}, "sort": {"testCode": -1}}}
+     */
+    static String shapeOf(String commandName, BsonDocument command) {
+        BsonDocument shape = new BsonDocument();
+        switch (commandName) {
+            case "find" -> {
+                putNormalized(shape, "filter", command.get("filter"));
+                putVerbatim(shape, "sort", command.get("sort"));
+                putVerbatim(shape, "projection", command.get("projection"));
+            }
+            case "count", "distinct" -> {
+                putNormalized(shape, "query", command.get("query"));
+                putVerbatim(shape, "key", command.get("key"));
+            }
+            case "aggregate" -> putNormalized(shape, "pipeline", command.get("pipeline"));
+            default -> {
+            }
+        }
+        return commandName + " " + command.getString(commandName).getValue() + " " + shape.toJson();
+    }
+
+    static Document findFirst(Document document, String key) {
+        if (document == null) {
+            return null;
+        }
+        Object direct = document.get(key);
+        if (direct instanceof Document found) {
+            return found;
+        }
+        for (Object value : document.values()) {
+            Document found = null;
+            if (value instanceof Document nested) {
+                found = findFirst(nested, key);
+            } else if (value instanceof List<?> list) {
+                for (Object item : list) {
+                    if (item instanceof Document nested && (found = findFirst(nested, key)) != null) {
+                        break;
+                    }
+                }
+            }
+            if (found != null) {
+                return found;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Cadena de etapas del plan ganador, de la raíz a la hoja: {@code FETCH > IXSCAN {organizationId: 1}}.
+     */
+    static String summarizePlan(Document plan) {
+        if (plan == null) {
+            return null;
+        }
+        StringBuilder summary = new StringBuilder();
+        Document stage = plan;
+        while (stage != null) {
+            if (!summary.isEmpty()) {
+                summary.append(" > ");
+            }
+            summary.append(stage.getString("stage"));
+            Object keyPattern = stage.get("keyPattern");
+            if (keyPattern instanceof Document pattern) {
+                summary.append(' ').append(pattern.toJson());
+            }
+            stage = stage.get("inputStage", Document.class);
+        }
+        return summary.toString();
+    }
+
+    /**
+     * Copia del plan con los valores literales reemplazados por {@code "?"}; se conservan las
+     * etapas, índices y patrones de orden.
+     */
+    static Document redactPlan(Document plan) {
+        if (plan == null) {
+            return null;
+        }
+        Document redacted = new Document();
+        plan.forEach((key, value) -> redacted.append(key, PLAN_LITERALS.contains(key)
+            ? redactLiterals(value)
+            : redactNested(value)));
+        return redacted;
+    }
+
+    private static Object redactNested(Object value) {
+        if (value instanceof Document nested) {
+            return redactPlan(nested);
+        }
+        if (value instanceof List<?> list) {
+            List<Object> redacted = new ArrayList<>(list.size());
+            list.forEach(item -> redacted.add(redactNested(item)));
+            return redacted;
+        }
+        return value;
+    }
+
+    private static Object redactLiterals(Object value) {
+        if (value instanceof Document nested) {
+            Document redacted = new Document();
+            nested.forEach((key, item) -> redacted.append(key, redactLiterals(item)));
+            return redacted;
+        }
+        if (value instanceof List<?> list) {
+            if (!list.isEmpty() && list.get(0) instanceof Document) {
+                List<Object> redacted = new ArrayList<>(list.size());
+                list.forEach(item -> redacted.add(redactLiterals(item)));
+                return redacted;
+            }
+            return List.of("?");
+        }
+        return "?";
+    }
+
+    private static void putNormalized(BsonDocument shape, String key, BsonValue value) {
+        if (value != null) {
+            shape.put(key, normalize(value));
+        }
+    }
+
+    private static void putVerbatim(BsonDocument shape, String key, BsonValue value) {
+        if (value != null) {
+            shape.put(key, value);
+        }
+    }
+
+    private static BsonValue normalize(BsonValue value) {
+        if (value.isDocument()) {
+            BsonDocument normalized = new BsonDocument();
+            value.asDocument().forEach((key, nested) -> normalized.put(key, normalize(nested)));
+            return normalized;
+        }
+        if (value.isArray()) {
+            BsonArray array = value.asArray();
+            // Los arreglos de documentos (pipeline, $and/$or) conservan su estructura; los de valores se colapsan
+            if (!array.isEmpty() && array.get(0).isDocument()) {
+                BsonArray normalized = new BsonArray();
+                array.forEach(item -> normalized.add(normalize(item)));
+                return normalized;
+            }
+            return new BsonArray(List.of(PLACEHOLDER));
+        }
+        return PLACEHOLDER;
+    }
+}
@@ -0,0 +1,19 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.mongo;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declara en un método de repositorio a qué miembros del replica set puede ir la lectura.
+ * Los métodos sin anotar leen del primario.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReadRoute {
+
+    ReadTarget value();
+}
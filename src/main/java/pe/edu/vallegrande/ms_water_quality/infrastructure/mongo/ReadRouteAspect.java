@@ -0,0 +1,46 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.mongo;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Aplica {@link ReadRoute} a las llamadas de los repositorios reactivos, incluidos los
+ * fragmentos personalizados que exponen.
+ */
+@Aspect
+@RequiredArgsConstructor
+public class ReadRouteAspect {
+
+    private final ReadRouting readRouting;
+    private final Map<Method, Optional<ReadTarget>> targets = new ConcurrentHashMap<>();
+
+    @Around("this(org.springframework.data.repository.reactive.ReactiveCrudRepository)")
+    public Object route(ProceedingJoinPoint joinPoint) throws Throwable {
+        Object result = joinPoint.proceed();
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        ReadTarget target = targets.computeIfAbsent(method, key ->
+            Optional.ofNullable(AnnotatedElementUtils.findMergedAnnotation(key, ReadRoute.class)).map(ReadRoute::value))
+            .orElse(null);
+        if (target == null) {
+            return result;
+        }
+        if (result instanceof Mono<?> mono) {
+            return readRouting.route(target, mono);
+        }
+        if (result instanceof Flux<?> flux) {
+            return readRouting.route(target, flux);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,110 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.mongo;
+
+import com.mongodb.ClientSessionOptions;
+import com.mongodb.ReadPreference;
+import com.mongodb.reactivestreams.client.ClientSession;
+import com.mongodb.reactivestreams.client.MongoClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Enruta una operación de lectura al destino declarado ({@link ReadTarget}): deja en el
+ * contexto de Reactor la preferencia de lectura que aplica {@link RoutingReactiveMongoDatabaseFactory}
+ * y, si la lectura puede ir a un secundario, una sesión causal anclada en la última escritura
+ * de esta instancia ({@link LastWriteTracker}).
+ * <p>
+ * Cada llamada a {@code route} debe envolver una sola operación contra MongoDB: la sesión no
+ * admite comandos concurrentes.
+ */
+public class ReadRouting {
+
+    private static final ClientSessionOptions CAUSAL = ClientSessionOptions.builder().causallyConsistent(true).build();
+
+    private final MongoClient mongoClient;
+    private final Map<ReadTarget, ReadPreference> preferences;
+    private final boolean causalSessions;
+    private final LastWriteTracker lastWriteTracker;
+    private final MeterRegistry meterRegistry;
+
+    public ReadRouting(MongoClient mongoClient, Map<ReadTarget, ReadPreference> preferences, boolean causalSessions,
+                       LastWriteTracker lastWriteTracker, MeterRegistry meterRegistry) {
+        this.mongoClient = mongoClient;
+        this.preferences = preferences.isEmpty() ? Map.of() : new EnumMap<>(preferences);
+        this.causalSessions = causalSessions;
+        this.lastWriteTracker = lastWriteTracker;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Sin enrutamiento: todas las lecturas usan la preferencia del cliente.
+     */
+    public static ReadRouting disabled() {
+        return new ReadRouting(null, Map.of(), false, new LastWriteTracker(), null);
+    }
+
+    public ReadPreference preference(ReadTarget target) {
+        return preferences.getOrDefault(target, ReadPreference.primary());
+    }
+
+    public <T> Flux<T> route(ReadTarget target, Flux<T> operation) {
+        ReadPreference preference = preferences.get(target);
+        if (preference == null) {
+            return operation;
+        }
+        LastWriteTracker.WriteTime anchor = anchor(preference);
+        count(target, anchor != null);
+        if (anchor == null) {
+            return operation.contextWrite(context -> context.put(Routed.class, new Routed(preference, null)));
+        }
+        return Flux.usingWhen(startSession(anchor),
+            session -> operation.contextWrite(context -> context.put(Routed.class, new Routed(preference, session))),
+            session -> Mono.fromRunnable(session::close));
+    }
+
+    public <T> Mono<T> route(ReadTarget target, Mono<T> operation) {
+        ReadPreference preference = preferences.get(target);
+        if (preference == null) {
+            return operation;
+        }
+        LastWriteTracker.WriteTime anchor = anchor(preference);
+        count(target, anchor != null);
+        if (anchor == null) {
+            return operation.contextWrite(context -> context.put(Routed.class, new Routed(preference, null)));
+        }
+        return Mono.usingWhen(startSession(anchor),
+            session -> operation.contextWrite(context -> context.put(Routed.class, new Routed(preference, session))),
+            session -> Mono.fromRunnable(session::close));
+    }
+
+    // En el primario las lecturas ya ven todas las escrituras confirmadas
+    private LastWriteTracker.WriteTime anchor(ReadPreference preference) {
+        return causalSessions && !preference.equals(ReadPreference.primary()) ? lastWriteTracker.last() : null;
+    }
+
+    private Mono<ClientSession> startSession(LastWriteTracker.WriteTime anchor) {
+        return Mono.from(mongoClient.startSession(CAUSAL))
+            .doOnNext(session -> {
+                if (anchor.clusterTime() != null) {
+                    session.advanceClusterTime(anchor.clusterTime());
+                }
+                session.advanceOperationTime(anchor.operationTime());
+            });
+    }
+
+    private void count(ReadTarget target, boolean causal) {
+        if (meterRegistry != null) {
+            meterRegistry.counter("water_quality.mongo.routed_reads",
+                "target", target.name().toLowerCase(), "causal", String.valueOf(causal)).increment();
+        }
+    }
+
+    /**
+     * Valor que viaja en el contexto de Reactor hasta la fábrica de bases de datos.
+     */
+    record Routed(ReadPreference preference, ClientSession session) {
+    }
+}
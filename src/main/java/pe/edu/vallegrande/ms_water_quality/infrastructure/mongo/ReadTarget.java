@@ -0,0 +1,17 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.mongo;
+
+/**
+ * Destinos de lectura que puede declarar una llamada a repositorio. {@code PRIMARY} es el
+ * comportamiento por defecto; los demás se configuran en {@code mongo-read-routing.*}.
+ */
+public enum ReadTarget {
+
+    // Lecturas de detalle y todo lo que sigue a una escritura
+    PRIMARY,
+
+    // Tableros, resúmenes por zona, clusters del mapa y estadísticas
+    ANALYTICS,
+
+    // Listados completos de una organización (forma normalizada)
+    EXPORT
+}
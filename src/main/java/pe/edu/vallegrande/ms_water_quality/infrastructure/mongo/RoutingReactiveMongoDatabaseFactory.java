@@ -0,0 +1,78 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.mongo;
+
+import com.mongodb.ClientSessionOptions;
+import com.mongodb.reactivestreams.client.ClientSession;
+import com.mongodb.reactivestreams.client.MongoDatabase;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.support.PersistenceExceptionTranslator;
+import org.springframework.data.mongodb.ReactiveMongoDatabaseFactory;
+import reactor.core.publisher.Mono;
+
+/**
+ * Fábrica que aplica la ruta de lectura dejada por {@link ReadRouting} en el contexto de
+ * Reactor. {@code ReactiveMongoTemplate} pide la base de datos dentro de cada operación, así
+ * que los repositorios reciben la preferencia (y la sesión causal) sin cambiar su código.
+ */
+public class RoutingReactiveMongoDatabaseFactory implements ReactiveMongoDatabaseFactory {
+
+    private final ReactiveMongoDatabaseFactory delegate;
+
+    public RoutingReactiveMongoDatabaseFactory(ReactiveMongoDatabaseFactory delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Mono<MongoDatabase> getMongoDatabase() throws DataAccessException {
+        return Mono.deferContextual(context -> {
+            ReadRouting.Routed routed = context.getOrDefault(ReadRouting.Routed.class, null);
+            if (routed == null) {
+                return delegate.getMongoDatabase();
+            }
+            return factoryFor(routed).getMongoDatabase()
+                .map(database -> database.withReadPreference(routed.preference()));
+        });
+    }
+
+    @Override
+    public Mono<MongoDatabase> getMongoDatabase(String dbName) throws DataAccessException {
+        return Mono.deferContextual(context -> {
+            ReadRouting.Routed routed = context.getOrDefault(ReadRouting.Routed.class, null);
+            if (routed == null) {
+                return delegate.getMongoDatabase(dbName);
+            }
+            return factoryFor(routed).getMongoDatabase(dbName)
+                .map(database -> database.withReadPreference(routed.preference()));
+        });
+    }
+
+    @Override
+    public PersistenceExceptionTranslator getExceptionTranslator() {
+        return delegate.getExceptionTranslator();
+    }
+
+    @Override
+    public CodecRegistry getCodecRegistry() {
+        return delegate.getCodecRegistry();
+    }
+
+    @Override
+    public Mono<ClientSession> getSession(ClientSessionOptions options) {
+        return delegate.getSession(options);
+    }
+
+    // Una sesión explícita (transacciones, withSession) manda sobre la ruta
+    @Override
+    public ReactiveMongoDatabaseFactory withSession(ClientSession session) {
+        return delegate.withSession(session);
+    }
+
+    @Override
+    public boolean isTransactionActive() {
+        return delegate.isTransactionActive();
+    }
+
+    private ReactiveMongoDatabaseFactory factoryFor(ReadRouting.Routed routed) {
+        return routed.session() != null ? delegate.withSession(routed.session()) : delegate;
+    }
+}
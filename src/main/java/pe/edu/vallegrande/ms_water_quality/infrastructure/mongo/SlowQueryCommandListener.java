@@ -0,0 +1,164 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.mongo;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import pe.edu.vallegrande.ms_water_quality.domain.models.SlowQuery;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Detecta comandos de lectura que superan el umbral y, fuera del hilo del driver, ejecuta
+ * {@code explain} sobre la misma forma de consulta para guardar el plan en {@code slow_queries}.
+ * Cada forma se explica como máximo una vez por ventana de enfriamiento.
+ */
+@Slf4j
+public class SlowQueryCommandListener implements CommandListener {
+
+    private static final Set<String> EXPLAINABLE = Set.of("find", "aggregate", "count", "distinct");
+    private static final Set<String> SESSION_FIELDS = Set.of(
+        "lsid", "txnNumber", "autocommit", "startTransaction", "apiVersion", "apiStrict", "apiDeprecationErrors");
+    private static final int MAX_PENDING = 10_000;
+    private static final int MAX_CONCURRENT_EXPLAINS = 2;
+
+    private final long thresholdNanos;
+    private final long cooldownNanos;
+    private final String slowQueryCollection;
+    private final ObjectProvider<ReactiveMongoTemplate> templateProvider;
+    private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+
+    private final Map<Integer, BsonDocument> pending = new ConcurrentHashMap<>();
+    private final Map<String, Long> lastExplained = new ConcurrentHashMap<>();
+    private final AtomicInteger explainsInFlight = new AtomicInteger();
+
+    public SlowQueryCommandListener(Duration threshold, Duration cooldown, String slowQueryCollection,
+                                    ObjectProvider<ReactiveMongoTemplate> templateProvider,
+                                    ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.thresholdNanos = threshold.toNanos();
+        this.cooldownNanos = cooldown.toNanos();
+        this.slowQueryCollection = slowQueryCollection;
+        this.templateProvider = templateProvider;
+        this.meterRegistryProvider = meterRegistryProvider;
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        if (!EXPLAINABLE.contains(event.getCommandName()) || pending.size() >= MAX_PENDING) {
+            return;
+        }
+        BsonValue target = event.getCommand().get(event.getCommandName());
+        if (target == null || !target.isString() || slowQueryCollection.equals(target.asString().getValue())) {
+            return;
+        }
+        // El documento del evento sólo es válido durante el callback
+        pending.put(event.getRequestId(), event.getCommand().clone());
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        BsonDocument command = pending.remove(event.getRequestId());
+        if (command != null && event.getElapsedTime(TimeUnit.NANOSECONDS) >= thresholdNanos) {
+            onSlowCommand(event.getCommandName(), command, event.getElapsedTime(TimeUnit.MILLISECONDS));
+        }
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        pending.remove(event.getRequestId());
+    }
+
+    private void onSlowCommand(String commandName, BsonDocument command, long durationMs) {
+        String collection = command.getString(commandName).getValue();
+        String shape = QueryShapes.shapeOf(commandName, command);
+        MeterRegistry meterRegistry = meterRegistryProvider.getIfAvailable();
+        if (meterRegistry != null) {
+            meterRegistry.counter("water_quality.mongo.slow_queries", "collection", collection, "command", commandName)
+                .increment();
+        }
+
+        long now = System.nanoTime();
+        Long last = lastExplained.get(shape);
+        if (last != null && now - last < cooldownNanos) {
+            return;
+        }
+        if (explainsInFlight.incrementAndGet() > MAX_CONCURRENT_EXPLAINS) {
+            explainsInFlight.decrementAndGet();
+            return;
+        }
+        if (lastExplained.size() > MAX_PENDING) {
+            lastExplained.clear();
+        }
+        lastExplained.put(shape, now);
+
+        ReactiveMongoTemplate template = templateProvider.getIfAvailable();
+        if (template == null) {
+            explainsInFlight.decrementAndGet();
+            return;
+        }
+        Document explain = new Document("explain", toExplainable(command)).append("verbosity", "executionStats");
+        template.executeCommand(explain)
+            .map(result -> toSlowQuery(collection, commandName, shape, durationMs, result))
+            .flatMap(slowQuery -> template.insert(slowQuery, slowQueryCollection))
+            .subscribeOn(Schedulers.boundedElastic())
+            .doFinally(signal -> explainsInFlight.decrementAndGet())
+            .subscribe(
+                saved -> { },
+                error -> log.warn("No se pudo registrar el plan de {} sobre {}: {}", commandName, collection,
+                    error.getMessage()));
+    }
+
+    private static Document toExplainable(BsonDocument command) {
+        Document explainable = new Document();
+        command.forEach((key, value) -> {
+            if (!key.startsWith("$") && !SESSION_FIELDS.contains(key)) {
+                explainable.append(key, value);
+            }
+        });
+        return explainable;
+    }
+
+    private static SlowQuery toSlowQuery(String collection, String commandName, String shape, long durationMs,
+                                         Document explain) {
+        Document stats = QueryShapes.findFirst(explain, "executionStats");
+        Document planner = QueryShapes.findFirst(explain, "queryPlanner");
+        Document winningPlan = planner != null ? planner.get("winningPlan", Document.class) : null;
+        if (winningPlan != null && winningPlan.containsKey("queryPlan")) {
+            winningPlan = winningPlan.get("queryPlan", Document.class);
+        }
+
+        SlowQuery slowQuery = new SlowQuery();
+        slowQuery.setCollection(collection);
+        slowQuery.setCommand(commandName);
+        slowQuery.setShape(shape);
+        slowQuery.setDurationMs(durationMs);
+        if (stats != null) {
+            slowQuery.setDocsExamined(asLong(stats.get("totalDocsExamined")));
+            slowQuery.setKeysExamined(asLong(stats.get("totalKeysExamined")));
+            slowQuery.setDocsReturned(asLong(stats.get("nReturned")));
+        }
+        slowQuery.setPlanSummary(QueryShapes.summarizePlan(winningPlan));
+        // Sin literales, igual que la forma: el plan no debe exponer datos de otras organizaciones
+        slowQuery.setWinningPlan(QueryShapes.redactPlan(winningPlan));
+        slowQuery.setCapturedAt(LocalDateTime.now());
+        return slowQuery;
+    }
+
+    private static Long asLong(Object value) {
+        return value instanceof Number number ? number.longValue() : null;
+    }
+}
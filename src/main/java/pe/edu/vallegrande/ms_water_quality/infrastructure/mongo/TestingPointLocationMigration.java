@@ -0,0 +1,48 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.mongo;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Component;
+import pe.edu.vallegrande.ms_water_quality.domain.models.TestingPoint;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Completa {@code location} (GeoJSON) en los puntos guardados antes del índice 2dsphere,
+ * a partir de {@code coordinates}. Es idempotente: solo toca documentos sin {@code location}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "geo.migrate-on-startup", havingValue = "true", matchIfMissing = true)
+public class TestingPointLocationMigration {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        // Solo coordenadas numéricas dentro de rango: el índice 2dsphere rechaza las demás
+        Document filter = new Document("location", new Document("$exists", false))
+            .append("coordinates.latitude", new Document("$gte", -90).append("$lte", 90))
+            .append("coordinates.longitude", new Document("$gte", -180).append("$lte", 180));
+        List<Document> pipeline = List.of(new Document("$set", new Document("location",
+            new Document("type", "Point")
+                .append("coordinates", List.of("$coordinates.longitude", "$coordinates.latitude")))));
+
+        mongoTemplate.getCollection(mongoTemplate.getCollectionName(TestingPoint.class))
+            .flatMap(collection -> Mono.from(collection.updateMany(filter, pipeline)))
+            .subscribe(
+                result -> {
+                    if (result.getModifiedCount() > 0) {
+                        log.info("Ubicación GeoJSON completada en {} puntos de muestreo", result.getModifiedCount());
+                    }
+                },
+                error -> log.warn("No se pudo migrar la ubicación de los puntos de muestreo: {}", error.getMessage()));
+    }
+}
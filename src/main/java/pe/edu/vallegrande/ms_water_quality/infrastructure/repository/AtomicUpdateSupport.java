@@ -0,0 +1,61 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.repository;
+
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.exception.CustomException;
+import reactor.core.publisher.Mono;
+
+/**
+ * Implementación común de {@link AtomicUpdates} para los fragmentos de cada repositorio.
+ */
+abstract class AtomicUpdateSupport<T> implements AtomicUpdates<T> {
+
+    private static final String VERSION = "version";
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final Class<T> type;
+
+    protected AtomicUpdateSupport(ReactiveMongoTemplate mongoTemplate, Class<T> type) {
+        this.mongoTemplate = mongoTemplate;
+        this.type = type;
+    }
+
+    @Override
+    public Mono<T> updateAtomically(String id, String organizationId, Long expectedVersion, Update update) {
+        return mongoTemplate.findAndModify(query(id, organizationId, expectedVersion), update.inc(VERSION, 1),
+                FindAndModifyOptions.options().returnNew(true), type)
+            .switchIfEmpty(Mono.defer(() -> versionConflict(id, organizationId, expectedVersion)));
+    }
+
+    @Override
+    public Mono<T> removeAtomically(String id, String organizationId, Long expectedVersion) {
+        return mongoTemplate.findAndRemove(query(id, organizationId, expectedVersion), type)
+            .switchIfEmpty(Mono.defer(() -> versionConflict(id, organizationId, expectedVersion)));
+    }
+
+    // Solo con If-Match hace falta un segundo viaje para distinguir 404 de 412
+    private Mono<T> versionConflict(String id, String organizationId, Long expectedVersion) {
+        if (expectedVersion == null) {
+            return Mono.empty();
+        }
+        return mongoTemplate.exists(query(id, organizationId, null), type)
+            .flatMap(exists -> exists
+                ? Mono.error(CustomException.preconditionFailed(type.getSimpleName(), id))
+                : Mono.empty());
+    }
+
+    private static Query query(String id, String organizationId, Long expectedVersion) {
+        Criteria criteria = Criteria.where("_id").is(id);
+        if (organizationId != null) {
+            criteria.and("organizationId").is(organizationId);
+        }
+        if (expectedVersion != null) {
+            // Los documentos anteriores a @Version no tienen el campo y valen como versión 0
+            criteria.and(VERSION).in(expectedVersion == 0 ? new Object[]{0L, null} : new Object[]{expectedVersion});
+        }
+        return Query.query(criteria);
+    }
+}
@@ -0,0 +1,18 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.repository;
+
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Mono;
+
+/**
+ * Mutaciones en un solo viaje a MongoDB ({@code findAndModify} / {@code findAndRemove}).
+ * {@code organizationId} y {@code expectedVersion} son opcionales: con {@code null} no filtran.
+ * Si el documento existe pero su versión no coincide se lanza un 412; si no existe, vacío.
+ */
+public interface AtomicUpdates<T> {
+
+    // Aplica el update, incrementa la versión y devuelve el documento nuevo
+    Mono<T> updateAtomically(String id, String organizationId, Long expectedVersion, Update update);
+
+    // Elimina y devuelve el documento eliminado
+    Mono<T> removeAtomically(String id, String organizationId, Long expectedVersion);
+}
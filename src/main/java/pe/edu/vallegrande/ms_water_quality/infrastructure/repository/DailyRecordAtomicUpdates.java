@@ -0,0 +1,6 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.repository;
+
+import pe.edu.vallegrande.ms_water_quality.domain.models.DailyRecord;
+
+public interface DailyRecordAtomicUpdates extends AtomicUpdates<DailyRecord> {
+}
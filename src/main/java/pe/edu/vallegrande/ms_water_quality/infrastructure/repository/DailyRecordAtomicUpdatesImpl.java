@@ -0,0 +1,11 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.repository;
+
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import pe.edu.vallegrande.ms_water_quality.domain.models.DailyRecord;
+
+public class DailyRecordAtomicUpdatesImpl extends AtomicUpdateSupport<DailyRecord> implements DailyRecordAtomicUpdates {
+
+    public DailyRecordAtomicUpdatesImpl(ReactiveMongoTemplate mongoTemplate) {
+        super(mongoTemplate, DailyRecord.class);
+    }
+}
@@ -0,0 +1,15 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.repository;
+
+import pe.edu.vallegrande.ms_water_quality.domain.models.DailyRecord;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public interface DailyRecordBulkWrites {
+
+    /**
+     * Inserta el lote en una sola operación bulk sin orden. Los registros deben traer su id;
+     * los que ya existen (reintento de un lote parcialmente escrito) se cuentan como insertados.
+     */
+    Mono<Integer> insertUnordered(List<DailyRecord> records);
+}
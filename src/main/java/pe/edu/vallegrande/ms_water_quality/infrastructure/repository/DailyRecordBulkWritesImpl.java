@@ -0,0 +1,45 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.repository;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import pe.edu.vallegrande.ms_water_quality.domain.models.DailyRecord;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class DailyRecordBulkWritesImpl implements DailyRecordBulkWrites {
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    public DailyRecordBulkWritesImpl(ReactiveMongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Mono<Integer> insertUnordered(List<DailyRecord> records) {
+        if (records.isEmpty()) {
+            return Mono.just(0);
+        }
+        // Se fija al escribir y no al encolar: la sincronización no debe ver un updatedAt
+        // anterior a la confirmación del lote
+        LocalDateTime now = LocalDateTime.now();
+        records.forEach(record -> record.setUpdatedAt(now));
+        return mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, DailyRecord.class)
+            .insert(records)
+            .execute()
+            .map(result -> records.size())
+            .onErrorResume(MongoBulkWriteException.class, e -> onlyDuplicates(e)
+                ? Mono.just(records.size())
+                : Mono.error(e));
+    }
+
+    private static boolean onlyDuplicates(MongoBulkWriteException e) {
+        return e.getWriteConcernError() == null
+            && e.getWriteErrors().stream().mapToInt(BulkWriteError::getCode).allMatch(code -> code == DUPLICATE_KEY);
+    }
+}
@@ -1,17 +1,39 @@
 package pe.edu.vallegrande.ms_water_quality.infrastructure.repository;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.query.TextCriteria;
 import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
 import org.springframework.stereotype.Repository;
 import pe.edu.vallegrande.ms_water_quality.domain.models.DailyRecord;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.mongo.ReadRoute;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.mongo.ReadTarget;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
 
 @Repository
-public interface DailyRecordRepository extends ReactiveMongoRepository<DailyRecord, String> {
+public interface DailyRecordRepository extends ReactiveMongoRepository<DailyRecord, String>, DailyRecordAtomicUpdates,
+        DailyRecordBulkWrites {
 
     Flux<DailyRecord> findAllByOrganizationId(String organizationId);
 
+    // Mismo filtro para el listado completo normalizado, servido desde un secundario
+    @ReadRoute(ReadTarget.EXPORT)
+    Flux<DailyRecord> streamAllByOrganizationId(String organizationId);
+
     Flux<DailyRecord> findByRecordTypeOrderByRecordCodeDesc(String recordType);
     
     // Organization-based methods
     Flux<DailyRecord> findByOrganizationIdAndRecordType(String organizationId, String recordType);
-}
\ No newline at end of file
+
+    // Registros recientes de la organización (estado de calidad del mapa)
+    @ReadRoute(ReadTarget.ANALYTICS)
+    Flux<DailyRecord> findByOrganizationIdAndRecordDateAfter(String organizationId, LocalDateTime since);
+
+    // Búsqueda acotada a la organización del usuario
+    Mono<DailyRecord> findByIdAndOrganizationId(String id, String organizationId);
+
+    // Búsqueda de texto por relevancia (observaciones)
+    Flux<DailyRecord> findByOrganizationIdAndDeletedAtIsNullOrderByScoreDesc(String organizationId, TextCriteria criteria, Pageable pageable);
+}
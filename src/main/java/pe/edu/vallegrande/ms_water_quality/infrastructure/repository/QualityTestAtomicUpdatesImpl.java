@@ -0,0 +1,11 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.repository;
+
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import pe.edu.vallegrande.ms_water_quality.domain.models.QualityTest;
+
+public class QualityTestAtomicUpdatesImpl extends AtomicUpdateSupport<QualityTest> implements QualityTestAtomicUpdates {
+
+    public QualityTestAtomicUpdatesImpl(ReactiveMongoTemplate mongoTemplate) {
+        super(mongoTemplate, QualityTest.class);
+    }
+}
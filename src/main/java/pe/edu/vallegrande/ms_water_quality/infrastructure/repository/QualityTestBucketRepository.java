@@ -0,0 +1,23 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.repository;
+
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import pe.edu.vallegrande.ms_water_quality.domain.models.QualityTestBucket;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface QualityTestBucketRepository extends ReactiveMongoRepository<QualityTestBucket, String> {
+
+    // Buckets cuyo rango de fechas se cruza con [from, to]
+    @Query("{ 'organizationId': ?0, 'firstTestDate': { '$lte': ?2 }, 'lastTestDate': { '$gte': ?1 } }")
+    Flux<QualityTestBucket> findOverlapping(String organizationId, LocalDateTime from, LocalDateTime to);
+
+    Mono<QualityTestBucket> findFirstByOrganizationIdAndEntriesId(String organizationId, String entryId);
+
+    // Bucket más reciente de la organización (último código de análisis archivado)
+    Mono<QualityTestBucket> findFirstByOrganizationIdOrderByLastTestDateDesc(String organizationId);
+}
@@ -1,16 +1,28 @@
 package pe.edu.vallegrande.ms_water_quality.infrastructure.repository;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
 import org.springframework.stereotype.Repository;
 import pe.edu.vallegrande.ms_water_quality.domain.models.QualityTest;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.mongo.ReadRoute;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.mongo.ReadTarget;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
 
 @Repository
-public interface QualityTestRepository extends ReactiveMongoRepository<QualityTest, String> {
+public interface QualityTestRepository extends ReactiveMongoRepository<QualityTest, String>, QualityTestAtomicUpdates {
 
     // Obtener todas las pruebas por organización
     Flux<QualityTest> findAllByOrganizationId(String organizationId);
 
+    // Mismo filtro para el listado completo normalizado, servido desde un secundario
+    @ReadRoute(ReadTarget.EXPORT)
+    Flux<QualityTest> streamAllByOrganizationId(String organizationId);
+
     // Obtener pruebas por tipo (RUTINARIO, ESPECIAL, etc.)
     Flux<QualityTest> findAllByTestType(String testType);
 
@@ -19,4 +31,18 @@ public interface QualityTestRepository extends ReactiveMongoRepository<QualityTe
     
     // Organization-based methods
     Flux<QualityTest> findByOrganizationIdAndStatus(String organizationId, String status);
-}
\ No newline at end of file
+
+    // Pruebas recientes de la organización (estado de calidad del mapa)
+    @ReadRoute(ReadTarget.ANALYTICS)
+    Flux<QualityTest> findByOrganizationIdAndTestDateAfter(String organizationId, LocalDateTime since);
+
+    // Rango inclusivo de fechas (la parte viva de las consultas históricas)
+    @Query("{ 'organizationId': ?0, 'testDate': { '$gte': ?1, '$lte': ?2 } }")
+    Flux<QualityTest> findByOrganizationIdAndTestDateBetween(String organizationId, LocalDateTime from, LocalDateTime to);
+
+    // Búsqueda acotada a la organización del usuario
+    Mono<QualityTest> findByIdAndOrganizationId(String id, String organizationId);
+
+    // Búsqueda de texto por relevancia (observaciones generales y de resultados)
+    Flux<QualityTest> findByOrganizationIdAndDeletedAtIsNullOrderByScoreDesc(String organizationId, TextCriteria criteria, Pageable pageable);
+}
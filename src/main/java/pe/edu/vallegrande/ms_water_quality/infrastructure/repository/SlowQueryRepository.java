@@ -0,0 +1,20 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import pe.edu.vallegrande.ms_water_quality.domain.models.SlowQuery;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.mongo.ReadRoute;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.mongo.ReadTarget;
+import reactor.core.publisher.Flux;
+
+@Repository
+public interface SlowQueryRepository extends ReactiveMongoRepository<SlowQuery, String> {
+
+    // Consultas lentas más recientes primero
+    @ReadRoute(ReadTarget.ANALYTICS)
+    Flux<SlowQuery> findAllByOrderByCapturedAtDesc(Pageable pageable);
+
+    @ReadRoute(ReadTarget.ANALYTICS)
+    Flux<SlowQuery> findByCollectionOrderByCapturedAtDesc(String collection, Pageable pageable);
+}
@@ -0,0 +1,21 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import pe.edu.vallegrande.ms_water_quality.domain.models.SyncTombstone;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface SyncTombstoneRepository extends ReactiveMongoRepository<SyncTombstone, String> {
+
+    // Marcas posteriores a la posición (deletedAt, documentId) y no anteriores a coveredSince
+    @Query(value = "{ 'organizationId': ?0, 'collection': ?1, 'deletedAt': { '$gte': ?2 },"
+        + " '$or': [ { 'deletedAt': { '$gt': ?3 } }, { 'deletedAt': ?3, 'documentId': { '$gt': ?4 } } ] }",
+        sort = "{ 'deletedAt': 1, 'documentId': 1 }")
+    Flux<SyncTombstone> findChanges(String organizationId, String collection, LocalDateTime coveredSince,
+                                    LocalDateTime after, String afterId, Pageable pageable);
+}
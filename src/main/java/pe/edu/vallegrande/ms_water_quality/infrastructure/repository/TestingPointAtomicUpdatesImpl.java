@@ -0,0 +1,11 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.repository;
+
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import pe.edu.vallegrande.ms_water_quality.domain.models.TestingPoint;
+
+public class TestingPointAtomicUpdatesImpl extends AtomicUpdateSupport<TestingPoint> implements TestingPointAtomicUpdates {
+
+    public TestingPointAtomicUpdatesImpl(ReactiveMongoTemplate mongoTemplate) {
+        super(mongoTemplate, TestingPoint.class);
+    }
+}
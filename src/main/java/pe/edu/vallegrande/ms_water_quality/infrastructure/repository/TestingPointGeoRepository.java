@@ -0,0 +1,15 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.repository;
+
+import org.springframework.data.geo.GeoResult;
+import pe.edu.vallegrande.ms_water_quality.domain.models.TestingPoint;
+import reactor.core.publisher.Flux;
+
+/**
+ * Consultas geoespaciales de puntos de muestreo sobre el índice 2dsphere de {@code location}.
+ */
+public interface TestingPointGeoRepository {
+
+    // Puntos de la organización ordenados por distancia; maxDistanceMeters y los filtros son opcionales
+    Flux<GeoResult<TestingPoint>> findNear(String organizationId, double latitude, double longitude,
+                                           Double maxDistanceMeters, String pointType, String status, int limit);
+}
@@ -0,0 +1,53 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.geo.Distance;
+import org.springframework.data.geo.GeoResult;
+import org.springframework.data.geo.Metrics;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import pe.edu.vallegrande.ms_water_quality.domain.models.TestingPoint;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+public class TestingPointGeoRepositoryImpl implements TestingPointGeoRepository {
+
+    private static final String DISTANCE_FIELD = "distanceMeters";
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    @Override
+    public Flux<GeoResult<TestingPoint>> findNear(String organizationId, double latitude, double longitude,
+                                                  Double maxDistanceMeters, String pointType, String status, int limit) {
+        Document query = new Document("organizationId", organizationId);
+        if (pointType != null && !pointType.isBlank()) {
+            query.append("pointType", pointType);
+        }
+        if (status != null && !status.isBlank()) {
+            query.append("status", status);
+        }
+
+        // $geoNear con un punto GeoJSON trabaja en metros sobre la esfera
+        Document geoNear = new Document("near", new Document("type", "Point")
+                .append("coordinates", List.of(longitude, latitude)))
+            .append("key", "location")
+            .append("distanceField", DISTANCE_FIELD)
+            .append("spherical", true)
+            .append("query", query);
+        if (maxDistanceMeters != null) {
+            geoNear.append("maxDistance", maxDistanceMeters);
+        }
+
+        Aggregation aggregation = Aggregation.newAggregation(
+            context -> new Document("$geoNear", geoNear),
+            Aggregation.limit(limit));
+
+        return mongoTemplate.aggregate(aggregation, TestingPoint.class, Document.class)
+            .map(document -> new GeoResult<>(
+                mongoTemplate.getConverter().read(TestingPoint.class, document),
+                new Distance(document.get(DISTANCE_FIELD, Number.class).doubleValue() / 1000, Metrics.KILOMETERS)));
+    }
+}
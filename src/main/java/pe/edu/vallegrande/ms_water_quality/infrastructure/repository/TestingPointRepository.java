@@ -1,13 +1,24 @@
 package pe.edu.vallegrande.ms_water_quality.infrastructure.repository;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.query.TextCriteria;
 import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
 import org.springframework.stereotype.Repository;
 import pe.edu.vallegrande.ms_water_quality.domain.models.TestingPoint;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
 
 @Repository
-public interface TestingPointRepository extends ReactiveMongoRepository<TestingPoint, String> {
+public interface TestingPointRepository extends ReactiveMongoRepository<TestingPoint, String>,
+        TestingPointGeoRepository, TestingPointZoneRepository, TestingPointAtomicUpdates {
     Flux<TestingPoint> findByStatus(String status);
     Flux<TestingPoint> findByOrganizationId(String organizationId);
     Flux<TestingPoint> findByOrganizationIdAndStatus(String organizationId, String status);
-}
\ No newline at end of file
+    Mono<TestingPoint> findByIdAndOrganizationId(String id, String organizationId);
+    Flux<TestingPoint> findByOrganizationIdAndIdIn(String organizationId, Collection<String> ids);
+
+    // Búsqueda de texto por relevancia (pointName, street, locationDescription)
+    Flux<TestingPoint> findByOrganizationIdOrderByScoreDesc(String organizationId, TextCriteria criteria, Pageable pageable);
+}
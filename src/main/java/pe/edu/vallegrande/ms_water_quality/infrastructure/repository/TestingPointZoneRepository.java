@@ -0,0 +1,18 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.repository;
+
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.ZoneSummaryResponse;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.mongo.ReadRoute;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.mongo.ReadTarget;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+
+/**
+ * Agregación de puntos de muestreo por {@code zoneId}.
+ */
+public interface TestingPointZoneRepository {
+
+    // Un resumen por zona con los registros y análisis posteriores a since
+    @ReadRoute(ReadTarget.ANALYTICS)
+    Flux<ZoneSummaryResponse> summarizeZones(String organizationId, LocalDateTime since);
+}
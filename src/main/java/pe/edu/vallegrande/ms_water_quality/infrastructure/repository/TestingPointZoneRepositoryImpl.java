@@ -0,0 +1,106 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import pe.edu.vallegrande.ms_water_quality.domain.models.DailyRecord;
+import pe.edu.vallegrande.ms_water_quality.domain.models.QualityTest;
+import pe.edu.vallegrande.ms_water_quality.domain.models.TestingPoint;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.ZoneSummaryResponse;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class TestingPointZoneRepositoryImpl implements TestingPointZoneRepository {
+
+    private static final String CHLORINE = "CLORO";
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    @Override
+    public Flux<ZoneSummaryResponse> summarizeZones(String organizationId, LocalDateTime since) {
+        // Misma conversión que Spring Data usa al guardar LocalDateTime
+        Date sinceDate = Date.from(since.atZone(ZoneId.systemDefault()).toInstant());
+        Document pointId = new Document("pointId", new Document("$toString", "$_id"));
+
+        // Último registro de cloro de cada punto
+        Document latestChlorine = new Document("from", mongoTemplate.getCollectionName(DailyRecord.class))
+            .append("let", pointId)
+            .append("pipeline", List.of(
+                new Document("$match", new Document("organizationId", organizationId)
+                    .append("recordType", CHLORINE)
+                    .append("deletedAt", null)
+                    .append("recordDate", new Document("$gte", sinceDate))
+                    .append("$expr", containsPoint("$testingPointIds"))),
+                new Document("$sort", new Document("recordDate", -1)),
+                new Document("$limit", 1),
+                new Document("$project", new Document("_id", 0).append("level", 1).append("recordDate", 1))))
+            .append("as", "latestChlorine");
+
+        // Análisis recientes del punto con su número de resultados críticos
+        Document criticalFilter = new Document("$filter", new Document("input", ifNull("$results"))
+            .append("as", "result")
+            .append("cond", new Document("$eq", List.of(
+                new Document("$substrCP", List.of(
+                    new Document("$toUpper", new Document("$ifNull", List.of("$$result.status", ""))), 0, 6)),
+                "CRITIC"))));
+        Document recentTests = new Document("from", mongoTemplate.getCollectionName(QualityTest.class))
+            .append("let", pointId)
+            .append("pipeline", List.of(
+                new Document("$match", new Document("organizationId", organizationId)
+                    .append("deletedAt", null)
+                    .append("testDate", new Document("$gte", sinceDate))
+                    .append("$expr", containsPoint("$testingPointId"))),
+                new Document("$project", new Document("_id", 0)
+                    .append("critical", new Document("$size", criticalFilter)))))
+            .append("as", "recentTests");
+
+        Document latestLevel = new Document("$arrayElemAt", List.of("$latestChlorine.level", 0));
+        Document group = new Document("_id", "$zoneId")
+            .append("totalPoints", new Document("$sum", 1))
+            .append("activePoints", countWhereStatus("ACTIVE"))
+            .append("inactivePoints", countWhereStatus("INACTIVE"))
+            .append("chlorineSamples", new Document("$sum", new Document("$size", "$latestChlorine")))
+            .append("chlorineMin", new Document("$min", latestLevel))
+            .append("chlorineMax", new Document("$max", latestLevel))
+            .append("chlorineAvg", new Document("$avg", latestLevel))
+            .append("lastChlorineAt", new Document("$max",
+                new Document("$arrayElemAt", List.of("$latestChlorine.recordDate", 0))))
+            .append("recentTests", new Document("$sum", new Document("$size", "$recentTests")))
+            .append("criticalResults", new Document("$sum", new Document("$sum", "$recentTests.critical")));
+
+        Aggregation aggregation = Aggregation.newAggregation(
+            stage("$match", new Document("organizationId", organizationId)),
+            stage("$lookup", latestChlorine),
+            stage("$lookup", recentTests),
+            stage("$group", group),
+            stage("$addFields", new Document("zoneId", "$_id")),
+            stage("$project", new Document("_id", 0)),
+            stage("$sort", new Document("zoneId", 1)));
+
+        return mongoTemplate.aggregate(aggregation, mongoTemplate.getCollectionName(TestingPoint.class),
+            ZoneSummaryResponse.class);
+    }
+
+    private static AggregationOperation stage(String operator, Document body) {
+        return context -> new Document(operator, body);
+    }
+
+    private static Document containsPoint(String pointIdsField) {
+        return new Document("$in", List.of("$$pointId", ifNull(pointIdsField)));
+    }
+
+    private static Document ifNull(String arrayField) {
+        return new Document("$ifNull", List.of(arrayField, List.of()));
+    }
+
+    private static Document countWhereStatus(String status) {
+        return new Document("$sum", new Document("$cond", List.of(new Document("$eq", List.of("$status", status)), 1, 0)));
+    }
+}
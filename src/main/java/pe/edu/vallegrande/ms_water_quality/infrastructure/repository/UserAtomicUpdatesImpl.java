@@ -0,0 +1,11 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.repository;
+
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import pe.edu.vallegrande.ms_water_quality.domain.models.User;
+
+public class UserAtomicUpdatesImpl extends AtomicUpdateSupport<User> implements UserAtomicUpdates {
+
+    public UserAtomicUpdatesImpl(ReactiveMongoTemplate mongoTemplate) {
+        super(mongoTemplate, User.class);
+    }
+}
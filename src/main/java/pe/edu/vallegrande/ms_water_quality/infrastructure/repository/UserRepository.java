@@ -7,7 +7,7 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @Repository
-public interface UserRepository extends ReactiveMongoRepository<User, String> {
+public interface UserRepository extends ReactiveMongoRepository<User, String>, UserAtomicUpdates {
     Mono<User> findByEmail(String email);
     Flux<User> findAllByStatus(String status);
     Mono<Boolean> existsByEmail(String email);
@@ -1,26 +1,51 @@
 package pe.edu.vallegrande.ms_water_quality.infrastructure.rest.admin;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import pe.edu.vallegrande.ms_water_quality.application.services.ArchiveService;
 import pe.edu.vallegrande.ms_water_quality.application.services.DailyRecordService;
 import pe.edu.vallegrande.ms_water_quality.application.services.QualityTestService;
+import pe.edu.vallegrande.ms_water_quality.application.services.RateLimitService;
+import pe.edu.vallegrande.ms_water_quality.application.services.SearchService;
+import pe.edu.vallegrande.ms_water_quality.application.services.SlowQueryService;
+import pe.edu.vallegrande.ms_water_quality.application.services.SyncService;
 import pe.edu.vallegrande.ms_water_quality.application.services.TestingPointService;
+import pe.edu.vallegrande.ms_water_quality.application.services.ZoneSummaryService;
+import pe.edu.vallegrande.ms_water_quality.domain.models.SlowQuery;
 import pe.edu.vallegrande.ms_water_quality.domain.models.TestingPoint;
 import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.ResponseDto;
 import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.request.DailyRecordCreateRequest;
 import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.request.QualityTestCreateRequest;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.request.RateLimitUpdateRequest;
 import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.request.TestingPointCreateRequest;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.ArchiveStatsResponse;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.DailyRecordIngestResponse;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.MapViewportResponse;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.PointSuggestionResponse;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.RateLimitResponse;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.SearchResponse;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.SyncResponse;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.TestingPointNearbyResponse;
 import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.TestingPointResponse;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.ZoneSummaryResponse;
 import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.enriched.DailyRecordEnrichedResponse;
 import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.enriched.QualityTestEnrichedResponse;
 import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.enriched.TestingPointEnrichedResponse;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.normalized.DailyRecordNormalizedResponse;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.normalized.NormalizedResponse;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.normalized.QualityTestNormalizedResponse;
 import pe.edu.vallegrande.ms_water_quality.infrastructure.exception.CustomException;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.web.ETags;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
 
 @RestController
 @RequiredArgsConstructor
@@ -31,6 +56,12 @@ public class AdminRest {
     private final TestingPointService testingPointService;
     private final QualityTestService qualityTestService;
     private final DailyRecordService dailyRecordService;
+    private final SlowQueryService slowQueryService;
+    private final RateLimitService rateLimitService;
+    private final ZoneSummaryService zoneSummaryService;
+    private final SearchService searchService;
+    private final ArchiveService archiveService;
+    private final SyncService syncService;
 
     // #region Testing Points
 
@@ -49,11 +80,46 @@ public class AdminRest {
         return testingPointService.getAllInactive().collectList().map(list -> new ResponseDto<>(true, list, null));
     }
 
+    // Puntos dentro de un radio (metros) alrededor de la coordenada, del más cercano al más lejano
+    @GetMapping("/sampling-points/near")
+    public Mono<ResponseDto<List<TestingPointNearbyResponse>>> getTestingPointsNear(
+            @RequestParam double latitude,
+            @RequestParam double longitude,
+            @RequestParam(defaultValue = "1000") double radiusMeters,
+            @RequestParam(required = false) String pointType,
+            @RequestParam(required = false) String status) {
+        return testingPointService.getWithinRadius(latitude, longitude, radiusMeters, pointType, status)
+            .collectList().map(list -> new ResponseDto<>(true, list, null));
+    }
+
+    // Los k puntos más cercanos a la coordenada
+    @GetMapping("/sampling-points/nearest")
+    public Mono<ResponseDto<List<TestingPointNearbyResponse>>> getNearestTestingPoints(
+            @RequestParam double latitude,
+            @RequestParam double longitude,
+            @RequestParam(defaultValue = "5") int k,
+            @RequestParam(required = false) String pointType,
+            @RequestParam(required = false) String status) {
+        return testingPointService.getNearest(latitude, longitude, k, pointType, status)
+            .collectList().map(list -> new ResponseDto<>(true, list, null));
+    }
+
+    // Contenido del viewport del mapa: grupos con zoom bajo, puntos sueltos con zoom alto
+    @GetMapping("/sampling-points/map")
+    public Mono<ResponseDto<MapViewportResponse>> getTestingPointsMap(
+            @RequestParam double south,
+            @RequestParam double west,
+            @RequestParam double north,
+            @RequestParam double east,
+            @RequestParam int zoom) {
+        return testingPointService.getViewport(south, west, north, east, zoom)
+            .map(data -> new ResponseDto<>(true, data, null));
+    }
+
     @GetMapping("/sampling-points/{id}")
-    public Mono<ResponseDto<TestingPointEnrichedResponse>> getTestingPointById(@PathVariable String id) {
-        return testingPointService.getById(id)
-                .map(data -> new ResponseDto<>(true, data, null))
-                .switchIfEmpty(Mono.error(CustomException.notFound("TestingPoint", id)));
+    public Mono<ResponseEntity<ResponseDto<TestingPointEnrichedResponse>>> getTestingPointById(@PathVariable String id) {
+        return withETag(testingPointService.getById(id)
+                .switchIfEmpty(Mono.error(CustomException.notFound("TestingPoint", id))), TestingPointEnrichedResponse::getVersion);
     }
 
     @PostMapping("/sampling-points")
@@ -62,27 +128,26 @@ public class AdminRest {
     }
 
     @PutMapping("/sampling-points/{id}")
-    public Mono<ResponseDto<TestingPoint>> updateTestingPoint(@PathVariable String id, @RequestBody TestingPoint point) {
-        return testingPointService.update(id, point)
-                .map(data -> new ResponseDto<>(true, data, null))
-                .switchIfEmpty(Mono.error(CustomException.notFound("TestingPoint", id)));
+    public Mono<ResponseEntity<ResponseDto<TestingPoint>>> updateTestingPoint(@PathVariable String id, @RequestBody TestingPoint point,
+                                                                           @RequestHeader(value = "If-Match", required = false) String ifMatch) {
+        return withETag(Mono.defer(() -> testingPointService.update(id, point, ETags.parseIfMatch(ifMatch))), TestingPoint::getVersion);
     }
 
     @DeleteMapping("/sampling-points/{id}")
-    public Mono<ResponseDto<Void>> deleteTestingPoint(@PathVariable String id) {
-        return testingPointService.delete(id).then(Mono.just(new ResponseDto<>(true, null, null)));
+    public Mono<ResponseDto<Void>> deleteTestingPoint(@PathVariable String id, @RequestHeader(value = "If-Match", required = false) String ifMatch) {
+        return Mono.defer(() -> testingPointService.delete(id, ETags.parseIfMatch(ifMatch))).then(Mono.just(new ResponseDto<>(true, null, null)));
     }
 
     @PatchMapping("/sampling-points/activate/{id}")
-    public Mono<ResponseDto<TestingPointEnrichedResponse>> activateTestingPoint(@PathVariable String id) {
-        return testingPointService.activate(id)
+    public Mono<ResponseDto<TestingPointEnrichedResponse>> activateTestingPoint(@PathVariable String id, @RequestHeader(value = "If-Match", required = false) String ifMatch) {
+        return Mono.defer(() -> testingPointService.activate(id, ETags.parseIfMatch(ifMatch)))
                 .map(data -> new ResponseDto<>(true, data, null))
                 .switchIfEmpty(Mono.error(CustomException.notFound("TestingPoint", id)));
     }
 
     @PatchMapping("/sampling-points/deactivate/{id}")
-    public Mono<ResponseDto<TestingPointEnrichedResponse>> deactivateTestingPoint(@PathVariable String id) {
-        return testingPointService.deactivate(id)
+    public Mono<ResponseDto<TestingPointEnrichedResponse>> deactivateTestingPoint(@PathVariable String id, @RequestHeader(value = "If-Match", required = false) String ifMatch) {
+        return Mono.defer(() -> testingPointService.deactivate(id, ETags.parseIfMatch(ifMatch)))
                 .map(data -> new ResponseDto<>(true, data, null))
                 .switchIfEmpty(Mono.error(CustomException.notFound("TestingPoint", id)));
     }
@@ -96,11 +161,24 @@ public class AdminRest {
         return qualityTestService.getAll().collectList().map(list -> new ResponseDto<>(true, list, null));
     }
 
+    // Opt-in: ?shape=normalized devuelve IDs y las entidades relacionadas una sola vez en included
+    @GetMapping(value = "/tests", params = "shape=normalized")
+    public Mono<ResponseDto<NormalizedResponse<QualityTestNormalizedResponse>>> getAllTestsNormalized() {
+        return qualityTestService.getAllNormalized().map(data -> new ResponseDto<>(true, data, null));
+    }
+
+    // Incluye los análisis archivados en buckets históricos
+    @GetMapping("/tests/range")
+    public Mono<ResponseDto<List<QualityTestEnrichedResponse>>> getTestsByDateRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return qualityTestService.getByDateRange(from, to).collectList().map(list -> new ResponseDto<>(true, list, null));
+    }
+
     @GetMapping("/tests/{id}")
-    public Mono<ResponseDto<QualityTestEnrichedResponse>> getTestById(@PathVariable String id) {
-        return qualityTestService.getById(id)
-                .map(data -> new ResponseDto<>(true, data, null))
-                .switchIfEmpty(Mono.error(CustomException.notFound("QualityTest", id)));
+    public Mono<ResponseEntity<ResponseDto<QualityTestEnrichedResponse>>> getTestById(@PathVariable String id) {
+        return withETag(qualityTestService.getById(id)
+                .switchIfEmpty(Mono.error(CustomException.notFound("QualityTest", id))), QualityTestEnrichedResponse::getVersion);
     }
 
     @PostMapping("/tests")
@@ -109,25 +187,24 @@ public class AdminRest {
     }
 
     @PutMapping("/tests/{id}")
-    public Mono<ResponseDto<QualityTestEnrichedResponse>> updateTest(@PathVariable String id, @RequestBody QualityTestCreateRequest request) {
-        return qualityTestService.update(id, request)
-                .map(data -> new ResponseDto<>(true, data, null))
-                .switchIfEmpty(Mono.error(CustomException.notFound("QualityTest", id)));
+    public Mono<ResponseEntity<ResponseDto<QualityTestEnrichedResponse>>> updateTest(@PathVariable String id, @RequestBody QualityTestCreateRequest request,
+                                                                           @RequestHeader(value = "If-Match", required = false) String ifMatch) {
+        return withETag(Mono.defer(() -> qualityTestService.update(id, request, ETags.parseIfMatch(ifMatch))), QualityTestEnrichedResponse::getVersion);
     }
 
     @DeleteMapping("/tests/{id}")
-    public Mono<ResponseDto<Void>> deleteTest(@PathVariable String id) {
-        return qualityTestService.delete(id).then(Mono.just(new ResponseDto<>(true, null, null)));
+    public Mono<ResponseDto<Void>> deleteTest(@PathVariable String id, @RequestHeader(value = "If-Match", required = false) String ifMatch) {
+        return Mono.defer(() -> qualityTestService.delete(id, ETags.parseIfMatch(ifMatch))).then(Mono.just(new ResponseDto<>(true, null, null)));
     }
     
     @DeleteMapping("/tests/physical/{id}")
-    public Mono<ResponseDto<Void>> deleteTestPhysically(@PathVariable String id) {
-        return qualityTestService.deletePhysically(id).then(Mono.just(new ResponseDto<>(true, null, null)));
+    public Mono<ResponseDto<Void>> deleteTestPhysically(@PathVariable String id, @RequestHeader(value = "If-Match", required = false) String ifMatch) {
+        return Mono.defer(() -> qualityTestService.deletePhysically(id, ETags.parseIfMatch(ifMatch))).then(Mono.just(new ResponseDto<>(true, null, null)));
     }
 
     @PatchMapping("/tests/restore/{id}")
-    public Mono<ResponseDto<QualityTestEnrichedResponse>> restoreTest(@PathVariable String id) {
-        return qualityTestService.restore(id)
+    public Mono<ResponseDto<QualityTestEnrichedResponse>> restoreTest(@PathVariable String id, @RequestHeader(value = "If-Match", required = false) String ifMatch) {
+        return Mono.defer(() -> qualityTestService.restore(id, ETags.parseIfMatch(ifMatch)))
                 .map(data -> new ResponseDto<>(true, data, null))
                 .switchIfEmpty(Mono.error(CustomException.notFound("QualityTest", id)));
     }
@@ -141,11 +218,15 @@ public class AdminRest {
         return dailyRecordService.getAll().collectList().map(list -> new ResponseDto<>(true, list, null));
     }
 
+    @GetMapping(value = "/daily-records", params = "shape=normalized")
+    public Mono<ResponseDto<NormalizedResponse<DailyRecordNormalizedResponse>>> getAllDailyRecordsNormalized() {
+        return dailyRecordService.getAllNormalized().map(data -> new ResponseDto<>(true, data, null));
+    }
+
     @GetMapping("/daily-records/{id}")
-    public Mono<ResponseDto<DailyRecordEnrichedResponse>> getDailyRecordById(@PathVariable String id) {
-        return dailyRecordService.getById(id)
-                .map(data -> new ResponseDto<>(true, data, null))
-                .switchIfEmpty(Mono.error(CustomException.notFound("DailyRecord", id)));
+    public Mono<ResponseEntity<ResponseDto<DailyRecordEnrichedResponse>>> getDailyRecordById(@PathVariable String id) {
+        return withETag(dailyRecordService.getById(id)
+                .switchIfEmpty(Mono.error(CustomException.notFound("DailyRecord", id))), DailyRecordEnrichedResponse::getVersion);
     }
 
     @PostMapping("/daily-records")
@@ -153,29 +234,123 @@ public class AdminRest {
         return dailyRecordService.save(request).map(data -> ResponseEntity.status(HttpStatus.CREATED).body(new ResponseDto<>(true, data, null)));
     }
 
+    // Alta frecuencia (cloradores): 202 al encolar; con wait=true, 201 cuando el lote se escribió
+    @PostMapping("/daily-records/ingest")
+    public Mono<ResponseEntity<ResponseDto<DailyRecordIngestResponse>>> ingestDailyRecord(@RequestBody DailyRecordCreateRequest request,
+                                                                                       @RequestParam(defaultValue = "false") boolean wait) {
+        HttpStatus status = wait ? HttpStatus.CREATED : HttpStatus.ACCEPTED;
+        return dailyRecordService.ingest(request, wait).map(data -> ResponseEntity.status(status).body(new ResponseDto<>(true, data, null)));
+    }
+
     @PutMapping("/daily-records/{id}")
-    public Mono<ResponseDto<DailyRecordEnrichedResponse>> updateDailyRecord(@PathVariable String id, @RequestBody DailyRecordCreateRequest request) {
-        return dailyRecordService.update(id, request)
-                .map(data -> new ResponseDto<>(true, data, null))
-                .switchIfEmpty(Mono.error(CustomException.notFound("DailyRecord", id)));
+    public Mono<ResponseEntity<ResponseDto<DailyRecordEnrichedResponse>>> updateDailyRecord(@PathVariable String id, @RequestBody DailyRecordCreateRequest request,
+                                                                           @RequestHeader(value = "If-Match", required = false) String ifMatch) {
+        return withETag(Mono.defer(() -> dailyRecordService.update(id, request, ETags.parseIfMatch(ifMatch))), DailyRecordEnrichedResponse::getVersion);
     }
 
     @DeleteMapping("/daily-records/{id}")
-    public Mono<ResponseDto<Void>> deleteDailyRecord(@PathVariable String id) {
-        return dailyRecordService.delete(id).then(Mono.just(new ResponseDto<>(true, null, null)));
+    public Mono<ResponseDto<Void>> deleteDailyRecord(@PathVariable String id, @RequestHeader(value = "If-Match", required = false) String ifMatch) {
+        return Mono.defer(() -> dailyRecordService.delete(id, ETags.parseIfMatch(ifMatch))).then(Mono.just(new ResponseDto<>(true, null, null)));
     }
 
     @DeleteMapping("/daily-records/physical/{id}")
-    public Mono<ResponseDto<Void>> deleteDailyRecordPhysically(@PathVariable String id) {
-        return dailyRecordService.deletePhysically(id).then(Mono.just(new ResponseDto<>(true, null, null)));
+    public Mono<ResponseDto<Void>> deleteDailyRecordPhysically(@PathVariable String id, @RequestHeader(value = "If-Match", required = false) String ifMatch) {
+        return Mono.defer(() -> dailyRecordService.deletePhysically(id, ETags.parseIfMatch(ifMatch))).then(Mono.just(new ResponseDto<>(true, null, null)));
     }
 
     @PatchMapping("/daily-records/restore/{id}")
-    public Mono<ResponseDto<DailyRecordEnrichedResponse>> restoreDailyRecord(@PathVariable String id) {
-        return dailyRecordService.restore(id)
+    public Mono<ResponseDto<DailyRecordEnrichedResponse>> restoreDailyRecord(@PathVariable String id, @RequestHeader(value = "If-Match", required = false) String ifMatch) {
+        return Mono.defer(() -> dailyRecordService.restore(id, ETags.parseIfMatch(ifMatch)))
                 .map(data -> new ResponseDto<>(true, data, null))
                 .switchIfEmpty(Mono.error(CustomException.notFound("DailyRecord", id)));
     }
 
     // #endregion
-}
\ No newline at end of file
+
+    // #region Zones
+
+    @GetMapping("/zones/summary")
+    public Mono<ResponseDto<List<ZoneSummaryResponse>>> getZoneSummaries() {
+        return zoneSummaryService.getAll().collectList().map(list -> new ResponseDto<>(true, list, null));
+    }
+
+    @GetMapping("/zones/{zoneId}/summary")
+    public Mono<ResponseDto<ZoneSummaryResponse>> getZoneSummary(@PathVariable String zoneId) {
+        return zoneSummaryService.getByZone(zoneId).map(data -> new ResponseDto<>(true, data, null));
+    }
+
+    // #endregion
+
+    // #region Search
+
+    // types: points, tests, records (por defecto, todos)
+    @GetMapping("/search")
+    public Mono<ResponseDto<SearchResponse>> search(@RequestParam String q,
+                                                    @RequestParam(required = false) Set<String> types,
+                                                    @RequestParam(defaultValue = "20") int limit) {
+        return searchService.search(q, types, limit).map(data -> new ResponseDto<>(true, data, null));
+    }
+
+    @GetMapping("/search/suggest")
+    public Mono<ResponseDto<List<PointSuggestionResponse>>> suggest(@RequestParam String q,
+                                                                    @RequestParam(defaultValue = "10") int limit) {
+        return searchService.suggest(q, limit).map(list -> new ResponseDto<>(true, list, null));
+    }
+
+    // #endregion
+
+    // #region Archive
+
+    @GetMapping("/archive/stats")
+    public Mono<ResponseDto<ArchiveStatsResponse>> getArchiveStats() {
+        return archiveService.getStats().map(stats -> new ResponseDto<>(true, stats, null));
+    }
+
+    // #endregion
+
+    // #region Sync
+
+    // Sin token devuelve todo; después, sólo lo que cambió desde el token anterior
+    @GetMapping("/sync")
+    public Mono<ResponseDto<SyncResponse>> sync(@RequestParam(required = false) String token,
+                                                @RequestParam(defaultValue = "500") int limit) {
+        return syncService.changes(token, limit).map(data -> new ResponseDto<>(true, data, null));
+    }
+
+    // #endregion
+
+    // #region Slow Queries
+
+    // Las consultas son de todas las organizaciones
+    @GetMapping("/slow-queries")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public Mono<ResponseDto<List<SlowQuery>>> getSlowQueries(@RequestParam(defaultValue = "50") int limit,
+                                                             @RequestParam(required = false) String collection) {
+        return slowQueryService.getRecent(limit, collection).collectList().map(list -> new ResponseDto<>(true, list, null));
+    }
+
+    // #endregion
+
+    // #region Rate Limits
+
+    @GetMapping("/rate-limits")
+    public Mono<ResponseDto<RateLimitResponse>> getRateLimits() {
+        return rateLimitService.getLimits().map(data -> new ResponseDto<>(true, data, null));
+    }
+
+    // Afecta a todas las organizaciones: reservado a SUPER_ADMIN
+    @PutMapping("/rate-limits")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public Mono<ResponseDto<RateLimitResponse>> updateRateLimits(@RequestBody RateLimitUpdateRequest request) {
+        return rateLimitService.updateLimits(request).map(data -> new ResponseDto<>(true, data, null));
+    }
+
+    // #endregion
+
+    // Responde con la versión del documento como ETag para usarla luego en If-Match
+    private static <T> Mono<ResponseEntity<ResponseDto<T>>> withETag(Mono<T> source, Function<T, Long> version) {
+        return source.map(data -> ResponseEntity.ok()
+                .eTag(ETags.of(version.apply(data)))
+                .body(new ResponseDto<>(true, data, null)));
+    }
+}
@@ -0,0 +1,29 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.retention;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Días que se conserva un documento borrado lógicamente en {@code collection}, con
+ * excepciones por organización. {@code 0} días = no se purga nunca.
+ */
+public record RetentionRule(String collection, int defaultDays, Map<String, Integer> organizationDays) {
+
+    /**
+     * Lee las excepciones por organización con el formato {@code orgId=días,orgId=días}.
+     */
+    public static Map<String, Integer> parseOrganizationDays(String spec) {
+        Map<String, Integer> days = new HashMap<>();
+        if (spec == null || spec.isBlank()) {
+            return days;
+        }
+        for (String entry : spec.split(",")) {
+            String[] pair = entry.trim().split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Retención inválida: " + entry);
+            }
+            days.put(pair[0].trim(), Integer.parseInt(pair[1].trim()));
+        }
+        return days;
+    }
+}
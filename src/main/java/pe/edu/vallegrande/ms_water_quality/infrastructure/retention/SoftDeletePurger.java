@@ -0,0 +1,198 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.retention;
+
+import com.mongodb.WriteConcern;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.sync.SyncTombstones;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Purga los documentos borrados lógicamente cuya retención venció, en lotes pequeños. Cada
+ * lote se confirma con write concern {@code majority} y después se espera {@code pause}:
+ * el ritmo lo marcan los secundarios, así que la purga no dispara el retraso de réplica.
+ * <p>
+ * No se usa un índice TTL porque la retención cambia por organización. Los purgados dejan
+ * marca de borrado para los clientes de sincronización que no vieron el borrado lógico.
+ */
+@Slf4j
+public class SoftDeletePurger implements DisposableBean {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final SyncTombstones syncTombstones;
+    private final List<RetentionRule> rules;
+    private final int batchSize;
+    private final Duration pause;
+    private final int maxBatchesPerRun;
+
+    private final Map<String, AtomicLong> purged = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> backlog = new ConcurrentHashMap<>();
+    private final AtomicReference<Mono<Long>> inFlight = new AtomicReference<>();
+    private Disposable schedule;
+
+    public SoftDeletePurger(ReactiveMongoTemplate mongoTemplate, SyncTombstones syncTombstones, List<RetentionRule> rules,
+                            int batchSize, Duration pause, int maxBatchesPerRun) {
+        this.mongoTemplate = mongoTemplate;
+        this.syncTombstones = syncTombstones;
+        this.rules = List.copyOf(rules);
+        this.batchSize = batchSize;
+        this.pause = pause;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        rules.forEach(rule -> {
+            purged.put(rule.collection(), new AtomicLong());
+            backlog.put(rule.collection(), new AtomicLong());
+        });
+    }
+
+    public void start(Duration initialDelay, Duration period) {
+        schedule = Flux.interval(initialDelay, period, Schedulers.parallel())
+            .onBackpressureDrop()
+            .concatMap(tick -> purgeNow().onErrorResume(error -> {
+                log.warn("No se pudo purgar documentos borrados: {}", error.getMessage());
+                return Mono.empty();
+            }))
+            .subscribe();
+    }
+
+    /**
+     * Corre una pasada sobre todas las colecciones y devuelve cuántos documentos borró.
+     * Las llamadas concurrentes comparten la misma pasada.
+     */
+    public Mono<Long> purgeNow() {
+        Mono<Long> pending = inFlight.get();
+        if (pending != null) {
+            return pending;
+        }
+        Mono<Long> run = Flux.fromIterable(rules)
+            .concatMap(this::purge)
+            .reduce(0L, Long::sum)
+            .doFinally(signal -> inFlight.set(null))
+            .cache();
+        return inFlight.compareAndSet(null, run) ? run : inFlight.get();
+    }
+
+    public long purged(String collection) {
+        AtomicLong count = purged.get(collection);
+        return count != null ? count.get() : 0;
+    }
+
+    // Documentos vencidos pendientes de purga al terminar la última pasada
+    public long backlog(String collection) {
+        AtomicLong count = backlog.get(collection);
+        return count != null ? count.get() : 0;
+    }
+
+    private Mono<Long> purge(RetentionRule rule) {
+        List<Bson> filters = filters(rule, Instant.now());
+        return mongoTemplate.getCollection(rule.collection()).flatMap(collection -> Flux.fromIterable(filters)
+            .concatMap(filter -> purge(collection, filter))
+            .reduce(0L, Long::sum)
+            .doOnNext(deleted -> {
+                purged.get(rule.collection()).addAndGet(deleted);
+                if (deleted > 0) {
+                    log.info("Purgados {} documentos borrados de {}", deleted, rule.collection());
+                }
+            })
+            .flatMap(deleted -> Flux.fromIterable(filters)
+                .concatMap(filter -> Mono.from(collection.countDocuments(filter)))
+                .reduce(0L, Long::sum)
+                .doOnNext(pending -> backlog.get(rule.collection()).set(pending))
+                .thenReturn(deleted)));
+    }
+
+    private Mono<Long> purge(MongoCollection<Document> collection, Bson filter) {
+        MongoCollection<Document> majority = collection.withWriteConcern(WriteConcern.MAJORITY);
+        return Flux.range(0, maxBatchesPerRun)
+            .concatMap(i -> Flux.from(collection.find(filter)
+                    .projection(Projections.include("_id", "organizationId")).limit(batchSize))
+                .collectList()
+                .flatMap(documents -> documents.isEmpty()
+                    ? Mono.just(new Batch(0, 0))
+                    : deleteBatch(collection, majority, documents, filter)
+                        .map(deleted -> new Batch(documents.size(), deleted))
+                        .delayElement(pause)))
+            .takeUntil(batch -> batch.read() < batchSize)
+            .reduce(0L, (deleted, batch) -> deleted + batch.deleted());
+    }
+
+    private Mono<Long> deleteBatch(MongoCollection<Document> collection, MongoCollection<Document> majority,
+                                   List<Document> documents, Bson filter) {
+        List<Object> ids = documents.stream().map(document -> document.get("_id")).toList();
+        // Se repite el filtro: un documento restaurado entre la lectura y el borrado se conserva
+        return Mono.from(majority.deleteMany(Filters.and(Filters.in("_id", ids), filter)))
+            .map(DeleteResult::getDeletedCount)
+            .flatMap(deleted -> survivors(collection, ids, deleted)
+                .flatMap(kept -> syncTombstones.recordAll(collection.getNamespace().getCollectionName(),
+                    documents.stream()
+                        .filter(document -> !kept.contains(document.get("_id")))
+                        .collect(Collectors.toMap(document -> document.get("_id").toString(),
+                            document -> document.getString("organizationId")))))
+                .thenReturn(deleted));
+    }
+
+    // Sólo si no se borró todo el lote hace falta saber cuáles quedaron
+    private static Mono<Set<Object>> survivors(MongoCollection<Document> collection, List<Object> ids, long deleted) {
+        if (deleted == ids.size()) {
+            return Mono.just(Set.of());
+        }
+        return Flux.from(collection.find(Filters.in("_id", ids)).projection(Projections.include("_id")))
+            .map(document -> document.get("_id"))
+            .collect(Collectors.toSet());
+    }
+
+    /**
+     * Un filtro por cada organización con retención propia y otro para el resto, con la
+     * retención por defecto.
+     */
+    private static List<Bson> filters(RetentionRule rule, Instant now) {
+        List<Bson> filters = new ArrayList<>();
+        rule.organizationDays().forEach((organizationId, days) -> {
+            if (days > 0) {
+                filters.add(Filters.and(Filters.eq("organizationId", organizationId), deletedBefore(now, days)));
+            }
+        });
+        if (rule.defaultDays() > 0) {
+            Bson others = rule.organizationDays().isEmpty()
+                ? deletedBefore(now, rule.defaultDays())
+                : Filters.and(Filters.nin("organizationId", rule.organizationDays().keySet()),
+                    deletedBefore(now, rule.defaultDays()));
+            filters.add(others);
+        }
+        return filters;
+    }
+
+    private static Bson deletedBefore(Instant now, int days) {
+        return Filters.lt("deletedAt", Date.from(now.minus(Duration.ofDays(days))));
+    }
+
+    private record Batch(int read, long deleted) {
+    }
+
+    @Override
+    public void destroy() {
+        if (schedule != null) {
+            schedule.dispose();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.search;
+
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.PointSuggestionResponse;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.repository.TestingPointRepository;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice de prefijos en memoria, por organización, para sugerir puntos de muestreo por código o
+ * nombre mientras se escribe. El servicio de puntos lo invalida en cada escritura; además
+ * caduca cada {@code refreshInterval} para recoger cambios hechos desde otras instancias.
+ */
+public class PointPrefixIndex {
+
+    private final TestingPointRepository testingPointRepository;
+    private final Duration refreshInterval;
+
+    private final Map<String, Mono<PrefixTable>> tables = new ConcurrentHashMap<>();
+
+    public PointPrefixIndex(TestingPointRepository testingPointRepository, Duration refreshInterval) {
+        this.testingPointRepository = testingPointRepository;
+        this.refreshInterval = refreshInterval;
+    }
+
+    public Mono<List<PointSuggestionResponse>> suggest(String organizationId, String prefix, int limit) {
+        return table(organizationId).map(table -> table.suggest(prefix, limit));
+    }
+
+    public void invalidate(String organizationId) {
+        if (organizationId != null) {
+            tables.remove(organizationId);
+        }
+    }
+
+    public int size() {
+        return tables.size();
+    }
+
+    private Mono<PrefixTable> table(String organizationId) {
+        // Una sola carga por organización; los errores no se guardan
+        return tables.computeIfAbsent(organizationId, orgId -> testingPointRepository.findByOrganizationId(orgId)
+            .collectList()
+            .map(PrefixTable::build)
+            .cache(table -> refreshInterval, error -> Duration.ZERO, () -> Duration.ZERO));
+    }
+}
@@ -0,0 +1,104 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.search;
+
+import pe.edu.vallegrande.ms_water_quality.domain.models.TestingPoint;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.PointSuggestionResponse;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Términos ordenados de los puntos de una organización (código, nombre completo y cada palabra
+ * del nombre), normalizados sin mayúsculas ni tildes. Un prefijo es una búsqueda binaria más
+ * un recorrido de las claves contiguas.
+ */
+final class PrefixTable {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[\\s\\-_/.,]+");
+
+    private final String[] terms;
+    private final int[] owners;
+    private final PointSuggestionResponse[] points;
+
+    private PrefixTable(String[] terms, int[] owners, PointSuggestionResponse[] points) {
+        this.terms = terms;
+        this.owners = owners;
+        this.points = points;
+    }
+
+    static PrefixTable build(List<TestingPoint> testingPoints) {
+        PointSuggestionResponse[] points = new PointSuggestionResponse[testingPoints.size()];
+        List<Term> terms = new ArrayList<>();
+        for (int i = 0; i < points.length; i++) {
+            TestingPoint point = testingPoints.get(i);
+            points[i] = new PointSuggestionResponse(point.getId(), point.getPointCode(), point.getPointName(),
+                point.getPointType(), point.getStatus());
+            Set<String> keys = new LinkedHashSet<>();
+            addKey(keys, point.getPointCode());
+            addKey(keys, point.getPointName());
+            if (point.getPointName() != null) {
+                for (String word : SEPARATORS.split(point.getPointName())) {
+                    addKey(keys, word);
+                }
+            }
+            for (String key : keys) {
+                terms.add(new Term(key, i));
+            }
+        }
+        terms.sort((a, b) -> a.key().compareTo(b.key()));
+        return new PrefixTable(terms.stream().map(Term::key).toArray(String[]::new),
+            terms.stream().mapToInt(Term::owner).toArray(), points);
+    }
+
+    List<PointSuggestionResponse> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        int start = lowerBound(key);
+        Set<Integer> matches = new LinkedHashSet<>();
+        for (int i = start; i < terms.length && matches.size() < limit && terms[i].startsWith(key); i++) {
+            matches.add(owners[i]);
+        }
+        return matches.stream().map(owner -> points[owner]).toList();
+    }
+
+    // Primer índice con terms[i] >= key: binarySearch puede caer a mitad de una racha de
+    // términos iguales (una palabra compartida por varios puntos) y saltarse dueños
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = terms.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (terms[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    int size() {
+        return terms.length;
+    }
+
+    static String normalize(String value) {
+        String decomposed = Normalizer.normalize(value.trim(), Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    private static void addKey(Set<String> keys, String value) {
+        if (value != null && !value.isBlank()) {
+            keys.add(normalize(value));
+        }
+    }
+
+    private record Term(String key, int owner) {
+    }
+}
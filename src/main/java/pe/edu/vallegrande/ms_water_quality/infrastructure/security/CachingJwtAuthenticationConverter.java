@@ -0,0 +1,30 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.security;
+
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.oauth2.jwt.Jwt;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reutiliza la autenticación (roles ya convertidos) del token guardado en {@link VerifiedTokenCache}.
+ */
+public class CachingJwtAuthenticationConverter implements Converter<Jwt, Mono<AbstractAuthenticationToken>> {
+
+    private final Converter<Jwt, Mono<AbstractAuthenticationToken>> delegate;
+    private final VerifiedTokenCache cache;
+
+    public CachingJwtAuthenticationConverter(Converter<Jwt, Mono<AbstractAuthenticationToken>> delegate,
+                                             VerifiedTokenCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public Mono<AbstractAuthenticationToken> convert(Jwt jwt) {
+        AbstractAuthenticationToken cached = cache.getAuthentication(jwt);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return delegate.convert(jwt).doOnNext(authentication -> cache.putAuthentication(jwt, authentication));
+    }
+}
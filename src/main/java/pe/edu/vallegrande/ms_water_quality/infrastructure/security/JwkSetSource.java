@@ -0,0 +1,133 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.security;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jwt.SignedJWT;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Fuente de claves públicas para validar los JWT de Keycloak. Arranca con un JWKS local
+ * (archivo o secreto) si está configurado y lo refresca en segundo plano desde {@code jwk-set-uri};
+ * un {@code kid} desconocido fuerza un refresco, limitado a uno cada {@code MIN_REFRESH_INTERVAL}.
+ */
+@Slf4j
+public class JwkSetSource implements Function<SignedJWT, Flux<JWK>>, DisposableBean {
+
+    private static final Duration MIN_REFRESH_INTERVAL = Duration.ofSeconds(30);
+    private static final Duration FETCH_TIMEOUT = Duration.ofSeconds(5);
+
+    private final WebClient webClient;
+    private final String jwkSetUri;
+    private final AtomicReference<JWKSet> current = new AtomicReference<>(new JWKSet());
+    private final AtomicReference<Mono<JWKSet>> inFlight = new AtomicReference<>();
+    private final AtomicLong lastRefreshNanos = new AtomicLong(System.nanoTime() - MIN_REFRESH_INTERVAL.toNanos());
+    private Disposable refresher;
+
+    public JwkSetSource(WebClient webClient, String jwkSetUri) {
+        this.webClient = webClient;
+        this.jwkSetUri = jwkSetUri;
+    }
+
+    /**
+     * Carga el JWKS inicial sin red. Devuelve {@code false} si el contenido no es válido.
+     */
+    public boolean bootstrap(String jwksJson, String origin) {
+        try {
+            JWKSet set = JWKSet.parse(jwksJson);
+            current.set(set);
+            log.info("JWKS inicial cargado desde {} ({} claves)", origin, set.getKeys().size());
+            return true;
+        } catch (ParseException e) {
+            log.warn("JWKS inválido en {}: {}", origin, e.getMessage());
+            return false;
+        }
+    }
+
+    public boolean hasKeys() {
+        return !current.get().getKeys().isEmpty();
+    }
+
+    public void startRefreshing(Duration initialDelay, Duration period) {
+        refresher = Flux.interval(initialDelay, period, Schedulers.parallel())
+            .onBackpressureDrop()
+            .concatMap(tick -> refresh().onErrorResume(error -> {
+                log.warn("No se pudo refrescar el JWKS desde {}: {}", jwkSetUri, error.getMessage());
+                return Mono.empty();
+            }))
+            .subscribe();
+    }
+
+    @Override
+    public Flux<JWK> apply(SignedJWT jwt) {
+        JWKMatcher matcher = JWKMatcher.forJWSHeader(jwt.getHeader());
+        if (matcher == null) {
+            return Flux.empty();
+        }
+        List<JWK> keys = new JWKSelector(matcher).select(current.get());
+        if (!keys.isEmpty()) {
+            return Flux.fromIterable(keys);
+        }
+        // Posible rotación de claves en Keycloak
+        return refreshIfAllowed().flatMapIterable(set -> new JWKSelector(matcher).select(set));
+    }
+
+    private Mono<JWKSet> refreshIfAllowed() {
+        long last = lastRefreshNanos.get();
+        if (System.nanoTime() - last < MIN_REFRESH_INTERVAL.toNanos()) {
+            Mono<JWKSet> pending = inFlight.get();
+            return pending != null ? pending : Mono.just(current.get());
+        }
+        return refresh();
+    }
+
+    /**
+     * Descarga el JWKS remoto; las llamadas concurrentes comparten la misma petición.
+     */
+    public Mono<JWKSet> refresh() {
+        Mono<JWKSet> pending = inFlight.get();
+        if (pending != null) {
+            return pending;
+        }
+        Mono<JWKSet> fetch = webClient.get()
+            .uri(jwkSetUri)
+            .retrieve()
+            .bodyToMono(String.class)
+            .timeout(FETCH_TIMEOUT)
+            .map(body -> {
+                try {
+                    return JWKSet.parse(body);
+                } catch (ParseException e) {
+                    throw new IllegalStateException("JWKS inválido: " + e.getMessage(), e);
+                }
+            })
+            .doOnNext(current::set)
+            .doFinally(signal -> {
+                lastRefreshNanos.set(System.nanoTime());
+                inFlight.set(null);
+            })
+            .cache();
+        return inFlight.compareAndSet(null, fetch) ? fetch : inFlight.get() != null ? inFlight.get() : fetch;
+    }
+
+    @Override
+    public void destroy() {
+        if (refresher != null) {
+            refresher.dispose();
+        }
+    }
+}
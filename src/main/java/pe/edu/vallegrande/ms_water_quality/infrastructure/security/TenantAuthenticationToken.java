@@ -0,0 +1,42 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.security;
+
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Autenticación JWT con la organización del usuario ya resuelta desde sus claims.
+ * Se construye una vez por token (ver {@link VerifiedTokenCache}).
+ */
+@Getter
+public class TenantAuthenticationToken extends JwtAuthenticationToken {
+
+    private final String organizationId;
+
+    public TenantAuthenticationToken(Jwt jwt, Collection<? extends GrantedAuthority> authorities, String name,
+                                     String organizationId) {
+        super(jwt, authorities, name);
+        this.organizationId = organizationId;
+    }
+
+    /**
+     * Lee el claim indicado; admite rutas con puntos para claims anidados ({@code organization.id}).
+     */
+    public static String resolveOrganizationId(Jwt jwt, String claimPath) {
+        Object value = jwt.getClaims();
+        for (String part : claimPath.split("\\.")) {
+            if (!(value instanceof Map<?, ?> map)) {
+                return null;
+            }
+            value = map.get(part);
+        }
+        if (value instanceof Collection<?> values) {
+            value = values.isEmpty() ? null : values.iterator().next();
+        }
+        return value != null && !value.toString().isBlank() ? value.toString() : null;
+    }
+}
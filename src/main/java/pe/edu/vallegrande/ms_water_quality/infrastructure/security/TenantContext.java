@@ -0,0 +1,42 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.security;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.exception.CustomException;
+import reactor.core.publisher.Mono;
+
+/**
+ * Organización (tenant) del usuario autenticado, tomada del contexto de seguridad reactivo.
+ */
+public final class TenantContext {
+
+    private TenantContext() {
+    }
+
+    public static Mono<String> currentOrganizationId() {
+        return ReactiveSecurityContextHolder.getContext()
+            .map(SecurityContext::getAuthentication)
+            .mapNotNull(TenantContext::organizationOf)
+            .switchIfEmpty(Mono.error(CustomException.forbidden(
+                "Organization not resolved",
+                "El token no incluye la organización del usuario")));
+    }
+
+    /**
+     * Organización del usuario, validando que coincida con la enviada en la petición (si se envió).
+     */
+    public static Mono<String> requireOrganization(String requestedOrganizationId) {
+        return currentOrganizationId().flatMap(organizationId ->
+            requestedOrganizationId == null || requestedOrganizationId.isBlank()
+                || requestedOrganizationId.equals(organizationId)
+                ? Mono.just(organizationId)
+                : Mono.error(CustomException.forbidden(
+                    "Organization mismatch",
+                    "No puede operar sobre la organización " + requestedOrganizationId)));
+    }
+
+    private static String organizationOf(Authentication authentication) {
+        return authentication instanceof TenantAuthenticationToken tenant ? tenant.getOrganizationId() : null;
+    }
+}
@@ -0,0 +1,132 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caché acotada de tokens ya verificados, indexada por el SHA-256 del token. Guarda el
+ * {@link Jwt} decodificado y la autenticación con las autoridades ya convertidas; cada entrada
+ * vence en el {@code exp} del token (o antes, según {@code maxTtl}).
+ */
+public class VerifiedTokenCache {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final int maxEntries;
+    private final Duration maxTtl;
+    private final Clock clock;
+    private final Counter hits;
+    private final Counter misses;
+
+    public VerifiedTokenCache(int maxEntries, Duration maxTtl, Clock clock, MeterRegistry meterRegistry) {
+        this.maxEntries = maxEntries;
+        this.maxTtl = maxTtl;
+        this.clock = clock;
+        this.hits = meterRegistry != null ? meterRegistry.counter("water_quality.jwt.cache", "result", "hit") : null;
+        this.misses = meterRegistry != null ? meterRegistry.counter("water_quality.jwt.cache", "result", "miss") : null;
+        if (meterRegistry != null) {
+            meterRegistry.gaugeMapSize("water_quality.jwt.cache.size", List.of(), entries);
+        }
+    }
+
+    public Jwt getJwt(String token) {
+        Entry entry = lookup(token);
+        count(entry != null ? hits : misses);
+        return entry != null ? entry.jwt : null;
+    }
+
+    public void putJwt(String token, Jwt jwt) {
+        Instant now = clock.instant();
+        Instant expiresAt = jwt.getExpiresAt() != null ? jwt.getExpiresAt() : now;
+        Instant cap = now.plus(maxTtl);
+        if (!expiresAt.isAfter(now)) {
+            return;
+        }
+        if (entries.size() >= maxEntries && !makeRoom(now)) {
+            return;
+        }
+        entries.put(hash(token), new Entry(jwt, expiresAt.isBefore(cap) ? expiresAt : cap));
+    }
+
+    public AbstractAuthenticationToken getAuthentication(Jwt jwt) {
+        Entry entry = lookup(jwt.getTokenValue());
+        return entry != null && entry.jwt == jwt ? entry.authentication : null;
+    }
+
+    public void putAuthentication(Jwt jwt, AbstractAuthenticationToken authentication) {
+        Entry entry = lookup(jwt.getTokenValue());
+        if (entry != null && entry.jwt == jwt) {
+            entry.authentication = authentication;
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private Entry lookup(String token) {
+        String key = hash(token);
+        Entry entry = entries.get(key);
+        if (entry != null && !entry.expiresAt.isAfter(clock.instant())) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * Elimina vencidos; si no basta, descarta una décima parte para no crecer sin límite.
+     */
+    private boolean makeRoom(Instant now) {
+        entries.values().removeIf(entry -> !entry.expiresAt.isAfter(now));
+        if (entries.size() < maxEntries) {
+            return true;
+        }
+        int toEvict = Math.max(1, maxEntries / 10);
+        Iterator<String> keys = entries.keySet().iterator();
+        while (keys.hasNext() && toEvict-- > 0) {
+            keys.next();
+            keys.remove();
+        }
+        return entries.size() < maxEntries;
+    }
+
+    private static void count(Counter counter) {
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class Entry {
+        private final Jwt jwt;
+        private final Instant expiresAt;
+        private volatile AbstractAuthenticationToken authentication;
+
+        private Entry(Jwt jwt, Instant expiresAt) {
+            this.jwt = jwt;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
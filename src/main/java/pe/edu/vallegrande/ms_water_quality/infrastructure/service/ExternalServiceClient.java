@@ -4,6 +4,7 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.client.RequestHedger;
 import pe.edu.vallegrande.ms_water_quality.infrastructure.client.dto.ExternalOrganization;
 import pe.edu.vallegrande.ms_water_quality.infrastructure.client.dto.ExternalUser;
 import pe.edu.vallegrande.ms_water_quality.infrastructure.client.dto.UserApiResponse;
@@ -19,19 +20,24 @@ public class ExternalServiceClient {
 
     private final WebClient userWebClient;
     private final WebClient organizationWebClient;
+    private final RequestHedger requestHedger;
 
     public ExternalServiceClient(
             @Qualifier("userWebClient") WebClient userWebClient,
-            @Qualifier("organizationWebClient") WebClient organizationWebClient) {
+            @Qualifier("organizationWebClient") WebClient organizationWebClient,
+            RequestHedger requestHedger) {
         this.userWebClient = userWebClient;
         this.organizationWebClient = organizationWebClient;
+        this.requestHedger = requestHedger;
     }
 
+    // En el camino crítico de toda respuesta enriquecida: se cubre la cola de latencia
     public Flux<ExternalUser> getAdminsByOrganization(String organizationId) {
-        return userWebClient.get()
+        Mono<UserApiResponse> request = userWebClient.get()
                 .uri("/internal/organizations/{organizationId}/admins", organizationId)
                 .retrieve()
-                .bodyToMono(UserApiResponse.class)
+                .bodyToMono(UserApiResponse.class);
+        return requestHedger.hedge("users.admins", request)
                 .flatMapMany(response -> {
                     if (response == null || response.getData() == null) return Flux.empty();
                     return Flux.fromIterable(response.getData());
@@ -42,10 +48,11 @@ public class ExternalServiceClient {
     }
 
     public Mono<ExternalUser> getUserById(String userId) {
-        return userWebClient.get()
+        Mono<ResponseDto> request = userWebClient.get()
                 .uri("/api/users/{userId}", userId)
                 .retrieve()
-                .bodyToMono(ResponseDto.class)
+                .bodyToMono(ResponseDto.class);
+        return requestHedger.hedge("users.by_id", request)
                 .flatMap(response -> {
                     if (response == null || response.getData() == null) return Mono.empty();
                     Object data = response.getData();
@@ -0,0 +1,26 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.sync;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Márgenes de la sincronización incremental.
+ * <ul>
+ *   <li>{@code commitLag}: los cambios se vuelven a entregar durante este margen, para no
+ *   perder escrituras que fijaron su {@code updatedAt} antes de confirmarse.</li>
+ *   <li>{@code tombstoneRetention}: vida de las marcas de borrado; un token más antiguo
+ *   obliga a resincronizar todo.</li>
+ * </ul>
+ */
+@Getter
+public class SyncPolicy {
+
+    private final Duration commitLag;
+    private final Duration tombstoneRetention;
+
+    public SyncPolicy(Duration commitLag, Duration tombstoneRetention) {
+        this.commitLag = commitLag;
+        this.tombstoneRetention = tombstoneRetention;
+    }
+}
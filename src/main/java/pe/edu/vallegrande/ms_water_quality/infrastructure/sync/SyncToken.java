@@ -0,0 +1,102 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.sync;
+
+import pe.edu.vallegrande.ms_water_quality.infrastructure.exception.CustomException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+
+/**
+ * Token opaco de la sincronización incremental: una posición {@code (updatedAt, _id)} por
+ * colección y {@code coveredSince}, el instante desde el cual el cliente necesita las marcas
+ * de borrado. Si ese instante queda fuera de la retención de las marcas, hay que resincronizar
+ * todo.
+ */
+public record SyncToken(long coveredSince, Position testingPoints, Position qualityTests, Position dailyRecords) {
+
+    private static final String VERSION = "1";
+    private static final String SEPARATOR = "|";
+
+    // Spring guarda los LocalDateTime como Date en la zona del sistema; el token usa la misma
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    /**
+     * Punto de partida de una sincronización completa: todas las posiciones al inicio.
+     */
+    public static SyncToken initial(long coveredSince) {
+        return new SyncToken(coveredSince, Position.START, Position.START, Position.START);
+    }
+
+    public String encode() {
+        String raw = String.join(SEPARATOR, VERSION, Long.toString(coveredSince),
+            testingPoints.encode(), qualityTests.encode(), dailyRecords.encode());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SyncToken decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 8 || !VERSION.equals(parts[0])) {
+                throw invalid(token);
+            }
+            return new SyncToken(Long.parseLong(parts[1]),
+                Position.decode(parts[2], parts[3]), Position.decode(parts[4], parts[5]), Position.decode(parts[6], parts[7]));
+        } catch (IllegalArgumentException e) {
+            throw invalid(token);
+        }
+    }
+
+    private static CustomException invalid(String token) {
+        return CustomException.badRequest("Invalid sync token", "Token de sincronización no válido: " + token);
+    }
+
+    public static LocalDateTime toDateTime(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZONE);
+    }
+
+    public static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZONE).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Último cambio entregado de una colección. Con {@code id} vacío la posición incluye
+     * todo lo escrito desde {@code millis}, inclusive.
+     */
+    public record Position(long millis, String id) implements Comparable<Position> {
+
+        public static final Position START = new Position(0, "");
+
+        public static Position from(long millis) {
+            return new Position(millis, "");
+        }
+
+        public boolean inclusive() {
+            return id.isEmpty();
+        }
+
+        public LocalDateTime dateTime() {
+            return toDateTime(millis);
+        }
+
+        @Override
+        public int compareTo(Position other) {
+            int byTime = Long.compare(millis, other.millis);
+            return byTime != 0 ? byTime : id.compareTo(other.id);
+        }
+
+        public Position max(Position other) {
+            return compareTo(other) >= 0 ? this : other;
+        }
+
+        private String encode() {
+            return millis + SEPARATOR + id;
+        }
+
+        private static Position decode(String millis, String id) {
+            return new Position(Long.parseLong(millis), id);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.sync;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.mapping.Document;
+import pe.edu.vallegrande.ms_water_quality.domain.models.SyncTombstone;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.repository.SyncTombstoneRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Registro y lectura de las marcas de borrado de la sincronización incremental. Se
+ * registran después de borrar: si el registro falla, el borrado no se revierte y sólo se
+ * deja constancia en el log.
+ */
+@Slf4j
+public class SyncTombstones {
+
+    private final SyncTombstoneRepository repository;
+
+    public SyncTombstones(SyncTombstoneRepository repository) {
+        this.repository = repository;
+    }
+
+    public Mono<Void> record(Class<?> type, String organizationId, String documentId) {
+        return recordAll(collectionName(type), Map.of(documentId, organizationId));
+    }
+
+    /**
+     * Registra un lote de documentos eliminados de {@code collection}, indexado por id.
+     */
+    public Mono<Void> recordAll(String collection, Map<String, String> organizationByDocumentId) {
+        if (organizationByDocumentId.isEmpty()) {
+            return Mono.empty();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<SyncTombstone> tombstones = organizationByDocumentId.entrySet().stream()
+            .map(entry -> new SyncTombstone(null, entry.getValue(), collection, entry.getKey(), now))
+            .toList();
+        return repository.saveAll(tombstones)
+            .then()
+            .onErrorResume(error -> {
+                log.warn("No se pudieron registrar {} marcas de borrado de {}: {}",
+                    tombstones.size(), collection, error.getMessage());
+                return Mono.empty();
+            });
+    }
+
+    public Flux<SyncTombstone> changes(String organizationId, Class<?> type, long coveredSince,
+                                       SyncToken.Position after, int limit) {
+        return repository.findChanges(organizationId, collectionName(type), SyncToken.toDateTime(coveredSince),
+            after.dateTime(), after.id(), PageRequest.of(0, limit));
+    }
+
+    // Mismo nombre que usa Spring Data para la entidad, sin depender del template
+    private static String collectionName(Class<?> type) {
+        Document document = AnnotatedElementUtils.findMergedAnnotation(type, Document.class);
+        if (document == null || document.collection().isEmpty()) {
+            throw new IllegalArgumentException(type.getSimpleName() + " no declara su colección");
+        }
+        return document.collection();
+    }
+}
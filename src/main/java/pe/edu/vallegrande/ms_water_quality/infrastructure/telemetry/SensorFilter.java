@@ -0,0 +1,89 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.telemetry;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Submuestreo y banda muerta por sensor (punto + tipo de registro) para una conexión.
+ * Una lectura es significativa si es la primera del sensor, o si pasó {@code minInterval}
+ * desde el último registro y el valor se movió al menos la banda muerta, o si se cumplió el
+ * {@code heartbeat}. No es thread-safe: cada conexión procesa sus frames en orden.
+ * <p>
+ * Una lectura significativa no cambia el estado del sensor hasta {@link #commit()}: si no se
+ * pudo encolar, {@link #rollback()} la descarta y la siguiente lectura se evalúa contra el
+ * último registro guardado.
+ */
+public class SensorFilter {
+
+    public enum Decision { SIGNIFICANT, FILTERED, OUT_OF_ORDER, TOO_MANY_SENSORS }
+
+    private static final class State {
+        double level;
+        long recordedAt;
+        long lastSeenAt;
+    }
+
+    private record Pending(String key, double level, long timestampMillis) {
+    }
+
+    private final TelemetryPolicy policy;
+    private final long minIntervalMillis;
+    private final long heartbeatMillis;
+    private final Map<String, State> sensors = new HashMap<>();
+    private Pending pending;
+
+    public SensorFilter(TelemetryPolicy policy) {
+        this.policy = policy;
+        this.minIntervalMillis = policy.minInterval().toMillis();
+        this.heartbeatMillis = policy.heartbeat().toMillis();
+    }
+
+    public Decision offer(String testingPointId, String recordType, double level, long timestampMillis) {
+        pending = null;
+        String key = testingPointId + '|' + recordType;
+        State state = sensors.get(key);
+        if (state == null) {
+            if (sensors.size() >= policy.maxSensorsPerConnection()) {
+                return Decision.TOO_MANY_SENSORS;
+            }
+            return significant(key, level, timestampMillis);
+        }
+        if (timestampMillis <= state.lastSeenAt) {
+            return Decision.OUT_OF_ORDER;
+        }
+        long elapsed = timestampMillis - state.recordedAt;
+        if (elapsed >= minIntervalMillis
+                && (Math.abs(level - state.level) >= policy.deadband(recordType) || elapsed >= heartbeatMillis)) {
+            return significant(key, level, timestampMillis);
+        }
+        state.lastSeenAt = timestampMillis;
+        return Decision.FILTERED;
+    }
+
+    /**
+     * La lectura significativa de la última llamada a {@code offer} quedó encolada.
+     */
+    public void commit() {
+        if (pending == null) {
+            return;
+        }
+        State state = sensors.computeIfAbsent(pending.key(), key -> new State());
+        state.level = pending.level();
+        state.recordedAt = pending.timestampMillis();
+        state.lastSeenAt = pending.timestampMillis();
+        pending = null;
+    }
+
+    public void rollback() {
+        pending = null;
+    }
+
+    public int size() {
+        return sensors.size();
+    }
+
+    private Decision significant(String key, double level, long timestampMillis) {
+        pending = new Pending(key, level, timestampMillis);
+        return Decision.SIGNIFICANT;
+    }
+}
@@ -0,0 +1,82 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.telemetry;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reglas para decidir qué lecturas de sensores se guardan y cómo se califican.
+ *
+ * @param minInterval      tiempo mínimo entre dos registros del mismo sensor (submuestreo)
+ * @param heartbeat        pasado este tiempo se guarda la lectura aunque no haya cambiado
+ * @param deadbands        cambio mínimo, por tipo de registro, para que una lectura cuente
+ * @param acceptableRanges rango, por tipo de registro, en el que la lectura es aceptable
+ * @param actionRanges     fuera de este rango, por tipo de registro, se requiere acción
+ */
+public record TelemetryPolicy(Duration minInterval, Duration heartbeat, Map<String, Double> deadbands,
+                              double defaultDeadband, int maxSensorsPerConnection,
+                              Map<String, Range> acceptableRanges, Map<String, Range> actionRanges) {
+
+    public record Range(double min, double max) {
+
+        boolean contains(double level) {
+            return level >= min && level <= max;
+        }
+    }
+
+    public double deadband(String recordType) {
+        return deadbands.getOrDefault(recordType.toUpperCase(), defaultDeadband);
+    }
+
+    // Sin rango configurado no se puede calificar: se marca para revisión
+    public boolean isAcceptable(String recordType, double level) {
+        Range range = acceptableRanges.get(recordType.toUpperCase());
+        return range != null && range.contains(level);
+    }
+
+    public boolean requiresAction(String recordType, double level) {
+        Range range = actionRanges.get(recordType.toUpperCase());
+        return range == null || !range.contains(level);
+    }
+
+    // Formato: CLORO=0.1,TURBIDEZ=0.5
+    public static Map<String, Double> parseDeadbands(String spec) {
+        Map<String, Double> deadbands = new HashMap<>();
+        for (Map.Entry<String, String> entry : parsePairs(spec).entrySet()) {
+            deadbands.put(entry.getKey(), Double.parseDouble(entry.getValue()));
+        }
+        return deadbands;
+    }
+
+    // Formato: CLORO=0.5:1.0,SULFATO=0:250
+    public static Map<String, Range> parseRanges(String spec) {
+        Map<String, Range> ranges = new HashMap<>();
+        for (Map.Entry<String, String> entry : parsePairs(spec).entrySet()) {
+            String[] bounds = entry.getValue().split(":");
+            if (bounds.length != 2) {
+                throw new IllegalArgumentException("Rango inválido: " + entry.getKey() + "=" + entry.getValue());
+            }
+            Range range = new Range(Double.parseDouble(bounds[0].trim()), Double.parseDouble(bounds[1].trim()));
+            if (range.min() > range.max()) {
+                throw new IllegalArgumentException("Rango invertido: " + entry.getKey() + "=" + entry.getValue());
+            }
+            ranges.put(entry.getKey(), range);
+        }
+        return ranges;
+    }
+
+    private static Map<String, String> parsePairs(String spec) {
+        Map<String, String> pairs = new HashMap<>();
+        if (spec == null || spec.isBlank()) {
+            return pairs;
+        }
+        for (String entry : spec.split(",")) {
+            String[] pair = entry.trim().split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Valor inválido: " + entry);
+            }
+            pairs.put(pair[0].trim().toUpperCase(), pair[1].trim());
+        }
+        return pairs;
+    }
+}
@@ -0,0 +1,70 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.telemetry;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.reactive.socket.CloseStatus;
+import org.springframework.web.reactive.socket.WebSocketHandler;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.WebSocketSession;
+import pe.edu.vallegrande.ms_water_quality.application.services.TelemetryService;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.request.TelemetryReading;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.dto.response.TelemetryAck;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.security.TenantAuthenticationToken;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+/**
+ * Canal WebSocket de telemetría: cada mensaje de texto es una lectura JSON
+ * ({@code {testingPointId, recordType, level, timestamp}}). Sólo se responde a las lecturas
+ * guardadas o rechazadas; las descartadas por el filtro no generan tráfico de vuelta.
+ */
+@Slf4j
+public class TelemetryWebSocketHandler implements WebSocketHandler {
+
+    private final TelemetryService telemetryService;
+    private final ObjectMapper objectMapper;
+
+    public TelemetryWebSocketHandler(TelemetryService telemetryService, ObjectMapper objectMapper) {
+        this.telemetryService = telemetryService;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Mono<Void> handle(WebSocketSession session) {
+        return session.getHandshakeInfo().getPrincipal()
+            .ofType(TenantAuthenticationToken.class)
+            .filter(authentication -> authentication.getOrganizationId() != null)
+            .flatMap(authentication -> stream(session,
+                telemetryService.open(authentication.getOrganizationId(), authentication.getName())))
+            .switchIfEmpty(Mono.defer(() -> session.close(CloseStatus.POLICY_VIOLATION
+                .withReason("El token no incluye la organización del usuario"))));
+    }
+
+    private Mono<Void> stream(WebSocketSession session, TelemetryService.Session telemetry) {
+        return session.send(session.receive()
+            .map(WebSocketMessage::getPayloadAsText)
+            .concatMap(payload -> parse(payload)
+                .map(telemetry::accept)
+                .orElseGet(() -> Mono.just(TelemetryAck.rejected(null, "Frame JSON inválido"))))
+            .map(ack -> session.textMessage(write(ack))));
+    }
+
+    private Optional<TelemetryReading> parse(String payload) {
+        try {
+            return Optional.of(objectMapper.readValue(payload, TelemetryReading.class));
+        } catch (JsonProcessingException e) {
+            log.debug("Frame de telemetría inválido: {}", e.getOriginalMessage());
+            return Optional.empty();
+        }
+    }
+
+    private String write(TelemetryAck ack) {
+        try {
+            return objectMapper.writeValueAsString(ack);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.timing;
+
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+/**
+ * Acumulador por petición del tiempo gastado en cada dependencia. Viaja en el contexto de
+ * Reactor bajo {@link #CONTEXT_KEY}; si no está (filtro deshabilitado) los helpers no hacen nada.
+ * Los tiempos se suman, así que operaciones concurrentes pueden superar el total de la petición.
+ */
+public final class ServerTiming {
+
+    public static final Class<ServerTiming> CONTEXT_KEY = ServerTiming.class;
+
+    public enum Category {
+        MONGO("mongo"),
+        USER_SERVICE("user-service"),
+        ORGANIZATION_SERVICE("organization-service"),
+        MAPPING("mapping"),
+        SERIALIZATION("serialization");
+
+        private final String metricName;
+
+        Category(String metricName) {
+            this.metricName = metricName;
+        }
+
+        public String metricName() {
+            return metricName;
+        }
+    }
+
+    private static final Category[] CATEGORIES = Category.values();
+
+    private final long startNanos = System.nanoTime();
+    private final AtomicLongArray nanos = new AtomicLongArray(CATEGORIES.length);
+    private final AtomicLongArray counts = new AtomicLongArray(CATEGORIES.length);
+
+    public void record(Category category, long elapsedNanos) {
+        nanos.addAndGet(category.ordinal(), elapsedNanos);
+        counts.incrementAndGet(category.ordinal());
+    }
+
+    public long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    public double millis(Category category) {
+        return nanos.get(category.ordinal()) / 1_000_000.0;
+    }
+
+    public long count(Category category) {
+        return counts.get(category.ordinal());
+    }
+
+    /**
+     * Valor de la cabecera {@code Server-Timing}, p. ej. {@code mongo;dur=12.4;desc="3 ops", total;dur=40.1}.
+     */
+    public String toHeaderValue() {
+        StringBuilder header = new StringBuilder(160);
+        for (Category category : CATEGORIES) {
+            long count = count(category);
+            if (count == 0) {
+                continue;
+            }
+            header.append(category.metricName())
+                .append(";dur=").append(format(millis(category)))
+                .append(";desc=\"").append(count).append(count == 1 ? " op\"" : " ops\"")
+                .append(", ");
+        }
+        return header.append("total;dur=").append(format(elapsedNanos() / 1_000_000.0)).toString();
+    }
+
+    public static ServerTiming from(ContextView context) {
+        return context.getOrDefault(CONTEXT_KEY, null);
+    }
+
+    /**
+     * Mide la duración de un {@link Mono} (de la suscripción a la señal terminal) en la categoría dada.
+     */
+    public static <T> Mono<T> timed(Category category, Mono<T> source) {
+        return Mono.deferContextual(context -> {
+            ServerTiming timing = from(context);
+            if (timing == null) {
+                return source;
+            }
+            long start = System.nanoTime();
+            return source.doFinally(signal -> timing.record(category, System.nanoTime() - start));
+        });
+    }
+
+    /**
+     * Operador {@code map} que mide el tiempo de CPU del mapeo en la categoría indicada.
+     */
+    public static <T, R> Function<Mono<T>, Mono<R>> timedMap(Category category, Function<? super T, ? extends R> mapper) {
+        return source -> Mono.deferContextual(context -> {
+            ServerTiming timing = from(context);
+            if (timing == null) {
+                return source.map(mapper);
+            }
+            return source.map(value -> {
+                long start = System.nanoTime();
+                R result = mapper.apply(value);
+                timing.record(category, System.nanoTime() - start);
+                return result;
+            });
+        });
+    }
+
+    public static ExchangeFilterFunction exchangeFilter(Category category) {
+        return (request, next) -> timed(category, next.exchange(request));
+    }
+
+    private static String format(double millis) {
+        return String.format(Locale.ROOT, "%.1f", millis);
+    }
+}
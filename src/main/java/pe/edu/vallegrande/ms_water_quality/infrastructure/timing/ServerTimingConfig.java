@@ -0,0 +1,174 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.timing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.RequestContext;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandSucceededEvent;
+import com.mongodb.reactivestreams.client.ReactiveContextProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.util.MimeType;
+import org.reactivestreams.Publisher;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.codec.PooledJackson2JsonEncoder;
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Enlaza el acumulador de {@link ServerTiming} con el driver de MongoDB y con el encoder
+ * JSON de WebFlux. Todo se registra sólo cuando {@code server-timing.enabled=true}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "server-timing.enabled", havingValue = "true")
+public class ServerTimingConfig {
+
+    @Value("${json-codec.initial-buffer-size:8192}")
+    private int initialBufferSize;
+
+    /**
+     * Propaga el contexto de Reactor al driver (vía {@link RequestContext}) y suma la duración
+     * de cada comando a la categoría {@code mongo} de la petición que lo originó.
+     */
+    @Bean
+    public MongoClientSettingsBuilderCustomizer serverTimingMongoCustomizer() {
+        ReactiveContextProvider contextProvider = subscriber -> subscriber instanceof CoreSubscriber<?> core
+            ? new ReactorRequestContext(core.currentContext())
+            : new ReactorRequestContext(Context.empty());
+        CommandListener listener = new CommandListener() {
+            @Override
+            public void commandSucceeded(CommandSucceededEvent event) {
+                record(event.getRequestContext(), event.getElapsedTime(TimeUnit.NANOSECONDS));
+            }
+
+            @Override
+            public void commandFailed(CommandFailedEvent event) {
+                record(event.getRequestContext(), event.getElapsedTime(TimeUnit.NANOSECONDS));
+            }
+
+            private void record(RequestContext context, long nanos) {
+                if (context != null && context.hasKey(ServerTiming.CONTEXT_KEY)) {
+                    ServerTiming timing = context.get(ServerTiming.CONTEXT_KEY);
+                    timing.record(ServerTiming.Category.MONGO, nanos);
+                }
+            }
+        };
+        return builder -> builder.contextProvider(contextProvider).addCommandListener(listener);
+    }
+
+    @Bean
+    public CodecCustomizer serverTimingCodecCustomizer(ObjectMapper objectMapper) {
+        return configurer -> configurer.defaultCodecs().jackson2JsonEncoder(new TimedJackson2JsonEncoder(objectMapper, initialBufferSize));
+    }
+
+    /**
+     * Encoder JSON que suma el tiempo de {@code encodeValue} a la categoría {@code serialization}.
+     * El acumulador se pasa por los hints porque {@code encodeValue} no tiene acceso al contexto.
+     */
+    static class TimedJackson2JsonEncoder extends PooledJackson2JsonEncoder {
+
+        private static final String HINT = ServerTiming.class.getName();
+
+        TimedJackson2JsonEncoder(ObjectMapper objectMapper, int initialBufferSize) {
+            super(objectMapper, initialBufferSize);
+        }
+
+        @Override
+        public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory,
+                                       ResolvableType elementType, MimeType mimeType, Map<String, Object> hints) {
+            return Flux.deferContextual(context -> {
+                ServerTiming timing = ServerTiming.from(context);
+                if (timing == null) {
+                    return super.encode(inputStream, bufferFactory, elementType, mimeType, hints);
+                }
+                Map<String, Object> timedHints = hints != null ? new HashMap<>(hints) : new HashMap<>();
+                timedHints.put(HINT, timing);
+                return super.encode(inputStream, bufferFactory, elementType, mimeType, timedHints);
+            });
+        }
+
+        @Override
+        public DataBuffer encodeValue(Object value, DataBufferFactory bufferFactory, ResolvableType valueType,
+                                      MimeType mimeType, Map<String, Object> hints) {
+            Object timing = hints != null ? hints.get(HINT) : null;
+            if (!(timing instanceof ServerTiming serverTiming)) {
+                return super.encodeValue(value, bufferFactory, valueType, mimeType, hints);
+            }
+            long start = System.nanoTime();
+            DataBuffer buffer = super.encodeValue(value, bufferFactory, valueType, mimeType, hints);
+            serverTiming.record(ServerTiming.Category.SERIALIZATION, System.nanoTime() - start);
+            return buffer;
+        }
+    }
+
+    /**
+     * {@link RequestContext} de sólo lectura sobre el contexto de Reactor; las escrituras van
+     * a un mapa local para no alterar el contexto original.
+     */
+    static class ReactorRequestContext implements RequestContext {
+
+        private final ContextView view;
+        private Map<Object, Object> local;
+
+        ReactorRequestContext(ContextView view) {
+            this.view = view;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T get(Object key) {
+            if (local != null && local.containsKey(key)) {
+                return (T) local.get(key);
+            }
+            return view.getOrDefault(key, null);
+        }
+
+        @Override
+        public boolean hasKey(Object key) {
+            return (local != null && local.containsKey(key)) || view.hasKey(key);
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return view.isEmpty() && (local == null || local.isEmpty());
+        }
+
+        @Override
+        public synchronized void put(Object key, Object value) {
+            if (local == null) {
+                local = new HashMap<>();
+            }
+            local.put(key, value);
+        }
+
+        @Override
+        public synchronized void delete(Object key) {
+            if (local != null) {
+                local.remove(key);
+            }
+        }
+
+        @Override
+        public int size() {
+            return view.size() + (local != null ? local.size() : 0);
+        }
+
+        @Override
+        public Stream<Map.Entry<Object, Object>> stream() {
+            return local == null ? view.stream() : Stream.concat(view.stream(), local.entrySet().stream());
+        }
+    }
+}
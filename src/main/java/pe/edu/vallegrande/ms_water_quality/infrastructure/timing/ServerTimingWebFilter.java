@@ -0,0 +1,75 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.timing;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Publica la cabecera {@code Server-Timing} con el desglose por dependencia y registra una
+ * muestra de las peticiones como línea JSON. Sólo se registra con {@code server-timing.enabled=true}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "server-timing.enabled", havingValue = "true")
+public class ServerTimingWebFilter implements WebFilter {
+
+    public static final String HEADER = "Server-Timing";
+
+    private static final Logger log = LoggerFactory.getLogger(ServerTimingWebFilter.class);
+
+    private final double logSampleRate;
+
+    public ServerTimingWebFilter(@Value("${server-timing.log-sample-rate:0.01}") double logSampleRate) {
+        this.logSampleRate = logSampleRate;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerTiming timing = new ServerTiming();
+        ServerHttpResponse response = exchange.getResponse();
+        response.beforeCommit(() -> {
+            response.getHeaders().set(HEADER, timing.toHeaderValue());
+            return Mono.empty();
+        });
+        return chain.filter(exchange)
+            .doFinally(signal -> {
+                if (logSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < logSampleRate) {
+                    log.info(toLogLine(exchange, timing));
+                }
+            })
+            .contextWrite(context -> context.put(ServerTiming.CONTEXT_KEY, timing));
+    }
+
+    private static String toLogLine(ServerWebExchange exchange, ServerTiming timing) {
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        StringBuilder line = new StringBuilder(256)
+            .append("{\"event\":\"server-timing\"")
+            .append(",\"method\":\"").append(exchange.getRequest().getMethod().name()).append('"')
+            .append(",\"path\":\"").append(exchange.getRequest().getPath().value()).append('"')
+            .append(",\"status\":").append(status != null ? status.value() : 0)
+            .append(",\"total_ms\":").append(format(timing.elapsedNanos() / 1_000_000.0));
+        for (ServerTiming.Category category : ServerTiming.Category.values()) {
+            String key = category.metricName().replace('-', '_');
+            line.append(",\"").append(key).append("_ms\":").append(format(timing.millis(category)))
+                .append(",\"").append(key).append("_ops\":").append(timing.count(category));
+        }
+        return line.append('}').toString();
+    }
+
+    private static String format(double millis) {
+        return String.format(Locale.ROOT, "%.2f", millis);
+    }
+}
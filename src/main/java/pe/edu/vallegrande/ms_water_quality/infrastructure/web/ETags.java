@@ -0,0 +1,39 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.web;
+
+import pe.edu.vallegrande.ms_water_quality.infrastructure.exception.CustomException;
+
+/**
+ * Conversión entre el campo {@code version} de los documentos y las cabeceras ETag / If-Match.
+ * Los documentos creados antes del control de versiones se tratan como versión 0.
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    public static String of(Long version) {
+        return "\"" + (version != null ? version : 0L) + "\"";
+    }
+
+    /**
+     * Devuelve la versión esperada del If-Match, o null cuando no se envía (o es "*"),
+     * en cuyo caso la escritura no se condiciona.
+     */
+    public static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.startsWith("W/")) {
+            value = value.substring(2);
+        }
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            value = value.substring(1, value.length() - 1);
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw CustomException.badRequest("Invalid If-Match header", "Expected an ETag returned by this API, got " + ifMatch);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.web;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Clase de costo de un endpoint, usada para priorizar y presupuestar peticiones.
+ */
+public enum EndpointClass {
+    /** Listados completos ({@code getAll*}): los más caros por el enriquecimiento. */
+    LIST,
+    /** Lectura de un documento por id. */
+    DETAIL,
+    /** POST, PUT, PATCH y DELETE de un documento. */
+    WRITE,
+    /** Cargas masivas ({@code /bulk}, {@code /batch}). */
+    BULK;
+
+    private static final Pattern OBJECT_ID = Pattern.compile("[0-9a-fA-F]{24}");
+    private static final List<String> BULK_SEGMENTS = List.of("bulk", "batch");
+
+    public static EndpointClass of(ServerHttpRequest request) {
+        String path = request.getPath().value();
+        int end = path.endsWith("/") ? path.length() - 1 : path.length();
+        String lastSegment = path.substring(path.lastIndexOf('/', end - 1) + 1, end);
+        if (BULK_SEGMENTS.contains(lastSegment) || path.contains("/bulk/") || path.contains("/batch/")) {
+            return BULK;
+        }
+        if (!HttpMethod.GET.equals(request.getMethod()) && !HttpMethod.HEAD.equals(request.getMethod())) {
+            return WRITE;
+        }
+        return OBJECT_ID.matcher(lastSegment).matches() ? DETAIL : LIST;
+    }
+
+    public String tag() {
+        return name().toLowerCase();
+    }
+}
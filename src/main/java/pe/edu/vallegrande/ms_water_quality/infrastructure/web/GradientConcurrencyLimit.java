@@ -0,0 +1,57 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.web;
+
+/**
+ * Límite de concurrencia por gradiente: compara la latencia reciente con la latencia base
+ * (media móvil larga). Si la reciente crece, el gradiente cae por debajo de 1 y el límite se
+ * reduce; con latencia estable el límite crece en {@code sqrt(limit)} para descubrir capacidad.
+ */
+public class GradientConcurrencyLimit {
+
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final int LONG_WINDOW = 600;
+
+    private final int minLimit;
+    private final int maxLimit;
+
+    private volatile double limit;
+    private volatile double longRttNanos;
+    private volatile double shortRttNanos;
+
+    public GradientConcurrencyLimit(int initialLimit, int minLimit, int maxLimit) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = initialLimit;
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public double getShortRttNanos() {
+        return shortRttNanos;
+    }
+
+    /**
+     * Registra la duración de una petición y el número de peticiones en curso cuando empezó.
+     */
+    public synchronized void onSample(long rttNanos, int inFlightAtStart) {
+        shortRttNanos = shortRttNanos == 0 ? rttNanos : shortRttNanos * 0.9 + rttNanos * 0.1;
+        if (longRttNanos == 0) {
+            longRttNanos = rttNanos;
+            return;
+        }
+        longRttNanos = longRttNanos + (rttNanos - longRttNanos) / LONG_WINDOW;
+        // Tras un periodo de sobrecarga la base se acerca a la latencia actual para no quedar inflada
+        if (longRttNanos / shortRttNanos > 2) {
+            longRttNanos *= 0.95;
+        }
+        // Con poca carga la latencia no dice nada sobre el límite
+        if (inFlightAtStart < limit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRttNanos / shortRttNanos));
+        double target = limit * gradient + Math.sqrt(limit);
+        limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - SMOOTHING) + target * SMOOTHING));
+    }
+}
@@ -0,0 +1,119 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.web;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Descarta carga antes de autenticar cuando el servicio está saturado: responde 503 con
+ * {@code Retry-After} si las peticiones en curso superan el límite adaptativo
+ * ({@link GradientConcurrencyLimit}) o si la latencia estimada excede el presupuesto.
+ * Los listados y cargas masivas sólo pueden ocupar una fracción del límite, de modo que
+ * las lecturas por id y las escrituras siguen entrando bajo presión.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(name = "load-shedding.enabled", havingValue = "true", matchIfMissing = true)
+public class LoadSheddingWebFilter implements WebFilter {
+
+    private static final byte[] REJECTED_BODY = ("{\"status\":false,\"error\":{\"errorCode\":503,"
+        + "\"message\":\"Service overloaded\",\"details\":\"El servicio está saturado, reintente más tarde\"}}")
+        .getBytes(StandardCharsets.UTF_8);
+
+    private final String pathPrefix;
+    private final long latencyBudgetNanos;
+    private final int minLimit;
+    private final Map<EndpointClass, Double> shares = new EnumMap<>(EndpointClass.class);
+    private final GradientConcurrencyLimit limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<EndpointClass, Counter> rejections = new EnumMap<>(EndpointClass.class);
+
+    public LoadSheddingWebFilter(@Value("${load-shedding.path-prefix:/api/admin/}") String pathPrefix,
+                                 @Value("${load-shedding.initial-limit:40}") int initialLimit,
+                                 @Value("${load-shedding.min-limit:4}") int minLimit,
+                                 @Value("${load-shedding.max-limit:400}") int maxLimit,
+                                 @Value("${load-shedding.latency-budget-ms:2000}") long latencyBudgetMs,
+                                 @Value("${load-shedding.list-share:0.6}") double listShare,
+                                 @Value("${load-shedding.bulk-share:0.3}") double bulkShare,
+                                 MeterRegistry meterRegistry) {
+        this.pathPrefix = pathPrefix;
+        this.latencyBudgetNanos = TimeUnit.MILLISECONDS.toNanos(latencyBudgetMs);
+        this.minLimit = minLimit;
+        this.limit = new GradientConcurrencyLimit(initialLimit, minLimit, maxLimit);
+        shares.put(EndpointClass.LIST, listShare);
+        shares.put(EndpointClass.DETAIL, 1.0);
+        shares.put(EndpointClass.WRITE, 1.0);
+        shares.put(EndpointClass.BULK, bulkShare);
+
+        Gauge.builder("water_quality.load_shedding.limit", limit, GradientConcurrencyLimit::getLimit)
+            .description("Peticiones concurrentes admitidas por el limitador adaptativo").register(meterRegistry);
+        Gauge.builder("water_quality.load_shedding.in_flight", inFlight, AtomicInteger::get)
+            .description("Peticiones en curso bajo el limitador").register(meterRegistry);
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            rejections.put(endpointClass, Counter.builder("water_quality.load_shedding.rejected")
+                .description("Peticiones rechazadas con 503 por saturación")
+                .tag("endpoint_class", endpointClass.tag())
+                .register(meterRegistry));
+        }
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!exchange.getRequest().getPath().value().startsWith(pathPrefix)) {
+            return chain.filter(exchange);
+        }
+        EndpointClass endpointClass = EndpointClass.of(exchange.getRequest());
+        int currentLimit = limit.getLimit();
+        int current = inFlight.incrementAndGet();
+        if (current > minLimit && (current > currentLimit * shares.get(endpointClass)
+                || estimatedLatencyNanos(current, currentLimit) > latencyBudgetNanos)) {
+            inFlight.decrementAndGet();
+            rejections.get(endpointClass).increment();
+            return reject(exchange.getResponse(), current, currentLimit);
+        }
+        long start = System.nanoTime();
+        return chain.filter(exchange)
+            .doFinally(signal -> {
+                inFlight.decrementAndGet();
+                if (signal != SignalType.CANCEL) {
+                    limit.onSample(System.nanoTime() - start, current);
+                }
+            });
+    }
+
+    /**
+     * Latencia esperada por una nueva petición: la reciente, escalada por la ocupación del límite.
+     */
+    private double estimatedLatencyNanos(int current, int currentLimit) {
+        return limit.getShortRttNanos() * current / Math.max(1, currentLimit);
+    }
+
+    private Mono<Void> reject(ServerHttpResponse response, int current, int currentLimit) {
+        long retryAfterSeconds = Math.max(1, (long) Math.ceil(estimatedLatencyNanos(current, currentLimit) / 1e9));
+        response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().setContentLength(REJECTED_BODY.length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(REJECTED_BODY)));
+    }
+}
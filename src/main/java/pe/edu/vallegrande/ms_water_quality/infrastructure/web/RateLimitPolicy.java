@@ -0,0 +1,66 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.web;
+
+import pe.edu.vallegrande.ms_water_quality.infrastructure.exception.CustomException;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Presupuestos por clase de endpoint para la organización y para cada token (sujeto).
+ * Formato: {@code list=20/40,detail=100/200,write=30/60,bulk=2/4} (peticiones por segundo / ráfaga).
+ */
+public record RateLimitPolicy(Map<EndpointClass, Limit> organization, Map<EndpointClass, Limit> subject) {
+
+    public record Limit(double perSecond, long burst) {
+
+        public long intervalNanos() {
+            return (long) (TimeUnit.SECONDS.toNanos(1) / perSecond);
+        }
+
+        @Override
+        public String toString() {
+            return (perSecond == Math.rint(perSecond) ? Long.toString((long) perSecond) : Double.toString(perSecond))
+                + "/" + burst;
+        }
+    }
+
+    public static RateLimitPolicy parse(String organization, String subject) {
+        return new RateLimitPolicy(parseLimits(organization), parseLimits(subject));
+    }
+
+    public static Map<EndpointClass, Limit> parseLimits(String spec) {
+        Map<EndpointClass, Limit> limits = new EnumMap<>(EndpointClass.class);
+        if (spec == null || spec.isBlank()) {
+            return limits;
+        }
+        for (String entry : spec.split(",")) {
+            String[] pair = entry.trim().split("=");
+            String[] values = pair.length == 2 ? pair[1].trim().split("/") : new String[0];
+            try {
+                EndpointClass endpointClass = EndpointClass.valueOf(pair[0].trim().toUpperCase());
+                double perSecond = Double.parseDouble(values[0]);
+                long burst = values.length > 1 ? Long.parseLong(values[1]) : (long) Math.ceil(perSecond);
+                if (perSecond <= 0 || burst < 1) {
+                    throw new IllegalArgumentException();
+                }
+                limits.put(endpointClass, new Limit(perSecond, burst));
+            } catch (RuntimeException e) {
+                throw CustomException.badRequest("Invalid rate limit",
+                    "Entrada inválida '" + entry.trim() + "', se espera clase=peticiones/ráfaga");
+            }
+        }
+        return limits;
+    }
+
+    public static String format(Map<EndpointClass, Limit> limits) {
+        StringBuilder spec = new StringBuilder();
+        limits.forEach((endpointClass, limit) -> {
+            if (!spec.isEmpty()) {
+                spec.append(',');
+            }
+            spec.append(endpointClass.tag()).append('=').append(limit);
+        });
+        return spec.toString();
+    }
+}
@@ -0,0 +1,81 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.web;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import pe.edu.vallegrande.ms_water_quality.infrastructure.security.TenantAuthenticationToken;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Aplica {@link RateLimiter} después de la autenticación, con la organización y el sujeto del
+ * token. Excedido el presupuesto responde 429 con {@code Retry-After}.
+ */
+public class RateLimitWebFilter implements WebFilter, Ordered {
+
+    private static final byte[] REJECTED_BODY = ("{\"status\":false,\"error\":{\"errorCode\":429,"
+        + "\"message\":\"Too many requests\",\"details\":\"Se excedió el límite de peticiones, reintente más tarde\"}}")
+        .getBytes(StandardCharsets.UTF_8);
+
+    private final RateLimiter rateLimiter;
+    private final String pathPrefix;
+    private final Map<EndpointClass, Counter> rejections = new EnumMap<>(EndpointClass.class);
+
+    public RateLimitWebFilter(RateLimiter rateLimiter, String pathPrefix, MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.pathPrefix = pathPrefix;
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            rejections.put(endpointClass, Counter.builder("water_quality.rate_limit.rejected")
+                .description("Peticiones rechazadas con 429 por límite de tasa")
+                .tag("endpoint_class", endpointClass.tag())
+                .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Después de Spring Security (-100), que es quien deja el principal en el exchange.
+     */
+    @Override
+    public int getOrder() {
+        return 0;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!exchange.getRequest().getPath().value().startsWith(pathPrefix)) {
+            return chain.filter(exchange);
+        }
+        return exchange.getPrincipal()
+            .filter(TenantAuthenticationToken.class::isInstance)
+            .cast(TenantAuthenticationToken.class)
+            .map(token -> {
+                EndpointClass endpointClass = EndpointClass.of(exchange.getRequest());
+                long waitNanos = rateLimiter.tryAcquire(token.getOrganizationId(), token.getName(), endpointClass);
+                if (waitNanos > 0) {
+                    rejections.get(endpointClass).increment();
+                }
+                return waitNanos;
+            })
+            .defaultIfEmpty(0L)
+            .flatMap(waitNanos -> waitNanos > 0 ? reject(exchange.getResponse(), waitNanos) : chain.filter(exchange));
+    }
+
+    private Mono<Void> reject(ServerHttpResponse response, long waitNanos) {
+        long retryAfterSeconds = Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L);
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().setContentLength(REJECTED_BODY.length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(REJECTED_BODY)));
+    }
+}
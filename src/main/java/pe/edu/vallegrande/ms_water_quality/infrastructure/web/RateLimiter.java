@@ -0,0 +1,98 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.web;
+
+import org.springframework.beans.factory.DisposableBean;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Buckets por organización y por sujeto, separados por clase de endpoint. Los buckets viven en
+ * un mapa dividido en franjas; cada tick del barrido recorre una sola franja y elimina los
+ * buckets inactivos, de modo que la memoria se acota sin pausas ni bloqueos globales.
+ */
+public class RateLimiter implements DisposableBean {
+
+    private static final int STRIPES = 16;
+
+    public record Key(String scope, String id, EndpointClass endpointClass) {
+    }
+
+    private final AtomicReference<RateLimitPolicy> policy;
+    private final long idleNanos;
+    @SuppressWarnings("unchecked")
+    private final ConcurrentHashMap<Key, TokenBucket>[] stripes = new ConcurrentHashMap[STRIPES];
+    private final AtomicInteger nextStripe = new AtomicInteger();
+    private final Disposable sweeper;
+
+    public RateLimiter(RateLimitPolicy policy, Duration idleTimeout) {
+        this.policy = new AtomicReference<>(policy);
+        this.idleNanos = idleTimeout.toNanos();
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+        }
+        Duration tick = idleTimeout.dividedBy(STRIPES);
+        this.sweeper = Flux.interval(tick, tick, Schedulers.parallel())
+            .onBackpressureDrop()
+            .subscribe(ignored -> sweep(nextStripe.getAndIncrement() & (STRIPES - 1)));
+    }
+
+    public RateLimitPolicy getPolicy() {
+        return policy.get();
+    }
+
+    public void setPolicy(RateLimitPolicy newPolicy) {
+        policy.set(newPolicy);
+    }
+
+    /**
+     * Consume un token del sujeto y otro de su organización.
+     *
+     * @return 0 si la petición pasa; si no, nanosegundos hasta poder reintentar
+     */
+    public long tryAcquire(String organizationId, String subject, EndpointClass endpointClass) {
+        RateLimitPolicy current = policy.get();
+        long now = System.nanoTime();
+        long wait = consume(new Key("subject", subject, endpointClass), current.subject().get(endpointClass), now);
+        if (wait > 0) {
+            return wait;
+        }
+        return consume(new Key("organization", organizationId, endpointClass),
+            current.organization().get(endpointClass), now);
+    }
+
+    public int size() {
+        int size = 0;
+        for (ConcurrentHashMap<Key, TokenBucket> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    private long consume(Key key, RateLimitPolicy.Limit limit, long now) {
+        if (limit == null || key.id() == null) {
+            return 0;
+        }
+        int hash = key.hashCode();
+        ConcurrentHashMap<Key, TokenBucket> stripe = stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+        TokenBucket bucket = stripe.get(key);
+        if (bucket == null) {
+            bucket = stripe.computeIfAbsent(key, k -> new TokenBucket(now));
+        }
+        return bucket.tryConsume(now, limit.intervalNanos(), limit.burst());
+    }
+
+    private void sweep(int stripe) {
+        long now = System.nanoTime();
+        stripes[stripe].values().removeIf(bucket -> bucket.isIdle(now, idleNanos));
+    }
+
+    @Override
+    public void destroy() {
+        sweeper.dispose();
+    }
+}
@@ -0,0 +1,41 @@
+package pe.edu.vallegrande.ms_water_quality.infrastructure.web;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket sin bloqueos en forma GCRA: todo el estado es el instante teórico de llegada
+ * (TAT) en un {@link AtomicLong}, así que consumir un token es un solo CAS. La tasa y la
+ * ráfaga se pasan en cada llamada, de modo que un cambio de política se aplica de inmediato.
+ */
+public final class TokenBucket {
+
+    private final AtomicLong theoreticalArrival;
+
+    public TokenBucket(long nowNanos) {
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * @return 0 si se concedió el token; si no, los nanosegundos hasta que haya uno disponible
+     */
+    public long tryConsume(long nowNanos, long intervalNanos, long burst) {
+        long tolerance = intervalNanos * burst;
+        while (true) {
+            long tat = theoreticalArrival.get();
+            long next = Math.max(tat, nowNanos) + intervalNanos;
+            if (next - nowNanos > tolerance) {
+                return next - tolerance - nowNanos;
+            }
+            if (theoreticalArrival.compareAndSet(tat, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Un bucket lleno desde hace más de {@code idleNanos} puede descartarse sin cambiar el resultado.
+     */
+    public boolean isIdle(long nowNanos, long idleNanos) {
+        return nowNanos - theoreticalArrival.get() > idleNanos;
+    }
+}